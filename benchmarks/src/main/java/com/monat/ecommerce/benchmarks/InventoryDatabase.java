@@ -0,0 +1,179 @@
+package com.monat.ecommerce.benchmarks;
+
+import com.monat.ecommerce.inventory.domain.model.Inventory;
+import com.monat.ecommerce.inventory.domain.repository.InventoryRepository;
+import com.monat.ecommerce.inventory.domain.repository.StockReservationRepository;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+
+/**
+ * PostgreSQL container with the inventory schema and the inventory service's repositories,
+ * shared by the inventory benchmarks
+ *
+ * The schema is created by the inventory-service migrations, and the repositories run on
+ * Hibernate with the JDBC batching settings of the service.
+ */
+final class InventoryDatabase implements AutoCloseable {
+
+    private final PostgreSQLContainer<?> postgres;
+    private final HikariDataSource dataSource;
+    private final AnnotationConfigApplicationContext context;
+
+    /**
+     * Start the database with one product per id and a pool like the inventory service's
+     */
+    InventoryDatabase(int poolSize, String... productIds) throws SQLException {
+        postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:16-alpine"));
+        postgres.start();
+
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(postgres.getJdbcUrl());
+        config.setUsername(postgres.getUsername());
+        config.setPassword(postgres.getPassword());
+        config.setMaximumPoolSize(poolSize);
+        config.setAutoCommit(false);
+        config.addDataSourceProperty("reWriteBatchedInserts", "true");
+        dataSource = new HikariDataSource(config);
+
+        try (Connection connection = dataSource.getConnection()) {
+            for (Resource migration : inventoryMigrations()) {
+                ScriptUtils.executeSqlScript(connection, migration);
+            }
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO inventory (id, product_id, product_name, created_at) " +
+                    "VALUES (gen_random_uuid(), ?, ?, CURRENT_TIMESTAMP)")) {
+                for (String productId : productIds) {
+                    insert.setString(1, productId);
+                    insert.setString(2, productId);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+            connection.commit();
+        }
+
+        context = new AnnotationConfigApplicationContext();
+        context.registerBean(DataSource.class, () -> dataSource);
+        context.register(JpaConfig.class);
+        context.refresh();
+    }
+
+    InventoryRepository inventoryRepository() {
+        return context.getBean(InventoryRepository.class);
+    }
+
+    StockReservationRepository reservationRepository() {
+        return context.getBean(StockReservationRepository.class);
+    }
+
+    TransactionTemplate transactionTemplate() {
+        return context.getBean(TransactionTemplate.class);
+    }
+
+    /**
+     * Give every product the same stock and remove all reservations
+     */
+    void restock(int stock) throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("TRUNCATE stock_reservations");
+            statement.execute("UPDATE inventory SET available_quantity = " + stock +
+                    ", reserved_quantity = 0, total_quantity = " + stock);
+            connection.commit();
+        }
+    }
+
+    @Override
+    public void close() {
+        context.close();
+        dataSource.close();
+        postgres.stop();
+    }
+
+    /**
+     * The inventory-service migrations in version order; the order service ships migrations
+     * under the same path, so only those next to the inventory classes are taken
+     */
+    private static Resource[] inventoryMigrations() {
+        String inventoryLocation = Inventory.class.getProtectionDomain().getCodeSource().getLocation().toString();
+        Resource[] migrations;
+        try {
+            migrations = new PathMatchingResourcePatternResolver().getResources("classpath*:db/migration/V*__*.sql");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Arrays.stream(migrations)
+                .filter(migration -> location(migration).contains(inventoryLocation))
+                .sorted(Comparator.comparingInt(InventoryDatabase::version))
+                .toArray(Resource[]::new);
+    }
+
+    private static String location(Resource resource) {
+        try {
+            return resource.getURL().toString();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static int version(Resource migration) {
+        String name = migration.getFilename();
+        return Integer.parseInt(name.substring(1, name.indexOf("__")));
+    }
+
+    @Configuration
+    @EnableJpaRepositories(basePackageClasses = InventoryRepository.class)
+    @EnableJpaAuditing
+    static class JpaConfig {
+
+        @Bean
+        LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource) {
+            LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+            factory.setDataSource(dataSource);
+            factory.setPackagesToScan(Inventory.class.getPackageName());
+            factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+            factory.setJpaPropertyMap(Map.of(
+                    "hibernate.hbm2ddl.auto", "validate",
+                    "hibernate.connection.provider_disables_autocommit", "true",
+                    "hibernate.jdbc.batch_size", "50",
+                    "hibernate.jdbc.batch_versioned_data", "true",
+                    "hibernate.order_inserts", "true"));
+            return factory;
+        }
+
+        @Bean
+        JpaTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+            return new JpaTransactionManager(entityManagerFactory);
+        }
+
+        @Bean
+        TransactionTemplate transactionTemplate(JpaTransactionManager transactionManager) {
+            return new TransactionTemplate(transactionManager);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.monat.ecommerce.benchmarks;
+
+import com.monat.ecommerce.inventory.domain.model.Inventory;
+import com.monat.ecommerce.inventory.domain.model.ReservationStatus;
+import com.monat.ecommerce.inventory.domain.model.StockReservation;
+import com.monat.ecommerce.inventory.domain.repository.InventoryRepository;
+import com.monat.ecommerce.inventory.domain.repository.StockReservationRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Multi-product reservations of 10- and 50-line orders, eight orders at a time over a shared
+ * catalog so that orders overlap on products
+ *
+ * Both strategies run the inventory service's repositories on Hibernate:
+ * <ul>
+ *   <li>{@code perProduct} - the previous {@code reserveMultipleProducts}: products in
+ *       {@code HashMap} order, {@code reserveIfAvailable} and a saved {@code StockReservation}
+ *       per product</li>
+ *   <li>{@code sortedBatch} - the current one: {@code lockByProductIdIn} in product ID order,
+ *       one {@code reserveAllIfAvailable} over {@code unnest} arrays and one {@code saveAll}</li>
+ * </ul>
+ * Orders that fail on a deadlock are rolled back and reported as the {@code deadlocks} counter.
+ *
+ * Needs Docker for the PostgreSQL container.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(8)
+@Fork(1)
+public class MultiProductReservationBenchmark {
+
+    private static final String DEADLOCK_DETECTED = "40P01";
+
+    @Param({"10", "50"})
+    private int lines;
+
+    @Param({"200"})
+    private int catalogSize;
+
+    private String[] catalog;
+    private InventoryDatabase database;
+    private InventoryRepository inventoryRepository;
+    private StockReservationRepository reservationRepository;
+    private TransactionTemplate transactionTemplate;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcomes {
+        public long deadlocks;
+
+        private final SplittableRandom random = new SplittableRandom();
+    }
+
+    @Setup(Level.Trial)
+    public void startDatabase() throws SQLException {
+        catalog = new String[catalogSize];
+        for (int i = 0; i < catalogSize; i++) {
+            catalog[i] = String.format("PROD-%04d", i);
+        }
+        database = new InventoryDatabase(10, catalog);
+        inventoryRepository = database.inventoryRepository();
+        reservationRepository = database.reservationRepository();
+        transactionTemplate = database.transactionTemplate();
+    }
+
+    @Setup(Level.Iteration)
+    public void restock() throws SQLException {
+        database.restock(Integer.MAX_VALUE / 2);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopDatabase() {
+        database.close();
+    }
+
+    @Benchmark
+    public void perProduct(Outcomes outcomes) {
+        Map<String, Integer> quantities = new HashMap<>(order(outcomes.random));
+        String reservationId = UUID.randomUUID().toString();
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (Map.Entry<String, Integer> line : quantities.entrySet()) {
+                    if (inventoryRepository.reserveIfAvailable(line.getKey(), line.getValue()) == 0) {
+                        throw new IllegalStateException("Insufficient stock for product " + line.getKey());
+                    }
+                    reservationRepository.save(reservation(reservationId, line.getKey(), line.getValue()));
+                }
+            });
+        } catch (RuntimeException e) {
+            countDeadlock(outcomes, e);
+        }
+    }
+
+    @Benchmark
+    public void sortedBatch(Outcomes outcomes) {
+        TreeMap<String, Integer> quantities = order(outcomes.random);
+        String reservationId = UUID.randomUUID().toString();
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Map<String, Inventory> inventories = inventoryRepository.lockByProductIdIn(quantities.keySet())
+                        .stream()
+                        .collect(Collectors.toMap(Inventory::getProductId, Function.identity()));
+                quantities.forEach((productId, quantity) -> {
+                    if (!inventories.get(productId).isStockAvailable(quantity)) {
+                        throw new IllegalStateException("Insufficient stock for product " + productId);
+                    }
+                });
+
+                int updated = inventoryRepository.reserveAllIfAvailable(
+                        quantities.keySet().toArray(String[]::new),
+                        quantities.values().toArray(Integer[]::new));
+                if (updated != quantities.size()) {
+                    throw new IllegalStateException("Stock changed while reserving products");
+                }
+
+                reservationRepository.saveAll(quantities.entrySet().stream()
+                        .map(line -> reservation(reservationId, line.getKey(), line.getValue()))
+                        .toList());
+            });
+        } catch (RuntimeException e) {
+            countDeadlock(outcomes, e);
+        }
+    }
+
+    /**
+     * Distinct random products of the catalog, one unit each
+     */
+    private TreeMap<String, Integer> order(SplittableRandom random) {
+        TreeMap<String, Integer> quantities = new TreeMap<>();
+        while (quantities.size() < lines) {
+            quantities.put(catalog[random.nextInt(catalogSize)], 1);
+        }
+        return quantities;
+    }
+
+    private static StockReservation reservation(String reservationId, String productId, int quantity) {
+        return StockReservation.builder()
+                .reservationId(reservationId)
+                .orderId(reservationId)
+                .productId(productId)
+                .quantity(quantity)
+                .status(ReservationStatus.ACTIVE)
+                .expiresAt(LocalDateTime.now().plusMinutes(15))
+                .build();
+    }
+
+    private static void countDeadlock(Outcomes outcomes, RuntimeException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException && DEADLOCK_DETECTED.equals(sqlException.getSQLState())) {
+                outcomes.deadlocks++;
+                return;
+            }
+        }
+        throw e;
+    }
+}
@@ -0,0 +1,117 @@
+package com.monat.ecommerce.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.monat.ecommerce.events.BaseEvent;
+import com.monat.ecommerce.events.codec.OrderEventCodec;
+import com.monat.ecommerce.events.order.OrderCancelledEvent;
+import com.monat.ecommerce.events.order.OrderCompletedEvent;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Order event encoding: Jackson JSON against the protobuf codec used by the outbox
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderEventSerializationBenchmark {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private OrderCompletedEvent completedEvent;
+    private OrderCancelledEvent cancelledEvent;
+    private byte[] completedJson;
+    private byte[] cancelledJson;
+    private byte[] completedProto;
+    private byte[] cancelledProto;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        String orderId = UUID.randomUUID().toString();
+        String userId = UUID.randomUUID().toString();
+
+        completedEvent = OrderCompletedEvent.builder()
+                .orderId(orderId)
+                .orderNumber("ORD-0000000000001")
+                .userId(userId)
+                .userEmail("customer@example.com")
+                .totalAmount(new BigDecimal("149.97"))
+                .currency("USD")
+                .paymentReference("PAY-123456")
+                .build();
+        withMetadata(completedEvent, orderId);
+
+        cancelledEvent = OrderCancelledEvent.builder()
+                .orderId(orderId)
+                .orderNumber("ORD-0000000000001")
+                .userId(userId)
+                .userEmail("customer@example.com")
+                .reason("Payment declined")
+                .cancelledBy("SYSTEM")
+                .build();
+        withMetadata(cancelledEvent, orderId);
+
+        completedJson = objectMapper.writeValueAsBytes(completedEvent);
+        cancelledJson = objectMapper.writeValueAsBytes(cancelledEvent);
+        completedProto = OrderEventCodec.encode(completedEvent);
+        cancelledProto = OrderEventCodec.encode(cancelledEvent);
+    }
+
+    @Benchmark
+    public byte[] completedToJson() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(completedEvent);
+    }
+
+    @Benchmark
+    public byte[] completedToProto() {
+        return OrderEventCodec.encode(completedEvent);
+    }
+
+    @Benchmark
+    public OrderCompletedEvent completedFromJson() throws IOException {
+        return objectMapper.readValue(completedJson, OrderCompletedEvent.class);
+    }
+
+    @Benchmark
+    public BaseEvent completedFromProto() {
+        return OrderEventCodec.decode(OrderEventCodec.ORDER_COMPLETED, completedProto);
+    }
+
+    @Benchmark
+    public byte[] cancelledToJson() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(cancelledEvent);
+    }
+
+    @Benchmark
+    public byte[] cancelledToProto() {
+        return OrderEventCodec.encode(cancelledEvent);
+    }
+
+    @Benchmark
+    public OrderCancelledEvent cancelledFromJson() throws IOException {
+        return objectMapper.readValue(cancelledJson, OrderCancelledEvent.class);
+    }
+
+    @Benchmark
+    public BaseEvent cancelledFromProto() {
+        return OrderEventCodec.decode(OrderEventCodec.ORDER_CANCELLED, cancelledProto);
+    }
+
+    private static void withMetadata(BaseEvent event, String orderId) {
+        event.setAggregateId(orderId);
+        event.setAggregateType("Order");
+        event.setVersion(1);
+    }
+}
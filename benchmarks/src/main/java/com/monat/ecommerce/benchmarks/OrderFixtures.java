@@ -0,0 +1,53 @@
+package com.monat.ecommerce.benchmarks;
+
+import com.monat.ecommerce.order.domain.model.Order;
+import com.monat.ecommerce.order.domain.model.OrderItem;
+import com.monat.ecommerce.order.domain.model.OrderStatus;
+import com.monat.ecommerce.order.domain.model.ShippingAddress;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Deterministic order fixtures shared by the benchmarks
+ */
+final class OrderFixtures {
+
+    private OrderFixtures() {
+    }
+
+    static Order order(int itemCount) {
+        Order order = Order.builder()
+                .id(UUID.randomUUID())
+                .orderNumber("ORD-0000000000001")
+                .userId(UUID.randomUUID())
+                .status(OrderStatus.CONFIRMED)
+                .shippingAddress(ShippingAddress.builder()
+                        .street("1 Main Street")
+                        .city("Miami")
+                        .state("FL")
+                        .postalCode("33101")
+                        .country("US")
+                        .build())
+                .paymentReference("PAY-123456")
+                .createdAt(LocalDateTime.of(2024, 1, 1, 12, 0))
+                .updatedAt(LocalDateTime.of(2024, 1, 1, 12, 5))
+                .version(1L)
+                .build();
+
+        for (int i = 0; i < itemCount; i++) {
+            OrderItem item = OrderItem.builder()
+                    .id(UUID.randomUUID())
+                    .productId("PROD-" + i)
+                    .productName("Product " + i)
+                    .quantity(1 + i % 5)
+                    .unitPrice(BigDecimal.valueOf(1999 + i, 2))
+                    .build();
+            item.calculateSubtotal();
+            order.addItem(item);
+        }
+        order.setTotalAmount(order.calculateTotal());
+        return order;
+    }
+}
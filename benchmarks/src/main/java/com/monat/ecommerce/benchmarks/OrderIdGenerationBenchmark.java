@@ -0,0 +1,49 @@
+package com.monat.ecommerce.benchmarks;
+
+import com.monat.ecommerce.order.domain.model.UuidV7;
+import com.monat.ecommerce.order.infrastructure.id.SnowflakeOrderNumberGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Order number and primary key generation, single-threaded and under contention
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderIdGenerationBenchmark {
+
+    private final SnowflakeOrderNumberGenerator generator = new SnowflakeOrderNumberGenerator(1);
+
+    @Benchmark
+    public String nextOrderNumber() {
+        return generator.nextOrderNumber();
+    }
+
+    @Benchmark
+    public long nextId() {
+        return generator.nextId();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String nextOrderNumberContended() {
+        return generator.nextOrderNumber();
+    }
+
+    @Benchmark
+    public UUID nextUuidV7() {
+        return UuidV7.next();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public UUID nextUuidV7Contended() {
+        return UuidV7.next();
+    }
+}
@@ -0,0 +1,160 @@
+package com.monat.ecommerce.benchmarks;
+
+import com.monat.ecommerce.order.domain.model.UuidV7;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.*;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Inserting orders and their items into PostgreSQL, keyed by random or time-ordered UUIDs
+ *
+ * The schema comes from the order-service migrations. Before measuring, {@code prefilledOrders}
+ * orders are inserted with the same key type, and {@code shared_buffers} is kept small, so that
+ * the primary key indexes of {@code orders} and {@code order_items} no longer fit in the buffer
+ * cache: random v4 keys land on arbitrary index pages, while {@code @TimeOrderedUuid} keys
+ * ({@link UuidV7}) append to the rightmost page. Each invocation writes {@code batchSize} orders
+ * with {@code itemsPerOrder} items in one transaction, as batched INSERTs like Hibernate's, so
+ * the score is in transactions.
+ *
+ * Needs Docker for the PostgreSQL container.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class OrderInsertBenchmark {
+
+    private static final String INSERT_ORDER =
+            "INSERT INTO orders (id, order_number, user_id, status, total_amount, currency, created_at, version) " +
+            "VALUES (?, ?, ?, 'PENDING', ?, 'USD', ?, 0)";
+    private static final String INSERT_ITEM =
+            "INSERT INTO order_items (id, order_id, product_id, product_name, quantity, unit_price, subtotal) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final BigDecimal UNIT_PRICE = new BigDecimal("19.99");
+
+    public enum IdType {
+        RANDOM_V4(UUID::randomUUID),
+        TIME_ORDERED(UuidV7::next);
+
+        private final Supplier<UUID> generator;
+
+        IdType(Supplier<UUID> generator) {
+            this.generator = generator;
+        }
+    }
+
+    @Param({"RANDOM_V4", "TIME_ORDERED"})
+    private IdType idType;
+
+    @Param({"500000"})
+    private int prefilledOrders;
+
+    @Param({"50"})
+    private int batchSize;
+
+    @Param({"3"})
+    private int itemsPerOrder;
+
+    @Param({"16MB"})
+    private String sharedBuffers;
+
+    private final AtomicLong orderNumbers = new AtomicLong();
+
+    private PostgreSQLContainer<?> postgres;
+    private HikariDataSource dataSource;
+
+    @Setup(Level.Trial)
+    public void startDatabase() throws SQLException {
+        postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:16-alpine"))
+                .withCommand("postgres", "-c", "shared_buffers=" + sharedBuffers, "-c", "fsync=off");
+        postgres.start();
+
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(postgres.getJdbcUrl());
+        config.setUsername(postgres.getUsername());
+        config.setPassword(postgres.getPassword());
+        config.setMaximumPoolSize(2);
+        config.setAutoCommit(false);
+        config.addDataSourceProperty("reWriteBatchedInserts", "true");
+        dataSource = new HikariDataSource(config);
+
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+
+        try (Connection connection = dataSource.getConnection()) {
+            for (int inserted = 0; inserted < prefilledOrders; inserted += batchSize) {
+                insertBatch(connection);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopDatabase() {
+        dataSource.close();
+        postgres.stop();
+    }
+
+    @Benchmark
+    public void insertOrders() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            insertBatch(connection);
+        }
+    }
+
+    /**
+     * Insert one transaction of orders, parents first, then all items
+     */
+    private void insertBatch(Connection connection) throws SQLException {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        UUID[] orderIds = new UUID[batchSize];
+
+        try (PreparedStatement orders = connection.prepareStatement(INSERT_ORDER);
+             PreparedStatement items = connection.prepareStatement(INSERT_ITEM)) {
+            for (int i = 0; i < batchSize; i++) {
+                orderIds[i] = idType.generator.get();
+                orders.setObject(1, orderIds[i]);
+                orders.setString(2, "ORD-" + orderNumbers.incrementAndGet());
+                orders.setObject(3, UUID.randomUUID());
+                orders.setBigDecimal(4, UNIT_PRICE.multiply(BigDecimal.valueOf(itemsPerOrder)));
+                orders.setTimestamp(5, now);
+                orders.addBatch();
+            }
+            orders.executeBatch();
+
+            for (UUID orderId : orderIds) {
+                for (int item = 0; item < itemsPerOrder; item++) {
+                    items.setObject(1, idType.generator.get());
+                    items.setObject(2, orderId);
+                    items.setString(3, "PROD-" + item);
+                    items.setString(4, "Product " + item);
+                    items.setInt(5, 1);
+                    items.setBigDecimal(6, UNIT_PRICE);
+                    items.setBigDecimal(7, UNIT_PRICE);
+                    items.addBatch();
+                }
+            }
+            items.executeBatch();
+        }
+        connection.commit();
+    }
+}
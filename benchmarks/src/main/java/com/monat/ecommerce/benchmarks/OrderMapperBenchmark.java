@@ -0,0 +1,52 @@
+package com.monat.ecommerce.benchmarks;
+
+import com.monat.ecommerce.order.application.dto.OrderMapper;
+import com.monat.ecommerce.order.application.dto.OrderMapperImpl;
+import com.monat.ecommerce.order.application.dto.OrderResponse;
+import com.monat.ecommerce.order.domain.model.Order;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping used by the order read endpoints
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderMapperBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"1", "10", "100"})
+    private int itemCount;
+
+    private final OrderMapper orderMapper = new OrderMapperImpl();
+
+    private Order order;
+    private List<Order> page;
+
+    @Setup
+    public void setUp() {
+        order = OrderFixtures.order(itemCount);
+        page = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            page.add(OrderFixtures.order(itemCount));
+        }
+    }
+
+    @Benchmark
+    public OrderResponse toOrderResponse() {
+        return orderMapper.toOrderResponse(order);
+    }
+
+    @Benchmark
+    public List<OrderResponse> toOrderResponsePage() {
+        return orderMapper.toOrderResponseList(page);
+    }
+}
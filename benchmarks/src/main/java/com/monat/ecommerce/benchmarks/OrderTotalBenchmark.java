@@ -0,0 +1,34 @@
+package com.monat.ecommerce.benchmarks;
+
+import com.monat.ecommerce.order.domain.model.Order;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Order total calculation as done when an order is created
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderTotalBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int itemCount;
+
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        order = OrderFixtures.order(itemCount);
+    }
+
+    @Benchmark
+    public BigDecimal calculateTotal() {
+        return order.calculateTotal();
+    }
+}
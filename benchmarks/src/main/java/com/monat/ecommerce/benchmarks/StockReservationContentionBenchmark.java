@@ -0,0 +1,210 @@
+package com.monat.ecommerce.benchmarks;
+
+import com.monat.ecommerce.inventory.domain.model.Inventory;
+import com.monat.ecommerce.inventory.domain.model.ReservationStatus;
+import com.monat.ecommerce.inventory.domain.model.StockReservation;
+import com.monat.ecommerce.inventory.domain.repository.InventoryRepository;
+import com.monat.ecommerce.inventory.domain.repository.StockReservationRepository;
+import jakarta.persistence.OptimisticLockException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.retry.support.RetryTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Concurrent buyers of one product reserving stock in PostgreSQL
+ *
+ * Each invocation is one flash-sale round: {@code buyers} threads start together and each makes
+ * {@code reservationsPerBuyer} reservations of one unit. Both strategies run the inventory
+ * service's repositories and entities on Hibernate:
+ * <ul>
+ *   <li>{@code optimisticRetry} - the previous {@code reserveStock}: {@code findByProductId},
+ *       {@code Inventory.reserveStock} and a save checked against {@code @Version}, retried like
+ *       its {@code @Retryable} around {@code @Transactional} (100ms, x2, at most 5 attempts)</li>
+ *   <li>{@code conditionalUpdate} - {@code InventoryRepository.reserveIfAvailable}</li>
+ * </ul>
+ * Every reservation also saves its {@code StockReservation} in the same transaction. The
+ * pool has as many connections as the service. Reservations that gave up after the last retry
+ * are reported as the {@code exhausted} counter.
+ *
+ * Needs Docker for the PostgreSQL container.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class StockReservationContentionBenchmark {
+
+    private static final String PRODUCT_ID = "PROD-HOT";
+
+    private static final int MAX_ATTEMPTS = 5;
+
+    /**
+     * The policy of the {@code @Retryable} that wrapped the previous {@code reserveStock}
+     */
+    private static final RetryTemplate OPTIMISTIC_RETRY = RetryTemplate.builder()
+            .maxAttempts(MAX_ATTEMPTS)
+            .exponentialBackoff(100, 2.0, 2000)
+            .retryOn(List.of(OptimisticLockException.class, ObjectOptimisticLockingFailureException.class))
+            .build();
+
+    @Param({"1", "16", "256"})
+    private int buyers;
+
+    @Param({"4"})
+    private int reservationsPerBuyer;
+
+    /**
+     * Matches {@code spring.datasource.hikari.maximum-pool-size} of the inventory service
+     */
+    @Param({"10"})
+    private int poolSize;
+
+    private InventoryDatabase database;
+    private InventoryRepository inventoryRepository;
+    private StockReservationRepository reservationRepository;
+    private TransactionTemplate transactionTemplate;
+    private ExecutorService executor;
+
+    /**
+     * Reservations of the current round, per outcome
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcomes {
+        public long reserved;
+        public long exhausted;
+        public long conflicts;
+    }
+
+    @Setup(Level.Trial)
+    public void startDatabase() throws SQLException {
+        database = new InventoryDatabase(poolSize, PRODUCT_ID);
+        inventoryRepository = database.inventoryRepository();
+        reservationRepository = database.reservationRepository();
+        transactionTemplate = database.transactionTemplate();
+        executor = Executors.newFixedThreadPool(buyers);
+    }
+
+    /**
+     * Restock so that every buyer of the round can be served
+     */
+    @Setup(Level.Invocation)
+    public void restock() throws SQLException {
+        database.restock(buyers * reservationsPerBuyer);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopDatabase() {
+        executor.shutdownNow();
+        database.close();
+    }
+
+    @Benchmark
+    public void optimisticRetry(Outcomes outcomes) throws Exception {
+        runRound(outcomes, this::reserveOptimistic);
+    }
+
+    @Benchmark
+    public void conditionalUpdate(Outcomes outcomes) throws Exception {
+        runRound(outcomes, this::reserveConditional);
+    }
+
+    private void runRound(Outcomes outcomes, Reservation reservation) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicLong reserved = new AtomicLong();
+        AtomicLong exhausted = new AtomicLong();
+        AtomicLong conflicts = new AtomicLong();
+
+        List<Future<?>> rounds = new ArrayList<>(buyers);
+        for (int buyer = 0; buyer < buyers; buyer++) {
+            rounds.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < reservationsPerBuyer; i++) {
+                    int attempts = reservation.reserve();
+                    if (attempts > 0) {
+                        reserved.incrementAndGet();
+                        conflicts.addAndGet(attempts - 1);
+                    } else {
+                        exhausted.incrementAndGet();
+                        conflicts.addAndGet(MAX_ATTEMPTS);
+                    }
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> round : rounds) {
+            round.get();
+        }
+
+        outcomes.reserved += reserved.get();
+        outcomes.exhausted += exhausted.get();
+        outcomes.conflicts += conflicts.get();
+    }
+
+    /**
+     * Read-modify-write of the entity, each attempt in its own transaction; a version conflict
+     * surfaces on commit and is retried after the backoff
+     *
+     * @return attempts taken, or 0 if every attempt hit a conflict
+     */
+    private int reserveOptimistic() {
+        try {
+            return OPTIMISTIC_RETRY.execute(retry -> {
+                transactionTemplate.executeWithoutResult(status -> {
+                    Inventory inventory = inventoryRepository.findByProductId(PRODUCT_ID)
+                            .orElseThrow(() -> new IllegalArgumentException("Product not found: " + PRODUCT_ID));
+                    inventory.reserveStock(1);
+                    inventoryRepository.save(inventory);
+                    reservationRepository.save(reservation());
+                });
+                return retry.getRetryCount() + 1;
+            });
+        } catch (OptimisticLockException | ObjectOptimisticLockingFailureException e) {
+            return 0;
+        }
+    }
+
+    private int reserveConditional() {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (inventoryRepository.reserveIfAvailable(PRODUCT_ID, 1) == 0) {
+                throw new IllegalStateException("Sold out");
+            }
+            reservationRepository.save(reservation());
+        });
+        return 1;
+    }
+
+    private static StockReservation reservation() {
+        String reservationId = UUID.randomUUID().toString();
+        return StockReservation.builder()
+                .reservationId(reservationId)
+                .orderId(reservationId)
+                .productId(PRODUCT_ID)
+                .quantity(1)
+                .status(ReservationStatus.ACTIVE)
+                .expiresAt(LocalDateTime.now().plusMinutes(15))
+                .build();
+    }
+
+    @FunctionalInterface
+    private interface Reservation {
+        int reserve() throws Exception;
+    }
+}
@@ -0,0 +1,28 @@
+package com.monat.ecommerce.common.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Keyset-paginated response wrapper for list endpoints
+ *
+ * Pass {@code nextCursor} back to fetch the following page. The total is only present when
+ * the client asked for it, since counting is the expensive part of a page request.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CursorPagedResponse<T> {
+    private List<T> content;
+    private int size;
+    private String nextCursor;
+    private boolean hasMore;
+    private Long totalElements;
+}
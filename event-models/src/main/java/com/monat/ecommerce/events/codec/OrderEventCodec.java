@@ -0,0 +1,216 @@
+package com.monat.ecommerce.events.codec;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.Timestamp;
+import com.monat.ecommerce.events.BaseEvent;
+import com.monat.ecommerce.events.order.OrderCancelledEvent;
+import com.monat.ecommerce.events.order.OrderCompletedEvent;
+import com.monat.ecommerce.events.order.OrderCreatedEvent;
+import com.monat.ecommerce.grpc.events.order.EventMetadata;
+import com.monat.ecommerce.grpc.events.order.OrderCancelled;
+import com.monat.ecommerce.grpc.events.order.OrderCompleted;
+import com.monat.ecommerce.grpc.events.order.OrderCreated;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Protobuf encoding of the order events
+ *
+ * Proto3 has no null strings, so null fields are written as empty strings and read back as null.
+ * Timestamps are interpreted as UTC in both directions.
+ */
+public final class OrderEventCodec {
+
+    public static final String CONTENT_TYPE = "application/x-protobuf";
+
+    public static final String ORDER_CREATED = "OrderCreated";
+    public static final String ORDER_COMPLETED = "OrderCompleted";
+    public static final String ORDER_CANCELLED = "OrderCancelled";
+
+    private OrderEventCodec() {
+    }
+
+    public static byte[] encode(OrderCreatedEvent event) {
+        OrderCreated.Builder builder = OrderCreated.newBuilder()
+                .setMetadata(metadata(event))
+                .setOrderId(str(event.getOrderId()))
+                .setOrderNumber(str(event.getOrderNumber()))
+                .setUserId(str(event.getUserId()))
+                .setTotalAmount(str(event.getTotalAmount()))
+                .setCurrency(str(event.getCurrency()));
+
+        if (event.getItems() != null) {
+            for (OrderCreatedEvent.OrderItemDto item : event.getItems()) {
+                builder.addItems(OrderCreated.OrderItem.newBuilder()
+                        .setProductId(str(item.getProductId()))
+                        .setProductName(str(item.getProductName()))
+                        .setQuantity(item.getQuantity() != null ? item.getQuantity() : 0)
+                        .setUnitPrice(str(item.getUnitPrice()))
+                        .setSubtotal(str(item.getSubtotal())));
+            }
+        }
+
+        OrderCreatedEvent.AddressDto address = event.getShippingAddress();
+        if (address != null) {
+            builder.setShippingAddress(OrderCreated.Address.newBuilder()
+                    .setStreet(str(address.getStreet()))
+                    .setCity(str(address.getCity()))
+                    .setState(str(address.getState()))
+                    .setPostalCode(str(address.getPostalCode()))
+                    .setCountry(str(address.getCountry())));
+        }
+
+        return builder.build().toByteArray();
+    }
+
+    public static byte[] encode(OrderCompletedEvent event) {
+        return OrderCompleted.newBuilder()
+                .setMetadata(metadata(event))
+                .setOrderId(str(event.getOrderId()))
+                .setOrderNumber(str(event.getOrderNumber()))
+                .setUserId(str(event.getUserId()))
+                .setUserEmail(str(event.getUserEmail()))
+                .setTotalAmount(str(event.getTotalAmount()))
+                .setCurrency(str(event.getCurrency()))
+                .setPaymentReference(str(event.getPaymentReference()))
+                .build()
+                .toByteArray();
+    }
+
+    public static byte[] encode(OrderCancelledEvent event) {
+        return OrderCancelled.newBuilder()
+                .setMetadata(metadata(event))
+                .setOrderId(str(event.getOrderId()))
+                .setOrderNumber(str(event.getOrderNumber()))
+                .setUserId(str(event.getUserId()))
+                .setUserEmail(str(event.getUserEmail()))
+                .setReason(str(event.getReason()))
+                .setCancelledBy(str(event.getCancelledBy()))
+                .build()
+                .toByteArray();
+    }
+
+    /**
+     * Decode a payload by its event type
+     *
+     * @throws IllegalArgumentException if the type is unknown or the payload is malformed
+     */
+    public static BaseEvent decode(String eventType, byte[] payload) {
+        try {
+            return switch (eventType) {
+                case ORDER_CREATED -> decodeOrderCreated(OrderCreated.parseFrom(payload));
+                case ORDER_COMPLETED -> decodeOrderCompleted(OrderCompleted.parseFrom(payload));
+                case ORDER_CANCELLED -> decodeOrderCancelled(OrderCancelled.parseFrom(payload));
+                default -> throw new IllegalArgumentException("Unknown order event type: " + eventType);
+            };
+        } catch (InvalidProtocolBufferException e) {
+            throw new IllegalArgumentException("Malformed " + eventType + " payload", e);
+        }
+    }
+
+    private static OrderCreatedEvent decodeOrderCreated(OrderCreated message) {
+        List<OrderCreatedEvent.OrderItemDto> items = message.getItemsList().stream()
+                .map(item -> OrderCreatedEvent.OrderItemDto.builder()
+                        .productId(nullable(item.getProductId()))
+                        .productName(nullable(item.getProductName()))
+                        .quantity(item.getQuantity())
+                        .unitPrice(decimal(item.getUnitPrice()))
+                        .subtotal(decimal(item.getSubtotal()))
+                        .build())
+                .toList();
+
+        OrderCreatedEvent.AddressDto address = null;
+        if (message.hasShippingAddress()) {
+            OrderCreated.Address source = message.getShippingAddress();
+            address = OrderCreatedEvent.AddressDto.builder()
+                    .street(nullable(source.getStreet()))
+                    .city(nullable(source.getCity()))
+                    .state(nullable(source.getState()))
+                    .postalCode(nullable(source.getPostalCode()))
+                    .country(nullable(source.getCountry()))
+                    .build();
+        }
+
+        OrderCreatedEvent event = OrderCreatedEvent.builder()
+                .orderId(nullable(message.getOrderId()))
+                .orderNumber(nullable(message.getOrderNumber()))
+                .userId(nullable(message.getUserId()))
+                .items(items)
+                .totalAmount(decimal(message.getTotalAmount()))
+                .currency(nullable(message.getCurrency()))
+                .shippingAddress(address)
+                .build();
+        return applyMetadata(event, message.getMetadata());
+    }
+
+    private static OrderCompletedEvent decodeOrderCompleted(OrderCompleted message) {
+        OrderCompletedEvent event = OrderCompletedEvent.builder()
+                .orderId(nullable(message.getOrderId()))
+                .orderNumber(nullable(message.getOrderNumber()))
+                .userId(nullable(message.getUserId()))
+                .userEmail(nullable(message.getUserEmail()))
+                .totalAmount(decimal(message.getTotalAmount()))
+                .currency(nullable(message.getCurrency()))
+                .paymentReference(nullable(message.getPaymentReference()))
+                .build();
+        return applyMetadata(event, message.getMetadata());
+    }
+
+    private static OrderCancelledEvent decodeOrderCancelled(OrderCancelled message) {
+        OrderCancelledEvent event = OrderCancelledEvent.builder()
+                .orderId(nullable(message.getOrderId()))
+                .orderNumber(nullable(message.getOrderNumber()))
+                .userId(nullable(message.getUserId()))
+                .userEmail(nullable(message.getUserEmail()))
+                .reason(nullable(message.getReason()))
+                .cancelledBy(nullable(message.getCancelledBy()))
+                .build();
+        return applyMetadata(event, message.getMetadata());
+    }
+
+    private static EventMetadata metadata(BaseEvent event) {
+        EventMetadata.Builder builder = EventMetadata.newBuilder()
+                .setEventId(str(event.getEventId()))
+                .setAggregateId(str(event.getAggregateId()))
+                .setAggregateType(str(event.getAggregateType()))
+                .setVersion(event.getVersion() != null ? event.getVersion() : 0);
+
+        if (event.getTimestamp() != null) {
+            Instant instant = event.getTimestamp().toInstant(ZoneOffset.UTC);
+            builder.setTimestamp(Timestamp.newBuilder()
+                    .setSeconds(instant.getEpochSecond())
+                    .setNanos(instant.getNano()));
+        }
+        return builder.build();
+    }
+
+    private static <T extends BaseEvent> T applyMetadata(T event, EventMetadata metadata) {
+        event.setEventId(nullable(metadata.getEventId()));
+        event.setAggregateId(nullable(metadata.getAggregateId()));
+        event.setAggregateType(nullable(metadata.getAggregateType()));
+        event.setVersion(metadata.getVersion());
+        event.setTimestamp(metadata.hasTimestamp()
+                ? LocalDateTime.ofEpochSecond(metadata.getTimestamp().getSeconds(), metadata.getTimestamp().getNanos(), ZoneOffset.UTC)
+                : null);
+        return event;
+    }
+
+    private static String str(Object value) {
+        if (value == null) {
+            return "";
+        }
+        return value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString();
+    }
+
+    private static String nullable(String value) {
+        return value.isEmpty() ? null : value;
+    }
+
+    private static BigDecimal decimal(String value) {
+        return value.isEmpty() ? null : new BigDecimal(value);
+    }
+}
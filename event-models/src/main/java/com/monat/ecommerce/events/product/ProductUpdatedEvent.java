@@ -0,0 +1,25 @@
+package com.monat.ecommerce.events.product;
+
+import com.monat.ecommerce.events.BaseEvent;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Event published when a product is created, changed or deleted
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductUpdatedEvent extends BaseEvent {
+    private String productId;
+    private String name;
+    private BigDecimal price;
+    private String currency;
+    private String status;
+    private boolean deleted;
+}
@@ -0,0 +1,98 @@
+package com.monat.ecommerce.events.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.monat.ecommerce.events.BaseEvent;
+import com.monat.ecommerce.events.order.OrderCancelledEvent;
+import com.monat.ecommerce.events.order.OrderCompletedEvent;
+import com.monat.ecommerce.events.order.OrderCreatedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for OrderEventCodec
+ */
+class OrderEventCodecTest {
+
+    @Test
+    void orderCompleted_RoundTrips() {
+        // Given
+        OrderCompletedEvent event = OrderCompletedEvent.builder()
+                .orderId(UUID.randomUUID().toString())
+                .orderNumber("ORD-1001")
+                .userId(UUID.randomUUID().toString())
+                .totalAmount(new BigDecimal("149.90"))
+                .currency("USD")
+                .paymentReference("PAY-REF-1")
+                .build();
+        event.setAggregateId(event.getOrderId());
+        event.setAggregateType("Order");
+
+        // When
+        BaseEvent decoded = OrderEventCodec.decode(OrderEventCodec.ORDER_COMPLETED, OrderEventCodec.encode(event));
+
+        // Then
+        assertThat(decoded).isEqualTo(event);
+        assertThat(((OrderCompletedEvent) decoded).getUserEmail()).isNull();
+    }
+
+    @Test
+    void orderCreated_RoundTripsItemsAndAddress() {
+        // Given
+        OrderCreatedEvent event = OrderCreatedEvent.builder()
+                .orderId(UUID.randomUUID().toString())
+                .orderNumber("ORD-1002")
+                .userId(UUID.randomUUID().toString())
+                .items(List.of(OrderCreatedEvent.OrderItemDto.builder()
+                        .productId("PROD-001")
+                        .productName("Laptop")
+                        .quantity(2)
+                        .unitPrice(new BigDecimal("999.99"))
+                        .subtotal(new BigDecimal("1999.98"))
+                        .build()))
+                .totalAmount(new BigDecimal("1999.98"))
+                .currency("USD")
+                .shippingAddress(OrderCreatedEvent.AddressDto.builder()
+                        .street("1 Main St")
+                        .city("Miami")
+                        .country("US")
+                        .build())
+                .build();
+
+        // When
+        BaseEvent decoded = OrderEventCodec.decode(OrderEventCodec.ORDER_CREATED, OrderEventCodec.encode(event));
+
+        // Then
+        assertThat(decoded).isEqualTo(event);
+    }
+
+    @Test
+    void encode_IsSmallerThanJson() throws Exception {
+        // Given
+        OrderCancelledEvent event = OrderCancelledEvent.builder()
+                .orderId(UUID.randomUUID().toString())
+                .orderNumber("ORD-1003")
+                .userId(UUID.randomUUID().toString())
+                .reason("Payment service unavailable")
+                .build();
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+        // When
+        int protobufSize = OrderEventCodec.encode(event).length;
+        int jsonSize = objectMapper.writeValueAsBytes(event).length;
+
+        // Then
+        assertThat(protobufSize).isLessThan(jsonSize / 2);
+    }
+
+    @Test
+    void decode_UnknownType_Throws() {
+        assertThatThrownBy(() -> OrderEventCodec.decode("OrderShipped", new byte[0]))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -2,7 +2,6 @@ package com.monat.ecommerce.inventory;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
@@ -11,7 +10,6 @@ import org.springframework.scheduling.annotation.EnableScheduling;
         "com.monat.ecommerce.common"
 })
 @EnableJpaAuditing
-@EnableCaching
 @EnableScheduling
 public class InventoryServiceApplication {
 
@@ -0,0 +1,45 @@
+package com.monat.ecommerce.inventory.domain.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Journaled stock change of the in-memory stock ledger, pending write-behind to the inventory table
+ */
+@Entity
+@Table(name = "inventory_ledger_journal")
+@EntityListeners(AuditingEntityListener.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockLedgerEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "product_id", nullable = false)
+    private String productId;
+
+    @Column(name = "available_delta", nullable = false)
+    private Integer availableDelta;
+
+    @Column(name = "reserved_delta", nullable = false)
+    private Integer reservedDelta;
+
+    @Column(name = "total_delta", nullable = false)
+    private Integer totalDelta;
+
+    @CreatedDate
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,19 @@
+package com.monat.ecommerce.inventory.domain.model;
+
+/**
+ * Stock quantities of a product as served to readers and cached
+ */
+public record StockLevel(String productId, int availableQuantity, int reservedQuantity, int totalQuantity) {
+
+    public static StockLevel of(Inventory inventory) {
+        return new StockLevel(
+                inventory.getProductId(),
+                inventory.getAvailableQuantity(),
+                inventory.getReservedQuantity(),
+                inventory.getTotalQuantity());
+    }
+
+    public boolean isAvailable(int quantity) {
+        return availableQuantity >= quantity;
+    }
+}
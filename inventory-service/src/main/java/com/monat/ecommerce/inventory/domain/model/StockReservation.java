@@ -13,10 +13,12 @@ import java.util.UUID;
 
 /**
  * Stock reservation entity - tracks temporary reservations
+ *
+ * A reservation has one row per product, all sharing the reservation ID.
  */
 @Entity
 @Table(name = "stock_reservations", indexes = {
-        @Index(name = "idx_reservation_id", columnList = "reservation_id", unique = true),
+        @Index(name = "idx_reservation_product", columnList = "reservation_id, product_id", unique = true),
         @Index(name = "idx_order_id", columnList = "order_id"),
         @Index(name = "idx_status", columnList = "status"),
         @Index(name = "idx_expires_at", columnList = "expires_at")
@@ -32,7 +34,7 @@ public class StockReservation {
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
 
-    @Column(name = "reservation_id", unique = true, nullable = false)
+    @Column(name = "reservation_id", nullable = false)
     private String reservationId;
 
     @Column(name = "order_id", nullable = false)
@@ -4,9 +4,11 @@ import com.monat.ecommerce.inventory.domain.model.Inventory;
 import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -38,4 +40,52 @@ public interface InventoryRepository extends JpaRepository<Inventory, UUID> {
     @Query("SELECT CASE WHEN i.availableQuantity >= :quantity THEN true ELSE false END " +
            "FROM Inventory i WHERE i.productId = :productId")
     boolean hasAvailableStock(String productId, Integer quantity);
+
+    /**
+     * Reserve stock with a single conditional UPDATE
+     *
+     * Concurrent buyers of the same product queue on the row lock instead of failing on a version
+     * conflict, and the stock check in the WHERE clause prevents overselling. The version is still
+     * bumped so entity updates of the same row keep detecting the change.
+     *
+     * @return 1 if the stock was reserved, 0 if the product is unknown or has insufficient stock
+     */
+    @Modifying
+    @Query("UPDATE Inventory i SET i.availableQuantity = i.availableQuantity - :quantity, " +
+           "i.reservedQuantity = i.reservedQuantity + :quantity, " +
+           "i.updatedAt = CURRENT_TIMESTAMP, i.version = i.version + 1 " +
+           "WHERE i.productId = :productId AND i.availableQuantity >= :quantity")
+    int reserveIfAvailable(String productId, Integer quantity);
+
+    /**
+     * Lock the inventory rows of the given products, in product ID order
+     *
+     * Callers that lock several rows go through here, so they all lock in the same order and
+     * queue behind each other instead of deadlocking.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Inventory i WHERE i.productId IN :productIds ORDER BY i.productId")
+    List<Inventory> lockByProductIdIn(Collection<String> productIds);
+
+    /**
+     * Reserve stock for several products with one UPDATE
+     *
+     * The arrays are matched by position, and the quantities of a product listed more than once
+     * are added up. Products without enough stock are left unchanged.
+     *
+     * @return number of distinct products reserved
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE inventory i
+            SET available_quantity = i.available_quantity - r.quantity,
+                reserved_quantity = i.reserved_quantity + r.quantity,
+                updated_at = CURRENT_TIMESTAMP,
+                version = i.version + 1
+            FROM (SELECT product_id, CAST(SUM(quantity) AS integer) AS quantity
+                  FROM unnest(CAST(:productIds AS varchar[]), CAST(:quantities AS integer[])) AS u(product_id, quantity)
+                  GROUP BY product_id) AS r
+            WHERE i.product_id = r.product_id AND i.available_quantity >= r.quantity
+            """, nativeQuery = true)
+    int reserveAllIfAvailable(String[] productIds, Integer[] quantities);
 }
@@ -0,0 +1,46 @@
+package com.monat.ecommerce.inventory.domain.repository;
+
+import com.monat.ecommerce.inventory.domain.model.StockLedgerEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface StockLedgerJournalRepository extends JpaRepository<StockLedgerEntry, UUID> {
+
+    /**
+     * Apply up to :batchSize journal entries to the inventory table and remove them
+     *
+     * One statement: the entries are deleted, summed per product and added to the inventory rows,
+     * so an entry is applied exactly once even if the flush is interrupted.
+     *
+     * @return number of entries applied
+     */
+    @Query(value = """
+            WITH flushed AS (
+                DELETE FROM inventory_ledger_journal
+                WHERE id IN (SELECT id FROM inventory_ledger_journal LIMIT :batchSize)
+                RETURNING product_id, available_delta, reserved_delta, total_delta
+            ), totals AS (
+                SELECT product_id,
+                       SUM(available_delta) AS available_delta,
+                       SUM(reserved_delta) AS reserved_delta,
+                       SUM(total_delta) AS total_delta
+                FROM flushed
+                GROUP BY product_id
+            ), applied AS (
+                UPDATE inventory i
+                SET available_quantity = i.available_quantity + t.available_delta,
+                    reserved_quantity = i.reserved_quantity + t.reserved_delta,
+                    total_quantity = i.total_quantity + t.total_delta,
+                    updated_at = CURRENT_TIMESTAMP,
+                    version = i.version + 1
+                FROM totals t
+                WHERE i.product_id = t.product_id
+            )
+            SELECT COUNT(*) FROM flushed
+            """, nativeQuery = true)
+    int flush(int batchSize);
+}
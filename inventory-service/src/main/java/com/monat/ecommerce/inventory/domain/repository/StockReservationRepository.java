@@ -2,18 +2,31 @@ package com.monat.ecommerce.inventory.domain.repository;
 
 import com.monat.ecommerce.inventory.domain.model.ReservationStatus;
 import com.monat.ecommerce.inventory.domain.model.StockReservation;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface StockReservationRepository extends JpaRepository<StockReservation, UUID> {
 
-    Optional<StockReservation> findByReservationId(String reservationId);
+    /**
+     * All product lines of a reservation, in the order their inventory rows are locked
+     */
+    List<StockReservation> findByReservationIdOrderByProductId(String reservationId);
+
+    /**
+     * Lock all product lines of a reservation, so concurrent releases and commits of the same
+     * reservation queue behind each other and the second one sees it processed
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM StockReservation r WHERE r.reservationId = :reservationId ORDER BY r.productId")
+    List<StockReservation> lockByReservationId(String reservationId);
 
     List<StockReservation> findByOrderId(String orderId);
 
@@ -2,15 +2,16 @@ package com.monat.ecommerce.inventory.domain.service;
 
 import com.monat.ecommerce.inventory.domain.model.Inventory;
 import com.monat.ecommerce.inventory.domain.model.ReservationStatus;
+import com.monat.ecommerce.inventory.domain.model.StockLevel;
 import com.monat.ecommerce.inventory.domain.model.StockReservation;
 import com.monat.ecommerce.inventory.domain.repository.InventoryRepository;
 import com.monat.ecommerce.inventory.domain.repository.StockReservationRepository;
+import com.monat.ecommerce.inventory.infrastructure.cache.InventoryCache;
+import com.monat.ecommerce.inventory.infrastructure.ledger.StockLedger;
 import jakarta.persistence.OptimisticLockException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
@@ -18,17 +19,32 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
- * Inventory domain service with optimistic locking and retry mechanism
+ * Inventory domain service
  * 
- * When optimistic lock conflicts occur (OptimisticLockException), the operation
- * is automatically retried with exponential backoff. This ensures high throughput
- * while preventing overselling.
+ * Stock is reserved with a conditional UPDATE per product: no read, no version conflict, and
+ * the WHERE clause prevents overselling, so concurrent buyers of a hot product are serialized
+ * by the row lock instead of retrying. Releasing and committing reservations lock the inventory
+ * rows of the reservation in product ID order, like multi-product reservations; conflicting
+ * updates of the reservation rows themselves are retried with exponential backoff.
+ *
+ * With the stock ledger enabled, stock counters are changed in the ledger instead and the
+ * inventory table is updated behind it. No inventory row is locked then, so releases and commits
+ * lock the reservation rows instead.
+ *
+ * Every stock change evicts the products from the inventory cache once the transaction commits.
  */
 @Slf4j
 @Service
@@ -37,35 +53,24 @@ public class InventoryDomainService {
 
     private final InventoryRepository inventoryRepository;
     private final StockReservationRepository reservationRepository;
+    private final InventoryCache inventoryCache;
+    private final Optional<StockLedger> stockLedger;
 
     @Value("${application.reservation.expiry-minutes:15}")
     private Integer reservationExpiryMinutes;
 
     /**
-     * Reserve stock for an order - with retry on optimistic lock failures
-     * 
-     * @Retryable automatically retries if OptimisticLockException occurs
-     * This allows multiple concurrent requests to succeed sequentially
+     * Reserve stock for an order
+     *
+     * @throws IllegalArgumentException if the product is unknown
+     * @throws IllegalStateException if there is not enough stock available
      */
     @Transactional
-    @Retryable(
-            retryFor = {OptimisticLockException.class, ObjectOptimisticLockingFailureException.class},
-            maxAttempts = 5,
-            backoff = @Backoff(delay = 100, multiplier = 2.0, maxDelay = 2000)
-    )
-    @CacheEvict(value = "inventory", key = "#productId")
     public String reserveStock(String orderId, String productId, Integer quantity) {
         log.info("Reserving stock - Order: {}, Product: {}, Qty: {}", orderId, productId, quantity);
 
-        // Find inventory
-        Inventory inventory = inventoryRepository.findByProductId(productId)
-                .orElseThrow(() -> new IllegalArgumentException("Product not found: " + productId));
-
-        // Reserve stock (throws exception if insufficient)
-        inventory.reserveStock(quantity);
-        
-        // Save with optimistic locking
-        inventoryRepository.save(inventory);
+        reserveAvailable(productId, quantity);
+        inventoryCache.evictAfterCommit(List.of(productId));
 
         // Create reservation record
         String reservationId = UUID.randomUUID().toString();
@@ -80,52 +85,50 @@ public class InventoryDomainService {
 
         reservationRepository.save(reservation);
 
-        log.info("Stock reserved successfully - Reservation ID: {}, Version: {}", 
-                reservationId, inventory.getVersion());
+        log.info("Stock reserved successfully - Reservation ID: {}", reservationId);
 
         return reservationId;
     }
 
     /**
      * Reserve multiple products atomically
+     *
+     * Products are handled in product ID order, so concurrent orders for overlapping products
+     * lock their inventory rows in the same order and cannot deadlock. The statements issued do
+     * not grow with the number of lines: one locking read, one UPDATE and one batch of INSERTs.
+     *
+     * @throws IllegalArgumentException if a product is unknown
+     * @throws IllegalStateException if a product does not have enough stock available
      */
     @Transactional
-    @Retryable(
-            retryFor = {OptimisticLockException.class, ObjectOptimisticLockingFailureException.class},
-            maxAttempts = 5,
-            backoff = @Backoff(delay = 100, multiplier = 2.0, maxDelay = 2000)
-    )
     public String reserveMultipleProducts(String orderId, Map<String, Integer> productQuantities) {
         log.info("Reserving multiple products for order: {}", orderId);
 
+        SortedMap<String, Integer> sortedQuantities = new TreeMap<>(productQuantities);
+        if (stockLedger.isPresent()) {
+            sortedQuantities.forEach(stockLedger.get()::reserve);
+        } else {
+            reserveAllAvailable(sortedQuantities);
+        }
+        inventoryCache.evictAfterCommit(sortedQuantities.keySet());
+
         String reservationId = UUID.randomUUID().toString();
         LocalDateTime expiresAt = LocalDateTime.now().plusMinutes(reservationExpiryMinutes);
 
-        for (Map.Entry<String, Integer> entry : productQuantities.entrySet()) {
-            String productId = entry.getKey();
-            Integer quantity = entry.getValue();
-
-            // Find and reserve
-            Inventory inventory = inventoryRepository.findByProductId(productId)
-                    .orElseThrow(() -> new IllegalArgumentException("Product not found: " + productId));
-
-            inventory.reserveStock(quantity);
-            inventoryRepository.save(inventory);
-
-            // Create reservation
-            StockReservation reservation = StockReservation.builder()
-                    .reservationId(reservationId)
-                    .orderId(orderId)
-                    .productId(productId)
-                    .quantity(quantity)
-                    .status(ReservationStatus.ACTIVE)
-                    .expiresAt(expiresAt)
-                    .build();
+        List<StockReservation> reservations = sortedQuantities.entrySet().stream()
+                .map(entry -> StockReservation.builder()
+                        .reservationId(reservationId)
+                        .orderId(orderId)
+                        .productId(entry.getKey())
+                        .quantity(entry.getValue())
+                        .status(ReservationStatus.ACTIVE)
+                        .expiresAt(expiresAt)
+                        .build())
+                .toList();
 
-            reservationRepository.save(reservation);
-        }
+        reservationRepository.saveAll(reservations);
 
-        log.info("Multiple products reserved - Reservation ID: {}", reservationId);
+        log.info("Multiple products reserved - Reservation ID: {}, Products: {}", reservationId, reservations.size());
         return reservationId;
     }
 
@@ -141,14 +144,15 @@ public class InventoryDomainService {
     public void releaseReservation(String reservationId) {
         log.info("Releasing reservation: {}", reservationId);
 
-        List<StockReservation> reservations = reservationRepository.findByReservationId(reservationId)
-                .stream().toList();
+        List<StockReservation> reservations = findReservationLines(reservationId);
 
         if (reservations.isEmpty()) {
             log.warn("Reservation not found: {}", reservationId);
             return;
         }
 
+        Map<String, Inventory> inventories = lockActiveInventories(reservations);
+
         for (StockReservation reservation : reservations) {
             // Skip if already released or committed
             if (reservation.getStatus() != ReservationStatus.ACTIVE) {
@@ -156,11 +160,13 @@ public class InventoryDomainService {
             }
 
             // Release stock
-            Inventory inventory = inventoryRepository.findByProductId(reservation.getProductId())
-                    .orElseThrow(() -> new IllegalStateException("Inventory not found: " + reservation.getProductId()));
-
-            inventory.releaseReservedStock(reservation.getQuantity());
-            inventoryRepository.save(inventory);
+            if (stockLedger.isPresent()) {
+                stockLedger.get().release(reservation.getProductId(), reservation.getQuantity());
+            } else {
+                Inventory inventory = inventories.get(reservation.getProductId());
+                inventory.releaseReservedStock(reservation.getQuantity());
+                inventoryRepository.save(inventory);
+            }
 
             // Mark reservation as released
             reservation.markAsReleased();
@@ -168,6 +174,8 @@ public class InventoryDomainService {
 
             log.info("Stock released - Product: {}, Qty: {}", reservation.getProductId(), reservation.getQuantity());
         }
+
+        inventoryCache.evictAfterCommit(reservations.stream().map(StockReservation::getProductId).toList());
     }
 
     /**
@@ -182,13 +190,14 @@ public class InventoryDomainService {
     public void commitReservation(String reservationId) {
         log.info("Committing reservation: {}", reservationId);
 
-        List<StockReservation> reservations = reservationRepository.findByReservationId(reservationId)
-                .stream().toList();
+        List<StockReservation> reservations = findReservationLines(reservationId);
 
         if (reservations.isEmpty()) {
             throw new IllegalArgumentException("Reservation not found: " + reservationId);
         }
 
+        Map<String, Inventory> inventories = lockActiveInventories(reservations);
+
         for (StockReservation reservation : reservations) {
             if (reservation.getStatus() != ReservationStatus.ACTIVE) {
                 log.warn("Reservation already processed: {}", reservation.getId());
@@ -196,11 +205,13 @@ public class InventoryDomainService {
             }
 
             // Commit stock
-            Inventory inventory = inventoryRepository.findByProductId(reservation.getProductId())
-                    .orElseThrow(() -> new IllegalStateException("Inventory not found: " + reservation.getProductId()));
-
-            inventory.commitReservation(reservation.getQuantity());
-            inventoryRepository.save(inventory);
+            if (stockLedger.isPresent()) {
+                stockLedger.get().commit(reservation.getProductId(), reservation.getQuantity());
+            } else {
+                Inventory inventory = inventories.get(reservation.getProductId());
+                inventory.commitReservation(reservation.getQuantity());
+                inventoryRepository.save(inventory);
+            }
 
             // Mark reservation as committed
             reservation.markAsCommitted();
@@ -208,24 +219,141 @@ public class InventoryDomainService {
 
             log.info("Stock committed - Product: {}, Qty: {}", reservation.getProductId(), reservation.getQuantity());
         }
+
+        inventoryCache.evictAfterCommit(reservations.stream().map(StockReservation::getProductId).toList());
     }
 
     /**
-     * Check stock availability with caching
+     * Check stock availability; unknown products are not available
      */
-    @Transactional(readOnly = true)
-    @Cacheable(value = "inventory", key = "#productId")
     public boolean checkAvailability(String productId, Integer quantity) {
-        return inventoryRepository.hasAvailableStock(productId, quantity);
+        StockLevel stockLevel = getStockLevels(List.of(productId)).get(productId);
+        return stockLevel != null && stockLevel.isAvailable(quantity);
     }
 
     /**
-     * Get inventory by product ID
+     * Get the stock level of a product
+     *
+     * @throws IllegalArgumentException if the product is unknown
      */
-    @Transactional(readOnly = true)
-    @Cacheable(value = "inventory", key = "#productId")
-    public Inventory getInventory(String productId) {
-        return inventoryRepository.findByProductId(productId)
+    public StockLevel getStockLevel(String productId) {
+        StockLevel stockLevel = getStockLevels(List.of(productId)).get(productId);
+        if (stockLevel == null) {
+            throw new IllegalArgumentException("Product not found: " + productId);
+        }
+        return stockLevel;
+    }
+
+    /**
+     * Get the stock levels of several products; unknown products are left out
+     *
+     * Served from the inventory cache, or straight from the stock ledger when it is enabled.
+     */
+    public Map<String, StockLevel> getStockLevels(Collection<String> productIds) {
+        if (stockLedger.isPresent()) {
+            return stockLedger.get().stockLevels(productIds);
+        }
+        return inventoryCache.getAll(productIds, this::loadStockLevels);
+    }
+
+    /**
+     * Take the quantity from the available stock of a product
+     *
+     * Only a failed reservation reads the row, to tell an unknown product from missing stock.
+     */
+    private void reserveAvailable(String productId, Integer quantity) {
+        if (stockLedger.isPresent()) {
+            stockLedger.get().reserve(productId, quantity);
+            return;
+        }
+
+        if (inventoryRepository.reserveIfAvailable(productId, quantity) > 0) {
+            return;
+        }
+
+        Inventory inventory = inventoryRepository.findByProductId(productId)
                 .orElseThrow(() -> new IllegalArgumentException("Product not found: " + productId));
+
+        throw new IllegalStateException(
+                String.format("Insufficient stock for product %s. Available: %d, Requested: %d",
+                        productId, inventory.getAvailableQuantity(), quantity));
+    }
+
+    /**
+     * Take the quantities of several products from their available stock
+     *
+     * The rows are locked in product ID order before anything is changed, so the checks below
+     * hold until the UPDATE.
+     */
+    private void reserveAllAvailable(SortedMap<String, Integer> productQuantities) {
+        Map<String, Inventory> inventories = inventoryRepository.lockByProductIdIn(productQuantities.keySet())
+                .stream()
+                .collect(Collectors.toMap(Inventory::getProductId, Function.identity()));
+
+        productQuantities.forEach((productId, quantity) -> {
+            Inventory inventory = inventories.get(productId);
+            if (inventory == null) {
+                throw new IllegalArgumentException("Product not found: " + productId);
+            }
+            if (!inventory.isStockAvailable(quantity)) {
+                throw new IllegalStateException(
+                        String.format("Insufficient stock for product %s. Available: %d, Requested: %d",
+                                productId, inventory.getAvailableQuantity(), quantity));
+            }
+        });
+
+        int updated = inventoryRepository.reserveAllIfAvailable(
+                productQuantities.keySet().toArray(String[]::new),
+                productQuantities.values().toArray(Integer[]::new));
+        if (updated != productQuantities.size()) {
+            throw new IllegalStateException("Stock changed while reserving products: " + productQuantities.keySet());
+        }
+    }
+
+    private Map<String, StockLevel> loadStockLevels(Collection<String> productIds) {
+        return inventoryRepository.findByProductIdIn(List.copyOf(productIds)).stream()
+                .collect(Collectors.toMap(Inventory::getProductId, StockLevel::of));
+    }
+
+    /**
+     * The product lines of a reservation
+     *
+     * With the stock ledger they are locked: nothing else serializes a release against a commit
+     * or another release of the same reservation, and the ledger must only see one of them.
+     */
+    private List<StockReservation> findReservationLines(String reservationId) {
+        if (stockLedger.isPresent()) {
+            return reservationRepository.lockByReservationId(reservationId);
+        }
+        return reservationRepository.findByReservationIdOrderByProductId(reservationId);
+    }
+
+    /**
+     * Lock the inventory rows of the active lines of a reservation, in product ID order
+     *
+     * Nothing is locked when the stock ledger owns the counters; the reservation rows are locked
+     * instead.
+     */
+    private Map<String, Inventory> lockActiveInventories(List<StockReservation> reservations) {
+        if (stockLedger.isPresent()) {
+            return Map.of();
+        }
+
+        Set<String> productIds = reservations.stream()
+                .filter(reservation -> reservation.getStatus() == ReservationStatus.ACTIVE)
+                .map(StockReservation::getProductId)
+                .collect(Collectors.toCollection(TreeSet::new));
+        if (productIds.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<String, Inventory> inventories = inventoryRepository.lockByProductIdIn(productIds).stream()
+                .collect(Collectors.toMap(Inventory::getProductId, Function.identity()));
+        for (String productId : productIds) {
+            if (!inventories.containsKey(productId)) {
+                throw new IllegalStateException("Inventory not found: " + productId);
+            }
+        }
+        return inventories;
     }
 }
@@ -0,0 +1,232 @@
+package com.monat.ecommerce.inventory.infrastructure.cache;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.monat.ecommerce.inventory.domain.model.StockLevel;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Stock levels cached in a local Caffeine cache (L1) in front of Redis (L2)
+ *
+ * Lookups go L1, then one MGET against Redis, then one bulk load for what is still missing.
+ * Every stock change evicts its products after the transaction commits: locally, in Redis and,
+ * through a Redis pub/sub message, in the L1 of every other replica. An eviction also bumps a
+ * per-product version in Redis, and a loaded level is only written back if the version is still
+ * the one read before loading, so a load that raced with a change cannot put the old level back.
+ * Both TTLs are short since stock moves fast; they bound staleness when an invalidation message
+ * is lost. Unknown products are never cached.
+ */
+@Slf4j
+@Component
+public class InventoryCache implements MessageListener {
+
+    public static final String INVALIDATION_CHANNEL = "inventory:stock:invalidations";
+
+    private static final String KEY_PREFIX = "inventory:stock:";
+    private static final String VERSION_KEY_PREFIX = "inventory:stock-version:";
+
+    /**
+     * KEYS: level, version; ARGV: version read before loading, level, TTL in seconds
+     */
+    private static final byte[] WRITE_IF_UNCHANGED = """
+            if (redis.call('GET', KEYS[2]) or '0') == ARGV[1] then
+                redis.call('SET', KEYS[1], ARGV[2], 'EX', ARGV[3])
+                return 1
+            end
+            return 0
+            """.getBytes(StandardCharsets.UTF_8);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration redisTtl;
+    private final Duration versionTtl;
+    private final Cache<String, StockLevel> localCache;
+
+    public InventoryCache(
+            StringRedisTemplate redisTemplate,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${application.inventory.cache.max-size:100000}") long maxSize,
+            @Value("${application.inventory.cache.local-ttl-ms:2000}") long localTtlMs,
+            @Value("${application.inventory.cache.redis-ttl-seconds:30}") long redisTtlSeconds,
+            @Value("${application.inventory.cache.version-ttl-seconds:3600}") long versionTtlSeconds) {
+
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.redisTtl = Duration.ofSeconds(redisTtlSeconds);
+        this.versionTtl = Duration.ofSeconds(versionTtlSeconds);
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(localTtlMs))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, localCache, "inventory.stock-levels");
+    }
+
+    /**
+     * Stock levels of the given products; products the loader does not return are left out
+     */
+    public Map<String, StockLevel> getAll(
+            Collection<String> productIds,
+            Function<Collection<String>, Map<String, StockLevel>> loader) {
+
+        return localCache.getAll(productIds, keys -> {
+            List<String> missing = List.copyOf(keys);
+            Map<String, String> versions = new HashMap<>();
+            Map<String, StockLevel> found = readRedis(missing, versions);
+            if (found.size() < missing.size()) {
+                List<String> toLoad = missing.stream().filter(id -> !found.containsKey(id)).toList();
+                Map<String, StockLevel> loaded = loader.apply(toLoad);
+                writeRedis(loaded, versions);
+                found.putAll(loaded);
+            }
+            return found;
+        });
+    }
+
+    /**
+     * Evict the products once the current transaction commits, or right away outside one
+     */
+    public void evictAfterCommit(Collection<String> productIds) {
+        if (productIds.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(productIds);
+            return;
+        }
+        List<String> evicted = List.copyOf(productIds);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(evicted);
+            }
+        });
+    }
+
+    /**
+     * Evict the products here, in Redis and in the local cache of the other replicas
+     */
+    public void evict(Collection<String> productIds) {
+        localCache.invalidateAll(productIds);
+        try {
+            // Versions first: a write-back landing between the two steps is then already refused
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (String productId : productIds) {
+                    byte[] versionKey = bytes(versionKey(productId));
+                    connection.stringCommands().incr(versionKey);
+                    connection.keyCommands().expire(versionKey, versionTtl.toSeconds());
+                }
+                return null;
+            });
+            redisTemplate.delete(productIds.stream().map(InventoryCache::key).toList());
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, objectMapper.writeValueAsString(productIds));
+        } catch (Exception e) {
+            log.warn("Failed to evict stock levels from Redis for {}: {}", productIds, e.getMessage());
+        }
+    }
+
+    /**
+     * Invalidation broadcast by a replica, ours included
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            List<String> productIds = objectMapper.readValue(message.getBody(), new TypeReference<>() {
+            });
+            localCache.invalidateAll(productIds);
+        } catch (Exception e) {
+            log.warn("Ignoring malformed stock invalidation message: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Cached levels of the products, collecting the current version of each product along the way
+     */
+    private Map<String, StockLevel> readRedis(List<String> productIds, Map<String, String> versions) {
+        Map<String, StockLevel> found = new HashMap<>();
+        try {
+            List<String> keys = new ArrayList<>(productIds.size() * 2);
+            productIds.forEach(productId -> keys.add(key(productId)));
+            productIds.forEach(productId -> keys.add(versionKey(productId)));
+
+            List<String> values = redisTemplate.opsForValue().multiGet(keys);
+            if (values == null) {
+                return found;
+            }
+            for (int i = 0; i < productIds.size(); i++) {
+                String version = values.get(productIds.size() + i);
+                versions.put(productIds.get(i), version != null ? version : "0");
+                if (values.get(i) != null) {
+                    found.put(productIds.get(i), objectMapper.readValue(values.get(i), StockLevel.class));
+                }
+            }
+        } catch (Exception e) {
+            // Redis is an optimization only; fall back to the loader
+            log.warn("Failed to read stock levels from Redis: {}", e.getMessage());
+        }
+        return found;
+    }
+
+    /**
+     * Write loaded levels back unless their product was evicted since its version was read
+     */
+    private void writeRedis(Map<String, StockLevel> levels, Map<String, String> versions) {
+        List<byte[][]> writes = new ArrayList<>();
+        try {
+            byte[] ttl = bytes(Long.toString(redisTtl.toSeconds()));
+            for (StockLevel level : levels.values()) {
+                String version = versions.get(level.productId());
+                if (version != null) {
+                    writes.add(new byte[][]{
+                            bytes(key(level.productId())), bytes(versionKey(level.productId())),
+                            bytes(version), objectMapper.writeValueAsBytes(level), ttl});
+                }
+            }
+            if (writes.isEmpty()) {
+                return;
+            }
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                writes.forEach(keysAndArgs ->
+                        connection.scriptingCommands().eval(WRITE_IF_UNCHANGED, ReturnType.INTEGER, 2, keysAndArgs));
+                return null;
+            });
+        } catch (Exception e) {
+            log.warn("Failed to write stock levels to Redis: {}", e.getMessage());
+        }
+    }
+
+    private static String key(String productId) {
+        return KEY_PREFIX + productId;
+    }
+
+    private static String versionKey(String productId) {
+        return VERSION_KEY_PREFIX + productId;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -1,36 +1,28 @@
 package com.monat.ecommerce.inventory.infrastructure.config;
 
-import org.springframework.cache.annotation.EnableCaching;
+import com.monat.ecommerce.inventory.infrastructure.cache.InventoryCache;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.data.redis.cache.RedisCacheConfiguration;
-import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
-import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
-import org.springframework.data.redis.serializer.RedisSerializationContext;
-import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.retry.annotation.EnableRetry;
 
-import java.time.Duration;
-
 @Configuration
-@EnableCaching
 @EnableRetry
 public class CacheConfig {
 
+    /**
+     * Subscribes the stock cache to invalidations broadcast by the other replicas
+     */
     @Bean
-    public RedisCacheManager cacheManager(RedisConnectionFactory connectionFactory) {
-        RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(Duration.ofMinutes(60))
-                .serializeKeysWith(
-                        RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer())
-                )
-                .serializeValuesWith(
-                        RedisSerializationContext.SerializationPair.fromSerializer(new GenericJackson2JsonRedisSerializer())
-                );
+    public RedisMessageListenerContainer inventoryCacheListenerContainer(
+            RedisConnectionFactory connectionFactory,
+            InventoryCache inventoryCache) {
 
-        return RedisCacheManager.builder(connectionFactory)
-                .cacheDefaults(config)
-                .build();
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(inventoryCache, new ChannelTopic(InventoryCache.INVALIDATION_CHANNEL));
+        return container;
     }
 }
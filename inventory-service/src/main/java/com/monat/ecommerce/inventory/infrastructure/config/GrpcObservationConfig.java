@@ -0,0 +1,18 @@
+package com.monat.ecommerce.inventory.infrastructure.config;
+
+import io.micrometer.core.instrument.binder.grpc.ObservationGrpcServerInterceptor;
+import io.micrometer.observation.ObservationRegistry;
+import net.devh.boot.grpc.server.interceptor.GrpcGlobalServerInterceptor;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Times incoming gRPC calls and continues the trace propagated by the caller
+ */
+@Configuration
+public class GrpcObservationConfig {
+
+    @GrpcGlobalServerInterceptor
+    public ObservationGrpcServerInterceptor observationGrpcServerInterceptor(ObservationRegistry observationRegistry) {
+        return new ObservationGrpcServerInterceptor(observationRegistry);
+    }
+}
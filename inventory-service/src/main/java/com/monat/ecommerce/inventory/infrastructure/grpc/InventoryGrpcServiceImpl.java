@@ -1,15 +1,20 @@
 package com.monat.ecommerce.inventory.infrastructure.grpc;
 
 import com.monat.ecommerce.grpc.inventory.*;
-import com.monat.ecommerce.inventory.domain.model.Inventory;
+import com.monat.ecommerce.inventory.domain.model.StockLevel;
 import com.monat.ecommerce.inventory.domain.service.InventoryDomainService;
+import com.monat.ecommerce.inventory.infrastructure.ledger.StockLedgerUnavailableException;
 import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.devh.boot.grpc.server.service.GrpcService;
+import org.springframework.beans.factory.annotation.Value;
 
 import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -24,6 +29,12 @@ public class InventoryGrpcServiceImpl extends InventoryServiceGrpc.InventoryServ
 
     private final InventoryDomainService inventoryDomainService;
 
+    @Value("${application.inventory.batch-check.max-products:500}")
+    private Integer batchCheckMaxProducts;
+
+    @Value("${application.inventory.batch-check.stream-chunk-size:200}")
+    private Integer streamCheckChunkSize;
+
     @Override
     public void reserveStock(ReserveStockRequest request, StreamObserver<ReserveStockResponse> responseObserver) {
         log.info("gRPC reserveStock called - Order: {}", request.getOrderId());
@@ -32,10 +43,11 @@ public class InventoryGrpcServiceImpl extends InventoryServiceGrpc.InventoryServ
             // Extract product quantities
             Map<String, Integer> productQuantities = new HashMap<>();
             for (StockItem item : request.getItemsList()) {
-                productQuantities.put(item.getProductId(), item.getQuantity());
+                // Lines for the same product are reserved together
+                productQuantities.merge(item.getProductId(), item.getQuantity(), Integer::sum);
             }
 
-            // Reserve stock (handles optimistic locking internally with retry)
+            // Reserve stock (rows locked in product ID order, one batched UPDATE for all products)
             String reservationId = inventoryDomainService.reserveMultipleProducts(
                     request.getOrderId(),
                     productQuantities);
@@ -74,6 +86,12 @@ public class InventoryGrpcServiceImpl extends InventoryServiceGrpc.InventoryServ
             responseObserver.onNext(response);
             responseObserver.onCompleted();
 
+        } catch (StockLedgerUnavailableException e) {
+            log.warn("Rejecting reserveStock, stock ledger is not owned by this instance");
+            responseObserver.onError(Status.UNAVAILABLE
+                    .withDescription(e.getMessage())
+                    .asRuntimeException());
+
         } catch (Exception e) {
             log.error("Failed to reserve stock", e);
             responseObserver.onError(Status.INTERNAL
@@ -99,6 +117,12 @@ public class InventoryGrpcServiceImpl extends InventoryServiceGrpc.InventoryServ
 
             log.info("Stock release successful");
 
+        } catch (StockLedgerUnavailableException e) {
+            log.warn("Rejecting releaseStock, stock ledger is not owned by this instance");
+            responseObserver.onError(Status.UNAVAILABLE
+                    .withDescription(e.getMessage())
+                    .asRuntimeException());
+
         } catch (Exception e) {
             log.error("Failed to release stock", e);
             responseObserver.onError(Status.INTERNAL
@@ -112,13 +136,13 @@ public class InventoryGrpcServiceImpl extends InventoryServiceGrpc.InventoryServ
         log.debug("gRPC checkStock called - Product: {}", request.getProductId());
 
         try {
-            Inventory inventory = inventoryDomainService.getInventory(request.getProductId());
+            StockLevel stockLevel = inventoryDomainService.getStockLevel(request.getProductId());
 
             CheckStockResponse response = CheckStockResponse.newBuilder()
                     .setProductId(request.getProductId())
-                    .setAvailableQuantity(inventory.getAvailableQuantity())
-                    .setReservedQuantity(inventory.getReservedQuantity())
-                    .setTotalQuantity(inventory.getTotalQuantity())
+                    .setAvailableQuantity(stockLevel.availableQuantity())
+                    .setReservedQuantity(stockLevel.reservedQuantity())
+                    .setTotalQuantity(stockLevel.totalQuantity())
                     .build();
 
             responseObserver.onNext(response);
@@ -130,6 +154,43 @@ public class InventoryGrpcServiceImpl extends InventoryServiceGrpc.InventoryServ
                     .withDescription(e.getMessage())
                     .asRuntimeException());
 
+        } catch (StockLedgerUnavailableException e) {
+            log.warn("Rejecting checkStock, stock ledger is not owned by this instance");
+            responseObserver.onError(Status.UNAVAILABLE
+                    .withDescription(e.getMessage())
+                    .asRuntimeException());
+
+        } catch (Exception e) {
+            log.error("Failed to check stock", e);
+            responseObserver.onError(Status.INTERNAL
+                    .withDescription("Failed to check stock: " + e.getMessage())
+                    .asRuntimeException());
+        }
+    }
+
+    @Override
+    public void batchCheckStock(BatchCheckStockRequest request, StreamObserver<BatchCheckStockResponse> responseObserver) {
+        log.debug("gRPC batchCheckStock called - Products: {}", request.getProductIdsCount());
+
+        List<String> productIds = distinctProductIds(request);
+        if (productIds.size() > batchCheckMaxProducts) {
+            responseObserver.onError(Status.INVALID_ARGUMENT
+                    .withDescription(String.format("At most %d products per call, use StreamCheckStock for %d",
+                            batchCheckMaxProducts, productIds.size()))
+                    .asRuntimeException());
+            return;
+        }
+
+        try {
+            responseObserver.onNext(checkStocks(productIds));
+            responseObserver.onCompleted();
+
+        } catch (StockLedgerUnavailableException e) {
+            log.warn("Rejecting batchCheckStock, stock ledger is not owned by this instance");
+            responseObserver.onError(Status.UNAVAILABLE
+                    .withDescription(e.getMessage())
+                    .asRuntimeException());
+
         } catch (Exception e) {
             log.error("Failed to check stock", e);
             responseObserver.onError(Status.INTERNAL
@@ -138,6 +199,35 @@ public class InventoryGrpcServiceImpl extends InventoryServiceGrpc.InventoryServ
         }
     }
 
+    @Override
+    public void streamCheckStock(BatchCheckStockRequest request, StreamObserver<BatchCheckStockResponse> responseObserver) {
+        log.debug("gRPC streamCheckStock called - Products: {}", request.getProductIdsCount());
+
+        ServerCallStreamObserver<BatchCheckStockResponse> serverObserver =
+                (ServerCallStreamObserver<BatchCheckStockResponse>) responseObserver;
+        List<String> productIds = distinctProductIds(request);
+
+        try {
+            for (int from = 0; from < productIds.size() && !serverObserver.isCancelled(); from += streamCheckChunkSize) {
+                List<String> chunk = productIds.subList(from, Math.min(from + streamCheckChunkSize, productIds.size()));
+                responseObserver.onNext(checkStocks(chunk));
+            }
+            responseObserver.onCompleted();
+
+        } catch (StockLedgerUnavailableException e) {
+            log.warn("Rejecting streamCheckStock, stock ledger is not owned by this instance");
+            responseObserver.onError(Status.UNAVAILABLE
+                    .withDescription(e.getMessage())
+                    .asRuntimeException());
+
+        } catch (Exception e) {
+            log.error("Failed to stream stock", e);
+            responseObserver.onError(Status.INTERNAL
+                    .withDescription("Failed to stream stock: " + e.getMessage())
+                    .asRuntimeException());
+        }
+    }
+
     @Override
     public void commitStock(CommitStockRequest request, StreamObserver<CommitStockResponse> responseObserver) {
         log.info("gRPC commitStock called - Reservation: {}", request.getReservationId());
@@ -155,6 +245,12 @@ public class InventoryGrpcServiceImpl extends InventoryServiceGrpc.InventoryServ
 
             log.info("Stock commit successful");
 
+        } catch (StockLedgerUnavailableException e) {
+            log.warn("Rejecting commitStock, stock ledger is not owned by this instance");
+            responseObserver.onError(Status.UNAVAILABLE
+                    .withDescription(e.getMessage())
+                    .asRuntimeException());
+
         } catch (Exception e) {
             log.error("Failed to commit stock", e);
             responseObserver.onError(Status.INTERNAL
@@ -162,4 +258,30 @@ public class InventoryGrpcServiceImpl extends InventoryServiceGrpc.InventoryServ
                     .asRuntimeException());
         }
     }
+
+    /**
+     * Stock of the given products with one cache lookup, in the given order
+     */
+    private BatchCheckStockResponse checkStocks(List<String> productIds) {
+        Map<String, StockLevel> stockLevels = inventoryDomainService.getStockLevels(productIds);
+
+        BatchCheckStockResponse.Builder response = BatchCheckStockResponse.newBuilder();
+        for (String productId : productIds) {
+            StockLevel stockLevel = stockLevels.get(productId);
+            if (stockLevel == null) {
+                response.addNotFoundProductIds(productId);
+                continue;
+            }
+            response.addStocks(CheckStockResponse.newBuilder()
+                    .setProductId(productId)
+                    .setAvailableQuantity(stockLevel.availableQuantity())
+                    .setReservedQuantity(stockLevel.reservedQuantity())
+                    .setTotalQuantity(stockLevel.totalQuantity()));
+        }
+        return response.build();
+    }
+
+    private static List<String> distinctProductIds(BatchCheckStockRequest request) {
+        return List.copyOf(new LinkedHashSet<>(request.getProductIdsList()));
+    }
 }
@@ -0,0 +1,268 @@
+package com.monat.ecommerce.inventory.infrastructure.ledger;
+
+import com.monat.ecommerce.inventory.domain.model.Inventory;
+import com.monat.ecommerce.inventory.domain.model.StockLedgerEntry;
+import com.monat.ecommerce.inventory.domain.model.StockLevel;
+import com.monat.ecommerce.inventory.domain.repository.InventoryRepository;
+import com.monat.ecommerce.inventory.domain.repository.StockLedgerJournalRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory stock counters for the replica that owns the inventory
+ *
+ * Reservations, releases and commits are checked and applied with CAS on per-product counters,
+ * so buyers of the same product never wait on a row lock. Every change is journaled in the
+ * caller's transaction; the journal is applied to the inventory table in batches (write-behind).
+ * Decreases are applied at once and undone in memory if the transaction rolls back, while stock
+ * released back to the available stock only becomes available once the release has committed.
+ *
+ * Only the leader elected by {@link StockLedgerLeadership} serves from the ledger. On taking
+ * over it drains the journal first, after which the inventory table is exact and products are
+ * loaded from it on first use.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(value = "application.inventory.ledger.enabled", havingValue = "true")
+public class StockLedger {
+
+    private final InventoryRepository inventoryRepository;
+    private final StockLedgerJournalRepository journalRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int flushBatchSize;
+
+    private final Map<String, ProductStock> stocks = new ConcurrentHashMap<>();
+    private final Counter flushedCounter;
+
+    private volatile boolean active;
+
+    public StockLedger(
+            InventoryRepository inventoryRepository,
+            StockLedgerJournalRepository journalRepository,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${application.inventory.ledger.flush-batch-size:5000}") int flushBatchSize) {
+
+        this.inventoryRepository = inventoryRepository;
+        this.journalRepository = journalRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.flushBatchSize = flushBatchSize;
+
+        this.flushedCounter = Counter.builder("inventory.ledger.flushed")
+                .description("Stock ledger journal entries applied to the inventory table")
+                .register(meterRegistry);
+        Gauge.builder("inventory.ledger.leader", this, ledger -> ledger.active ? 1 : 0)
+                .description("Whether this instance owns the stock ledger")
+                .register(meterRegistry);
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    /**
+     * Start serving from memory, after applying what the previous owner journaled
+     */
+    void activate() {
+        stocks.clear();
+        int drained = drainJournal();
+        active = true;
+        log.info("Stock ledger activated, {} journal entries applied on takeover", drained);
+    }
+
+    /**
+     * Stop serving from memory; the journal stays for the next owner
+     */
+    void deactivate() {
+        active = false;
+        stocks.clear();
+        log.info("Stock ledger deactivated");
+    }
+
+    /**
+     * Take the quantity from the available stock of a product
+     *
+     * @throws IllegalArgumentException if the product is unknown
+     * @throws IllegalStateException if there is not enough stock available
+     */
+    public void reserve(String productId, int quantity) {
+        ProductStock stock = stock(productId);
+        if (!ProductStock.take(stock.available, quantity)) {
+            throw new IllegalStateException(
+                    String.format("Insufficient stock for product %s. Available: %d, Requested: %d",
+                            productId, stock.available.get(), quantity));
+        }
+        stock.reserved.addAndGet(quantity);
+        journal(productId, stock, -quantity, quantity, 0);
+    }
+
+    /**
+     * Return reserved stock to the available stock (compensation)
+     *
+     * The reserved stock is taken at once, the available stock grows when the transaction commits.
+     */
+    public void release(String productId, int quantity) {
+        ProductStock stock = stock(productId);
+        if (!ProductStock.take(stock.reserved, quantity)) {
+            throw new IllegalStateException(
+                    String.format("Cannot release more than reserved. Reserved: %d, Requested release: %d",
+                            stock.reserved.get(), quantity));
+        }
+        journal(productId, stock, quantity, -quantity, 0);
+    }
+
+    /**
+     * Remove reserved stock for good (finalize sale)
+     */
+    public void commit(String productId, int quantity) {
+        ProductStock stock = stock(productId);
+        if (!ProductStock.take(stock.reserved, quantity)) {
+            throw new IllegalStateException(
+                    String.format("Cannot commit more than reserved. Reserved: %d, Requested commit: %d",
+                            stock.reserved.get(), quantity));
+        }
+        stock.total.addAndGet(-quantity);
+        journal(productId, stock, 0, -quantity, -quantity);
+    }
+
+    /**
+     * Current stock levels of the given products; unknown products are left out
+     */
+    public Map<String, StockLevel> stockLevels(Collection<String> productIds) {
+        Map<String, StockLevel> levels = new HashMap<>();
+        for (String productId : productIds) {
+            ProductStock stock = findStock(productId);
+            if (stock != null) {
+                levels.put(productId, new StockLevel(
+                        productId, stock.available.get(), stock.reserved.get(), stock.total.get()));
+            }
+        }
+        return levels;
+    }
+
+    /**
+     * Apply the journal to the inventory table
+     */
+    @Scheduled(fixedDelayString = "${application.inventory.ledger.flush-interval-ms:200}")
+    public void flushJournal() {
+        if (!active) {
+            return;
+        }
+        try {
+            drainJournal();
+        } catch (Exception e) {
+            log.error("Stock ledger flush failed", e);
+        }
+    }
+
+    private int drainJournal() {
+        int total = 0;
+        int flushed;
+        do {
+            Integer applied = transactionTemplate.execute(status -> journalRepository.flush(flushBatchSize));
+            flushed = applied != null ? applied : 0;
+            total += flushed;
+        } while (flushed >= flushBatchSize);
+
+        flushedCounter.increment(total);
+        return total;
+    }
+
+    private ProductStock stock(String productId) {
+        ProductStock stock = findStock(productId);
+        if (stock == null) {
+            throw new IllegalArgumentException("Product not found: " + productId);
+        }
+        return stock;
+    }
+
+    private ProductStock findStock(String productId) {
+        if (!active) {
+            throw new StockLedgerUnavailableException();
+        }
+        return stocks.computeIfAbsent(productId, id -> inventoryRepository.findByProductId(id)
+                .map(ProductStock::new)
+                .orElse(null));
+    }
+
+    /**
+     * Write the change to the journal, add returned available stock on commit, and undo the
+     * changes already applied in memory if the transaction rolls back
+     *
+     * The caller has applied every delta except a positive available delta.
+     */
+    private void journal(String productId, ProductStock stock, int availableDelta, int reservedDelta, int totalDelta) {
+        boolean returnsStock = availableDelta > 0;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                if (returnsStock) {
+                    stock.available.addAndGet(availableDelta);
+                }
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                // STATUS_UNKNOWN keeps taken stock and does not return any: memory must never
+                // show more stock than was sold
+                if (status == STATUS_ROLLED_BACK) {
+                    if (!returnsStock) {
+                        stock.available.addAndGet(-availableDelta);
+                    }
+                    stock.reserved.addAndGet(-reservedDelta);
+                    stock.total.addAndGet(-totalDelta);
+                }
+            }
+        });
+
+        journalRepository.save(StockLedgerEntry.builder()
+                .productId(productId)
+                .availableDelta(availableDelta)
+                .reservedDelta(reservedDelta)
+                .totalDelta(totalDelta)
+                .build());
+    }
+
+    private static final class ProductStock {
+
+        private final AtomicInteger available;
+        private final AtomicInteger reserved;
+        private final AtomicInteger total;
+
+        private ProductStock(Inventory inventory) {
+            this.available = new AtomicInteger(inventory.getAvailableQuantity());
+            this.reserved = new AtomicInteger(inventory.getReservedQuantity());
+            this.total = new AtomicInteger(inventory.getTotalQuantity());
+        }
+
+        /**
+         * Subtract the quantity unless the counter would go negative
+         */
+        private static boolean take(AtomicInteger counter, int quantity) {
+            while (true) {
+                int current = counter.get();
+                if (current < quantity) {
+                    return false;
+                }
+                if (counter.compareAndSet(current, current - quantity)) {
+                    return true;
+                }
+            }
+        }
+    }
+}
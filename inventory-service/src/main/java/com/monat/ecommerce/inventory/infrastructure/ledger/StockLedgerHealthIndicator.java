@@ -0,0 +1,26 @@
+package com.monat.ecommerce.inventory.infrastructure.ledger;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports standby replicas as out of service, so that only the ledger owner receives traffic
+ * when the indicator is part of the readiness group
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(value = "application.inventory.ledger.enabled", havingValue = "true")
+public class StockLedgerHealthIndicator implements HealthIndicator {
+
+    private final StockLedger stockLedger;
+
+    @Override
+    public Health health() {
+        return stockLedger.isActive()
+                ? Health.up().withDetail("role", "leader").build()
+                : Health.outOfService().withDetail("role", "standby").build();
+    }
+}
@@ -0,0 +1,136 @@
+package com.monat.ecommerce.inventory.infrastructure.ledger;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Elects the replica that owns the stock ledger with a PostgreSQL advisory lock
+ *
+ * The lock is held on a dedicated connection outside the pool and is released by the database
+ * when that connection drops. The leader checks the connection every heartbeat and deactivates
+ * the ledger as soon as it is lost. A new leader waits out the takeover delay before draining
+ * the journal, so that transactions the previous leader still had in flight are included; the
+ * delay must be longer than the heartbeat interval plus the longest reservation transaction.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(value = "application.inventory.ledger.enabled", havingValue = "true")
+public class StockLedgerLeadership implements SmartLifecycle {
+
+    private final StockLedger stockLedger;
+    private final DataSourceProperties dataSourceProperties;
+    private final long lockKey;
+    private final long heartbeatIntervalMs;
+    private final long takeoverDelayMs;
+
+    private volatile boolean running;
+    private volatile Thread leadershipThread;
+    private volatile Connection connection;
+
+    public StockLedgerLeadership(
+            StockLedger stockLedger,
+            DataSourceProperties dataSourceProperties,
+            @Value("${application.inventory.ledger.lock-key:4210}") long lockKey,
+            @Value("${application.inventory.ledger.heartbeat-interval-ms:1000}") long heartbeatIntervalMs,
+            @Value("${application.inventory.ledger.takeover-delay-ms:5000}") long takeoverDelayMs) {
+        this.stockLedger = stockLedger;
+        this.dataSourceProperties = dataSourceProperties;
+        this.lockKey = lockKey;
+        this.heartbeatIntervalMs = heartbeatIntervalMs;
+        this.takeoverDelayMs = takeoverDelayMs;
+    }
+
+    private void leadershipLoop() {
+        while (running) {
+            try (Connection conn = DriverManager.getConnection(
+                    dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(),
+                    dataSourceProperties.determinePassword())) {
+
+                connection = conn;
+                while (running && !tryLock(conn)) {
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(heartbeatIntervalMs));
+                }
+                if (!running) {
+                    break;
+                }
+
+                log.info("Acquired stock ledger lock, taking over in {} ms", takeoverDelayMs);
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(takeoverDelayMs));
+                if (running && conn.isValid((int) TimeUnit.MILLISECONDS.toSeconds(heartbeatIntervalMs) + 1)) {
+                    stockLedger.activate();
+                }
+
+                while (running && conn.isValid((int) TimeUnit.MILLISECONDS.toSeconds(heartbeatIntervalMs) + 1)) {
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(heartbeatIntervalMs));
+                }
+            } catch (Exception e) {
+                if (running) {
+                    log.warn("Stock ledger lock connection failed: {}", e.getMessage());
+                }
+            } finally {
+                connection = null;
+                if (stockLedger.isActive()) {
+                    stockLedger.deactivate();
+                }
+            }
+
+            if (running) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(heartbeatIntervalMs));
+            }
+        }
+    }
+
+    private boolean tryLock(Connection conn) throws SQLException {
+        try (PreparedStatement statement = conn.prepareStatement("SELECT pg_try_advisory_lock(?)")) {
+            statement.setLong(1, lockKey);
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next() && result.getBoolean(1);
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        leadershipThread = new Thread(this::leadershipLoop, "stock-ledger-leadership");
+        leadershipThread.setDaemon(true);
+        leadershipThread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        stockLedger.deactivate();
+        Connection conn = connection;
+        if (conn != null) {
+            try {
+                // Releases the lock for the next leader
+                conn.close();
+            } catch (SQLException e) {
+                log.debug("Error closing stock ledger lock connection", e);
+            }
+        }
+        Thread thread = leadershipThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -0,0 +1,13 @@
+package com.monat.ecommerce.inventory.infrastructure.ledger;
+
+/**
+ * Thrown when stock is requested from a replica that does not own the stock ledger
+ *
+ * The request can be retried against another replica.
+ */
+public class StockLedgerUnavailableException extends RuntimeException {
+
+    public StockLedgerUnavailableException() {
+        super("Stock ledger is not owned by this instance");
+    }
+}
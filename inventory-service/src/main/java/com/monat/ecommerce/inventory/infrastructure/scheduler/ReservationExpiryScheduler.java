@@ -3,6 +3,7 @@ package com.monat.ecommerce.inventory.infrastructure.scheduler;
 import com.monat.ecommerce.inventory.domain.model.ReservationStatus;
 import com.monat.ecommerce.inventory.domain.service.InventoryDomainService;
 import com.monat.ecommerce.inventory.domain.repository.StockReservationRepository;
+import com.monat.ecommerce.inventory.infrastructure.ledger.StockLedgerUnavailableException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -42,6 +43,9 @@ public class ReservationExpiryScheduler {
                 inventoryDomainService.releaseReservation(reservation.getReservationId());
                 reservation.markAsExpired();
                 reservationRepository.save(reservation);
+            } catch (StockLedgerUnavailableException e) {
+                // Standby replica; the ledger owner expires the reservation
+                log.debug("Skipping expired reservation {}: {}", reservation.getReservationId(), e.getMessage());
             } catch (Exception e) {
                 log.error("Failed to release expired reservation: {}", reservation.getId(), e);
             }
@@ -0,0 +1,10 @@
+-- V2__create_inventory_ledger_journal.sql
+-- Stock changes made by the in-memory stock ledger that are not yet applied to inventory
+CREATE TABLE IF NOT EXISTS inventory_ledger_journal (
+    id UUID PRIMARY KEY,
+    product_id VARCHAR(255) NOT NULL,
+    available_delta INTEGER NOT NULL,
+    reserved_delta INTEGER NOT NULL,
+    total_delta INTEGER NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
@@ -0,0 +1,5 @@
+-- V3__allow_multi_product_reservations.sql
+-- A reservation has one row per product sharing the reservation ID; unique per product instead
+ALTER TABLE stock_reservations DROP CONSTRAINT IF EXISTS stock_reservations_reservation_id_key;
+DROP INDEX IF EXISTS idx_reservation_id;
+CREATE UNIQUE INDEX idx_reservation_product ON stock_reservations(reservation_id, product_id);
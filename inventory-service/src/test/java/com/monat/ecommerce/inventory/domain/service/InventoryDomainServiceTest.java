@@ -0,0 +1,228 @@
+package com.monat.ecommerce.inventory.domain.service;
+
+import com.monat.ecommerce.inventory.domain.model.Inventory;
+import com.monat.ecommerce.inventory.domain.model.ReservationStatus;
+import com.monat.ecommerce.inventory.domain.model.StockReservation;
+import com.monat.ecommerce.inventory.domain.repository.InventoryRepository;
+import com.monat.ecommerce.inventory.domain.repository.StockReservationRepository;
+import com.monat.ecommerce.inventory.infrastructure.cache.InventoryCache;
+import com.monat.ecommerce.inventory.infrastructure.ledger.StockLedger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryDomainServiceTest {
+
+    @Mock
+    private InventoryRepository inventoryRepository;
+
+    @Mock
+    private StockReservationRepository reservationRepository;
+
+    @Mock
+    private InventoryCache inventoryCache;
+
+    private InventoryDomainService inventoryDomainService;
+
+    @BeforeEach
+    void setUp() {
+        inventoryDomainService = new InventoryDomainService(
+                inventoryRepository, reservationRepository, inventoryCache, Optional.empty());
+        ReflectionTestUtils.setField(inventoryDomainService, "reservationExpiryMinutes", 15);
+    }
+
+    @Test
+    void reserveStock_Available_ReservesWithoutReadingTheRow() {
+        // Given
+        when(inventoryRepository.reserveIfAvailable("PROD-001", 3)).thenReturn(1);
+
+        // When
+        String reservationId = inventoryDomainService.reserveStock("ORDER-1", "PROD-001", 3);
+
+        // Then
+        assertThat(reservationId).isNotBlank();
+        verify(inventoryRepository, never()).findByProductId(any());
+        verify(inventoryRepository, never()).save(any());
+        verify(inventoryCache).evictAfterCommit(List.of("PROD-001"));
+        verify(reservationRepository).save(argThat((StockReservation reservation) ->
+                reservation.getReservationId().equals(reservationId)
+                        && reservation.getProductId().equals("PROD-001")
+                        && reservation.getQuantity() == 3
+                        && reservation.getStatus() == ReservationStatus.ACTIVE));
+    }
+
+    @Test
+    void reserveStock_InsufficientStock_ThrowsIllegalState() {
+        // Given
+        when(inventoryRepository.reserveIfAvailable("PROD-001", 3)).thenReturn(0);
+        when(inventoryRepository.findByProductId("PROD-001")).thenReturn(Optional.of(
+                Inventory.builder().productId("PROD-001").availableQuantity(2).build()));
+
+        // When & Then
+        assertThatThrownBy(() -> inventoryDomainService.reserveStock("ORDER-1", "PROD-001", 3))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Available: 2, Requested: 3");
+        verify(reservationRepository, never()).save(any());
+    }
+
+    @Test
+    void reserveStock_UnknownProduct_ThrowsIllegalArgument() {
+        // Given
+        when(inventoryRepository.reserveIfAvailable("PROD-404", 1)).thenReturn(0);
+        when(inventoryRepository.findByProductId("PROD-404")).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> inventoryDomainService.reserveStock("ORDER-1", "PROD-404", 1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("PROD-404");
+    }
+
+    @Test
+    void reserveMultipleProducts_Available_LocksSortedAndUpdatesOnce() {
+        // Given
+        Map<String, Integer> quantities = new LinkedHashMap<>();
+        quantities.put("PROD-003", 3);
+        quantities.put("PROD-001", 1);
+        quantities.put("PROD-002", 2);
+        when(inventoryRepository.lockByProductIdIn(any())).thenReturn(List.of(
+                inventory("PROD-001", 10), inventory("PROD-002", 10), inventory("PROD-003", 10)));
+        when(inventoryRepository.reserveAllIfAvailable(any(), any())).thenReturn(3);
+
+        // When
+        String reservationId = inventoryDomainService.reserveMultipleProducts("ORDER-1", quantities);
+
+        // Then
+        verify(inventoryRepository).lockByProductIdIn(argThat((Collection<String> productIds) ->
+                List.copyOf(productIds).equals(List.of("PROD-001", "PROD-002", "PROD-003"))));
+        verify(inventoryRepository).reserveAllIfAvailable(
+                new String[]{"PROD-001", "PROD-002", "PROD-003"}, new Integer[]{1, 2, 3});
+        verify(inventoryRepository, never()).reserveIfAvailable(any(), any());
+        verify(inventoryCache).evictAfterCommit(argThat((Collection<String> productIds) ->
+                List.copyOf(productIds).equals(List.of("PROD-001", "PROD-002", "PROD-003"))));
+        verify(reservationRepository).saveAll(argThat((Iterable<StockReservation> reservations) -> {
+            List<StockReservation> rows = new ArrayList<>();
+            reservations.forEach(rows::add);
+            return rows.size() == 3
+                    && rows.stream().allMatch(row -> row.getReservationId().equals(reservationId))
+                    && rows.get(0).getProductId().equals("PROD-001");
+        }));
+    }
+
+    @Test
+    void reserveMultipleProducts_OneProductShort_ReservesNothing() {
+        // Given
+        Map<String, Integer> quantities = new LinkedHashMap<>();
+        quantities.put("PROD-001", 1);
+        quantities.put("PROD-002", 5);
+        when(inventoryRepository.lockByProductIdIn(any())).thenReturn(List.of(
+                inventory("PROD-001", 10), inventory("PROD-002", 4)));
+
+        // When & Then
+        assertThatThrownBy(() -> inventoryDomainService.reserveMultipleProducts("ORDER-1", quantities))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("PROD-002. Available: 4, Requested: 5");
+        verify(inventoryRepository, never()).reserveAllIfAvailable(any(), any());
+        verify(reservationRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void reserveMultipleProducts_UnknownProduct_ThrowsIllegalArgument() {
+        // Given
+        when(inventoryRepository.lockByProductIdIn(any())).thenReturn(List.of(inventory("PROD-001", 10)));
+
+        // When & Then
+        assertThatThrownBy(() -> inventoryDomainService.reserveMultipleProducts(
+                "ORDER-1", Map.of("PROD-001", 1, "PROD-404", 1)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("PROD-404");
+    }
+
+    @Test
+    void releaseReservation_LocksActiveProductsInOrderAndReleasesStock() {
+        // Given
+        StockReservation first = reservation("PROD-001", 2, ReservationStatus.ACTIVE);
+        StockReservation released = reservation("PROD-002", 1, ReservationStatus.RELEASED);
+        StockReservation last = reservation("PROD-003", 3, ReservationStatus.ACTIVE);
+        when(reservationRepository.findByReservationIdOrderByProductId("RES-1"))
+                .thenReturn(List.of(first, released, last));
+        Inventory inventory1 = Inventory.builder().productId("PROD-001").availableQuantity(8).reservedQuantity(2).build();
+        Inventory inventory3 = Inventory.builder().productId("PROD-003").availableQuantity(7).reservedQuantity(3).build();
+        when(inventoryRepository.lockByProductIdIn(any())).thenReturn(List.of(inventory1, inventory3));
+
+        // When
+        inventoryDomainService.releaseReservation("RES-1");
+
+        // Then
+        verify(inventoryRepository).lockByProductIdIn(argThat((Collection<String> productIds) ->
+                List.copyOf(productIds).equals(List.of("PROD-001", "PROD-003"))));
+        verify(inventoryRepository, never()).findByProductId(any());
+        assertThat(inventory1.getAvailableQuantity()).isEqualTo(10);
+        assertThat(inventory3.getReservedQuantity()).isZero();
+        assertThat(first.getStatus()).isEqualTo(ReservationStatus.RELEASED);
+        assertThat(last.getStatus()).isEqualTo(ReservationStatus.RELEASED);
+    }
+
+    @Test
+    void releaseReservation_StockLedger_LocksReservationRowsInstead() {
+        // Given
+        StockLedger stockLedger = mock(StockLedger.class);
+        inventoryDomainService = new InventoryDomainService(
+                inventoryRepository, reservationRepository, inventoryCache, Optional.of(stockLedger));
+        StockReservation active = reservation("PROD-001", 2, ReservationStatus.ACTIVE);
+        when(reservationRepository.lockByReservationId("RES-1")).thenReturn(List.of(active));
+
+        // When
+        inventoryDomainService.releaseReservation("RES-1");
+
+        // Then
+        verify(reservationRepository, never()).findByReservationIdOrderByProductId(any());
+        verify(inventoryRepository, never()).lockByProductIdIn(any());
+        verify(stockLedger).release("PROD-001", 2);
+        assertThat(active.getStatus()).isEqualTo(ReservationStatus.RELEASED);
+    }
+
+    @Test
+    void commitReservation_InventoryMissing_ThrowsIllegalState() {
+        // Given
+        when(reservationRepository.findByReservationIdOrderByProductId("RES-1"))
+                .thenReturn(List.of(reservation("PROD-001", 1, ReservationStatus.ACTIVE)));
+        when(inventoryRepository.lockByProductIdIn(any())).thenReturn(List.of());
+
+        // When & Then
+        assertThatThrownBy(() -> inventoryDomainService.commitReservation("RES-1"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("PROD-001");
+        verify(reservationRepository, never()).save(any());
+    }
+
+    private static StockReservation reservation(String productId, int quantity, ReservationStatus status) {
+        return StockReservation.builder()
+                .reservationId("RES-1")
+                .orderId("ORDER-1")
+                .productId(productId)
+                .quantity(quantity)
+                .status(status)
+                .build();
+    }
+
+    private static Inventory inventory(String productId, int available) {
+        return Inventory.builder().productId(productId).availableQuantity(available).build();
+    }
+}
@@ -0,0 +1,223 @@
+package com.monat.ecommerce.inventory.infrastructure.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.monat.ecommerce.inventory.domain.model.StockLevel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisKeyCommands;
+import org.springframework.data.redis.connection.RedisScriptingCommands;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class InventoryCacheTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private InventoryCache inventoryCache;
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private final Function<Collection<String>, Map<String, StockLevel>> loader = productIds -> {
+        loads.incrementAndGet();
+        return Map.of("PROD-001", new StockLevel("PROD-001", 7, 3, 10));
+    };
+
+    @BeforeEach
+    void setUp() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(anyList())).thenAnswer(invocation ->
+                Arrays.asList(new String[invocation.<List<String>>getArgument(0).size()]));
+
+        inventoryCache = newCache();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void getAll_Miss_LoadsOnceAndWritesRedis() {
+        // When
+        Map<String, StockLevel> first = inventoryCache.getAll(List.of("PROD-001", "PROD-404"), loader);
+        Map<String, StockLevel> second = inventoryCache.getAll(List.of("PROD-001"), loader);
+
+        // Then - the unknown product is not cached, the known one is served from L1
+        assertThat(first).containsOnlyKeys("PROD-001");
+        assertThat(second.get("PROD-001").availableQuantity()).isEqualTo(7);
+        assertThat(loads).hasValue(1);
+        verify(redisTemplate).executePipelined(any(RedisCallback.class));
+    }
+
+    @Test
+    void getAll_RedisHit_SkipsLoader() throws Exception {
+        // Given
+        String cached = objectMapper.writeValueAsString(new StockLevel("PROD-001", 5, 0, 5));
+        when(valueOperations.multiGet(List.of("inventory:stock:PROD-001", "inventory:stock-version:PROD-001")))
+                .thenReturn(Arrays.asList(cached, null));
+
+        // When
+        Map<String, StockLevel> levels = inventoryCache.getAll(List.of("PROD-001"), loader);
+
+        // Then
+        assertThat(levels.get("PROD-001").availableQuantity()).isEqualTo(5);
+        assertThat(loads).hasValue(0);
+    }
+
+    @Test
+    void getAll_EvictedByOtherReplicaDuringLoad_DoesNotWriteBackStaleLevel() {
+        // Given - both replicas share one Redis, and the other one commits a change mid-load
+        Map<String, String> redis = fakeRedis();
+        InventoryCache otherReplica = newCache();
+        Function<Collection<String>, Map<String, StockLevel>> racingLoader = productIds -> {
+            Map<String, StockLevel> levels = loader.apply(productIds);
+            otherReplica.evict(List.of("PROD-001"));
+            return levels;
+        };
+
+        // When
+        inventoryCache.getAll(List.of("PROD-001"), racingLoader);
+
+        // Then
+        assertThat(redis)
+                .doesNotContainKey("inventory:stock:PROD-001")
+                .containsEntry("inventory:stock-version:PROD-001", "1");
+    }
+
+    @Test
+    void getAll_NoEvictionDuringLoad_WritesBack() {
+        // Given
+        Map<String, String> redis = fakeRedis();
+        newCache().evict(List.of("PROD-001"));
+
+        // When
+        inventoryCache.getAll(List.of("PROD-001"), loader);
+
+        // Then
+        assertThat(redis).containsKey("inventory:stock:PROD-001");
+    }
+
+    @Test
+    void evictAfterCommit_InTransaction_EvictsOnlyOnCommit() {
+        // Given
+        inventoryCache.getAll(List.of("PROD-001"), loader);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        inventoryCache.evictAfterCommit(List.of("PROD-001"));
+
+        // Then - nothing happens before the commit
+        verify(redisTemplate, never()).delete(anyList());
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCommit();
+        }
+        verify(redisTemplate).delete(List.of("inventory:stock:PROD-001"));
+        verify(redisTemplate).convertAndSend(eq(InventoryCache.INVALIDATION_CHANNEL), eq("[\"PROD-001\"]"));
+
+        inventoryCache.getAll(List.of("PROD-001"), loader);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void onMessage_FromOtherReplica_InvalidatesLocalEntry() {
+        // Given
+        inventoryCache.getAll(List.of("PROD-001"), loader);
+
+        // When
+        inventoryCache.onMessage(new DefaultMessage(
+                InventoryCache.INVALIDATION_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                "[\"PROD-001\"]".getBytes(StandardCharsets.UTF_8)), null);
+        inventoryCache.getAll(List.of("PROD-001"), loader);
+
+        // Then
+        assertThat(loads).hasValue(2);
+        verify(redisTemplate, never()).delete(anyList());
+    }
+    private InventoryCache newCache() {
+        return new InventoryCache(redisTemplate, objectMapper, new SimpleMeterRegistry(), 1000, 60_000, 30, 3600);
+    }
+
+    /**
+     * Backs the mocked template with a map, running the conditional write-back like its script
+     */
+    private Map<String, String> fakeRedis() {
+        Map<String, String> redis = new ConcurrentHashMap<>();
+        RedisConnection connection = mock(RedisConnection.class);
+        RedisStringCommands stringCommands = mock(RedisStringCommands.class);
+        RedisScriptingCommands scriptingCommands = mock(RedisScriptingCommands.class);
+        when(connection.stringCommands()).thenReturn(stringCommands);
+        when(connection.keyCommands()).thenReturn(mock(RedisKeyCommands.class));
+        when(connection.scriptingCommands()).thenReturn(scriptingCommands);
+
+        when(stringCommands.incr(any())).thenAnswer(invocation -> {
+            String key = string(invocation.getArgument(0));
+            long version = Long.parseLong(redis.getOrDefault(key, "0")) + 1;
+            redis.put(key, Long.toString(version));
+            return version;
+        });
+        when(scriptingCommands.eval(any(), eq(ReturnType.INTEGER), eq(2), any(byte[][].class))).thenAnswer(invocation -> {
+            byte[][] keysAndArgs = (byte[][]) invocation.getRawArguments()[3];
+            if (!redis.getOrDefault(string(keysAndArgs[1]), "0").equals(string(keysAndArgs[2]))) {
+                return 0L;
+            }
+            redis.put(string(keysAndArgs[0]), string(keysAndArgs[3]));
+            return 1L;
+        });
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenAnswer(invocation -> {
+            invocation.<RedisCallback<?>>getArgument(0).doInRedis(connection);
+            return List.of();
+        });
+        when(redisTemplate.delete(anyCollection())).thenAnswer(invocation -> {
+            invocation.<Collection<String>>getArgument(0).forEach(redis::remove);
+            return 1L;
+        });
+        when(valueOperations.multiGet(anyList())).thenAnswer(invocation ->
+                invocation.<List<String>>getArgument(0).stream().map(redis::get).collect(Collectors.toList()));
+        return redis;
+    }
+
+    private static String string(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,127 @@
+package com.monat.ecommerce.inventory.infrastructure.grpc;
+
+import com.monat.ecommerce.grpc.inventory.BatchCheckStockRequest;
+import com.monat.ecommerce.grpc.inventory.BatchCheckStockResponse;
+import com.monat.ecommerce.inventory.domain.model.StockLevel;
+import com.monat.ecommerce.inventory.domain.service.InventoryDomainService;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryGrpcServiceImplTest {
+
+    @Mock
+    private InventoryDomainService inventoryDomainService;
+
+    @InjectMocks
+    private InventoryGrpcServiceImpl inventoryGrpcService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(inventoryGrpcService, "batchCheckMaxProducts", 3);
+        ReflectionTestUtils.setField(inventoryGrpcService, "streamCheckChunkSize", 2);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void batchCheckStock_MixedProducts_AnswersInOneLookup() {
+        // Given
+        when(inventoryDomainService.getStockLevels(List.of("PROD-002", "PROD-404", "PROD-001"))).thenReturn(Map.of(
+                "PROD-001", new StockLevel("PROD-001", 5, 1, 6),
+                "PROD-002", new StockLevel("PROD-002", 0, 2, 2)));
+        StreamObserver<BatchCheckStockResponse> observer = mock(StreamObserver.class);
+
+        // When - duplicates are collapsed
+        inventoryGrpcService.batchCheckStock(request("PROD-002", "PROD-404", "PROD-001", "PROD-002"), observer);
+
+        // Then
+        ArgumentCaptor<BatchCheckStockResponse> response = ArgumentCaptor.forClass(BatchCheckStockResponse.class);
+        verify(observer).onNext(response.capture());
+        verify(observer).onCompleted();
+        verify(inventoryDomainService, times(1)).getStockLevels(anyList());
+
+        assertThat(response.getValue().getStocksList())
+                .extracting(stock -> stock.getProductId() + ":" + stock.getAvailableQuantity())
+                .containsExactly("PROD-002:0", "PROD-001:5");
+        assertThat(response.getValue().getNotFoundProductIdsList()).containsExactly("PROD-404");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void batchCheckStock_TooManyProducts_RejectsWithInvalidArgument() {
+        // Given
+        StreamObserver<BatchCheckStockResponse> observer = mock(StreamObserver.class);
+
+        // When
+        inventoryGrpcService.batchCheckStock(request("P1", "P2", "P3", "P4"), observer);
+
+        // Then
+        ArgumentCaptor<Throwable> error = ArgumentCaptor.forClass(Throwable.class);
+        verify(observer).onError(error.capture());
+        assertThat(((StatusRuntimeException) error.getValue()).getStatus().getCode())
+                .isEqualTo(Status.Code.INVALID_ARGUMENT);
+        verifyNoInteractions(inventoryDomainService);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void streamCheckStock_LargeList_SendsOneMessagePerChunk() {
+        // Given
+        when(inventoryDomainService.getStockLevels(anyList())).thenAnswer(invocation -> {
+            List<String> productIds = invocation.getArgument(0);
+            return productIds.stream().collect(Collectors.toMap(
+                    id -> id, id -> new StockLevel(id, 1, 0, 1)));
+        });
+        ServerCallStreamObserver<BatchCheckStockResponse> observer = mock(ServerCallStreamObserver.class);
+
+        // When
+        inventoryGrpcService.streamCheckStock(
+                request(IntStream.range(0, 5).mapToObj(i -> "PROD-" + i).toArray(String[]::new)), observer);
+
+        // Then - chunks of 2, 2 and 1
+        ArgumentCaptor<BatchCheckStockResponse> responses = ArgumentCaptor.forClass(BatchCheckStockResponse.class);
+        verify(observer, times(3)).onNext(responses.capture());
+        verify(observer).onCompleted();
+        assertThat(responses.getAllValues()).extracting(BatchCheckStockResponse::getStocksCount)
+                .containsExactly(2, 2, 1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void streamCheckStock_ClientCancelled_StopsSending() {
+        // Given
+        ServerCallStreamObserver<BatchCheckStockResponse> observer = mock(ServerCallStreamObserver.class);
+        when(observer.isCancelled()).thenReturn(true);
+
+        // When
+        inventoryGrpcService.streamCheckStock(request("PROD-1", "PROD-2", "PROD-3"), observer);
+
+        // Then
+        verify(observer, never()).onNext(any());
+        verifyNoInteractions(inventoryDomainService);
+    }
+
+    private static BatchCheckStockRequest request(String... productIds) {
+        return BatchCheckStockRequest.newBuilder().addAllProductIds(List.of(productIds)).build();
+    }
+}
@@ -0,0 +1,239 @@
+package com.monat.ecommerce.inventory.infrastructure.ledger;
+
+import com.monat.ecommerce.inventory.domain.model.Inventory;
+import com.monat.ecommerce.inventory.domain.model.StockLedgerEntry;
+import com.monat.ecommerce.inventory.domain.model.StockLevel;
+import com.monat.ecommerce.inventory.domain.repository.InventoryRepository;
+import com.monat.ecommerce.inventory.domain.repository.StockLedgerJournalRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class StockLedgerTest {
+
+    @Mock
+    private InventoryRepository inventoryRepository;
+
+    @Mock
+    private StockLedgerJournalRepository journalRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private StockLedger stockLedger;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(journalRepository.flush(anyInt())).thenReturn(0);
+        when(inventoryRepository.findByProductId("PROD-001")).thenReturn(Optional.of(Inventory.builder()
+                .productId("PROD-001")
+                .availableQuantity(10)
+                .reservedQuantity(0)
+                .totalQuantity(10)
+                .build()));
+
+        stockLedger = new StockLedger(inventoryRepository, journalRepository, transactionTemplate,
+                new SimpleMeterRegistry(), 5000);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void reserve_Standby_ThrowsUnavailable() {
+        assertThatThrownBy(() -> stockLedger.reserve("PROD-001", 1))
+                .isInstanceOf(StockLedgerUnavailableException.class);
+        verifyNoInteractions(journalRepository);
+    }
+
+    @Test
+    void reserve_Available_UpdatesCountersAndJournals() {
+        // Given
+        stockLedger.activate();
+
+        // When
+        stockLedger.reserve("PROD-001", 3);
+
+        // Then
+        StockLevel level = level();
+        assertThat(level.availableQuantity()).isEqualTo(7);
+        assertThat(level.reservedQuantity()).isEqualTo(3);
+        verify(journalRepository).save(argThat((StockLedgerEntry entry) ->
+                entry.getAvailableDelta() == -3 && entry.getReservedDelta() == 3 && entry.getTotalDelta() == 0));
+        verify(inventoryRepository, times(1)).findByProductId("PROD-001");
+    }
+
+    @Test
+    void reserve_InsufficientStock_ThrowsAndJournalsNothing() {
+        // Given
+        stockLedger.activate();
+
+        // When & Then
+        assertThatThrownBy(() -> stockLedger.reserve("PROD-001", 11))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Available: 10, Requested: 11");
+        verify(journalRepository, never()).save(any());
+    }
+
+    @Test
+    void reserve_TransactionRolledBack_RestoresCounters() {
+        // Given
+        stockLedger.activate();
+        stockLedger.reserve("PROD-001", 4);
+
+        // When
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        }
+
+        // Then
+        StockLevel level = level();
+        assertThat(level.availableQuantity()).isEqualTo(10);
+        assertThat(level.reservedQuantity()).isZero();
+    }
+
+    @Test
+    void release_ReturnsStockOnlyOnceCommitted() {
+        // Given
+        stockLedger.activate();
+        stockLedger.reserve("PROD-001", 4);
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        // When
+        stockLedger.release("PROD-001", 4);
+
+        // Then
+        assertThat(level().availableQuantity()).isEqualTo(6);
+        assertThat(level().reservedQuantity()).isZero();
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        assertThat(level().availableQuantity()).isEqualTo(10);
+    }
+
+    @Test
+    void release_RolledBackWhileOtherBuyerReserves_NeverOversells() {
+        // Given - the whole stock is reserved
+        stockLedger.activate();
+        stockLedger.reserve("PROD-001", 10);
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        // When - a release that will roll back is in flight while another buyer reserves
+        stockLedger.release("PROD-001", 10);
+        List<TransactionSynchronization> release = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Then
+        assertThatThrownBy(() -> stockLedger.reserve("PROD-001", 1))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Available: 0, Requested: 1");
+        release.forEach(synchronization ->
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        StockLevel level = level();
+        assertThat(level.availableQuantity()).isZero();
+        assertThat(level.reservedQuantity()).isEqualTo(10);
+    }
+
+    @Test
+    void commit_Reserved_RemovesStockForGood() {
+        // Given
+        stockLedger.activate();
+        stockLedger.reserve("PROD-001", 2);
+
+        // When
+        stockLedger.commit("PROD-001", 2);
+
+        // Then
+        StockLevel level = level();
+        assertThat(level.availableQuantity()).isEqualTo(8);
+        assertThat(level.reservedQuantity()).isZero();
+        assertThat(level.totalQuantity()).isEqualTo(8);
+    }
+
+    @Test
+    void reserve_ConcurrentBuyers_NeverOversells() throws Exception {
+        // Given
+        stockLedger.activate();
+        AtomicInteger reserved = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+
+        // When - 16 buyers try 4 units each against a stock of 10
+        List<Future<?>> buyers = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            buyers.add(executor.submit(() -> {
+                TransactionSynchronizationManager.initSynchronization();
+                try {
+                    for (int attempt = 0; attempt < 4; attempt++) {
+                        try {
+                            stockLedger.reserve("PROD-001", 1);
+                            reserved.incrementAndGet();
+                        } catch (IllegalStateException e) {
+                            // sold out
+                        }
+                    }
+                } finally {
+                    TransactionSynchronizationManager.clearSynchronization();
+                }
+            }));
+        }
+        for (Future<?> buyer : buyers) {
+            buyer.get();
+        }
+        executor.shutdown();
+
+        // Then
+        assertThat(reserved.get()).isEqualTo(10);
+        assertThat(level().availableQuantity()).isZero();
+        assertThat(level().reservedQuantity()).isEqualTo(10);
+    }
+
+    /**
+     * Complete the current transaction and start the next one
+     */
+    private void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        for (TransactionSynchronization synchronization : synchronizations) {
+            if (status == TransactionSynchronization.STATUS_COMMITTED) {
+                synchronization.afterCommit();
+            }
+            synchronization.afterCompletion(status);
+        }
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    private StockLevel level() {
+        return stockLedger.stockLevels(List.of("PROD-001")).get("PROD-001");
+    }
+}
@@ -0,0 +1,176 @@
+package com.monat.ecommerce.inventory.integration;
+
+import com.monat.ecommerce.inventory.domain.model.Inventory;
+import com.monat.ecommerce.inventory.domain.model.ReservationStatus;
+import com.monat.ecommerce.inventory.domain.model.StockReservation;
+import com.monat.ecommerce.inventory.domain.repository.InventoryRepository;
+import com.monat.ecommerce.inventory.domain.repository.StockReservationRepository;
+import com.monat.ecommerce.inventory.domain.service.InventoryDomainService;
+import com.monat.ecommerce.inventory.infrastructure.cache.InventoryCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Verifies multi-product reservations against PostgreSQL: the locking read, the UPDATE over
+ * unnest arrays and the release of the locked rows
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(InventoryDomainService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers
+class MultiProductReservationIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(
+            DockerImageName.parse("postgres:16-alpine"))
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @MockBean
+    private InventoryCache inventoryCache;
+
+    @Autowired
+    private InventoryDomainService inventoryDomainService;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private StockReservationRepository reservationRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private String laptop;
+    private String mouse;
+    private String cable;
+
+    @BeforeEach
+    void setUp() {
+        // Fresh products per test, next to the ones seeded by the migrations
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        laptop = "LAPTOP-" + suffix;
+        mouse = "MOUSE-" + suffix;
+        cable = "CABLE-" + suffix;
+        inventoryRepository.saveAll(List.of(stock(laptop, 10), stock(mouse, 5), stock(cable, 1)));
+    }
+
+    @Test
+    void reserveMultipleProducts_AllAvailable_ReservesEveryProduct() {
+        // Given
+        Map<String, Integer> quantities = new LinkedHashMap<>();
+        quantities.put(mouse, 2);
+        quantities.put(laptop, 3);
+
+        // When
+        String reservationId = inventoryDomainService.reserveMultipleProducts("ORDER-1", quantities);
+
+        // Then
+        assertStock(laptop, 7, 3);
+        assertStock(mouse, 3, 2);
+        List<StockReservation> reservations = reservationRepository.findByReservationIdOrderByProductId(reservationId);
+        assertThat(reservations).extracting(StockReservation::getProductId).containsExactly(laptop, mouse);
+        assertThat(reservations).extracting(StockReservation::getQuantity).containsExactly(3, 2);
+    }
+
+    @Test
+    void reserveMultipleProducts_OneProductShort_ReservesNothing() {
+        // Given
+        Map<String, Integer> quantities = new LinkedHashMap<>();
+        quantities.put(laptop, 3);
+        quantities.put(cable, 2);
+
+        // When & Then
+        assertThatThrownBy(() -> inventoryDomainService.reserveMultipleProducts("ORDER-2", quantities))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining(cable);
+        assertStock(laptop, 10, 0);
+        assertStock(cable, 1, 0);
+        assertThat(reservationRepository.findByOrderId("ORDER-2")).isEmpty();
+    }
+
+    @Test
+    void reserveAllIfAvailable_DuplicateProductIds_AddsUpQuantities() {
+        // When
+        int reserved = transactionTemplate.execute(status -> inventoryRepository.reserveAllIfAvailable(
+                new String[]{laptop, mouse, laptop}, new Integer[]{2, 1, 3}));
+
+        // Then
+        assertThat(reserved).isEqualTo(2);
+        assertStock(laptop, 5, 5);
+        assertStock(mouse, 4, 1);
+    }
+
+    @Test
+    void reserveAllIfAvailable_DuplicatesExceedingStock_LeaveProductUnchanged() {
+        // When
+        int reserved = transactionTemplate.execute(status -> inventoryRepository.reserveAllIfAvailable(
+                new String[]{mouse, mouse}, new Integer[]{3, 3}));
+
+        // Then
+        assertThat(reserved).isZero();
+        assertStock(mouse, 5, 0);
+    }
+
+    @Test
+    void releaseReservation_LockedRows_ReturnStock() {
+        // Given
+        String reservationId = inventoryDomainService.reserveMultipleProducts(
+                "ORDER-3", Map.of(laptop, 4, mouse, 5));
+
+        // When
+        inventoryDomainService.releaseReservation(reservationId);
+
+        // Then
+        assertStock(laptop, 10, 0);
+        assertStock(mouse, 5, 0);
+        assertThat(reservationRepository.findByReservationIdOrderByProductId(reservationId))
+                .extracting(StockReservation::getStatus)
+                .containsOnly(ReservationStatus.RELEASED);
+    }
+
+    private void assertStock(String productId, int available, int reserved) {
+        Inventory inventory = inventoryRepository.findByProductId(productId).orElseThrow();
+        assertThat(inventory.getAvailableQuantity()).as("available %s", productId).isEqualTo(available);
+        assertThat(inventory.getReservedQuantity()).as("reserved %s", productId).isEqualTo(reserved);
+    }
+
+    private static Inventory stock(String productId, int quantity) {
+        return Inventory.builder()
+                .productId(productId)
+                .availableQuantity(quantity)
+                .totalQuantity(quantity)
+                .build();
+    }
+}
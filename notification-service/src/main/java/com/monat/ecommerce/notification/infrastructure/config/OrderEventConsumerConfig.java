@@ -0,0 +1,32 @@
+package com.monat.ecommerce.notification.infrastructure.config;
+
+import com.monat.ecommerce.events.BaseEvent;
+import com.monat.ecommerce.notification.infrastructure.messaging.OrderEventDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+
+/**
+ * Listener container for order events, which are published as binary outbox payloads
+ */
+@Configuration
+public class OrderEventConsumerConfig {
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, BaseEvent> orderEventListenerContainerFactory(
+            ConsumerFactory<Object, Object> consumerFactory) {
+
+        ConsumerFactory<String, BaseEvent> orderEventConsumerFactory = new DefaultKafkaConsumerFactory<>(
+                consumerFactory.getConfigurationProperties(),
+                new StringDeserializer(),
+                new ErrorHandlingDeserializer<>(new OrderEventDeserializer()));
+
+        ConcurrentKafkaListenerContainerFactory<String, BaseEvent> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(orderEventConsumerFactory);
+        return factory;
+    }
+}
@@ -21,7 +21,8 @@ public class OrderEventConsumer {
     private final EmailService emailService;
     private final SmsService smsService;
 
-    @KafkaListener(topics = "order.created", groupId = "notification-service-group")
+    @KafkaListener(topics = "order.created", groupId = "notification-service-group",
+            containerFactory = "orderEventListenerContainerFactory")
     public void handleOrderCreated(OrderCreatedEvent event) {
         log.info("Received OrderCreatedEvent: {}", event.getOrderId());
 
@@ -40,7 +41,8 @@ public class OrderEventConsumer {
         }
     }
 
-    @KafkaListener(topics = "order.completed", groupId = "notification-service-group")
+    @KafkaListener(topics = "order.completed", groupId = "notification-service-group",
+            containerFactory = "orderEventListenerContainerFactory")
     public void handleOrderCompleted(OrderCompletedEvent event) {
         log.info("Received OrderCompletedEvent: {}", event.getOrderId());
 
@@ -57,7 +59,8 @@ public class OrderEventConsumer {
         }
     }
 
-    @KafkaListener(topics = "order.cancelled", groupId = "notification-service-group")
+    @KafkaListener(topics = "order.cancelled", groupId = "notification-service-group",
+            containerFactory = "orderEventListenerContainerFactory")
     public void handleOrderCancelled(OrderCancelledEvent event) {
         log.info("Received OrderCancelledEvent: {}", event.getOrderId());
 
@@ -0,0 +1,87 @@
+package com.monat.ecommerce.notification.infrastructure.messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.monat.ecommerce.events.BaseEvent;
+import com.monat.ecommerce.events.codec.OrderEventCodec;
+import com.monat.ecommerce.events.order.OrderCancelledEvent;
+import com.monat.ecommerce.events.order.OrderCompletedEvent;
+import com.monat.ecommerce.events.order.OrderCreatedEvent;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Deserializer for order outbox events
+ *
+ * Payloads are Protobuf-encoded by default; events written before the binary encoding was
+ * introduced carry {@code content-type: application/json} and are still read as JSON.
+ */
+public class OrderEventDeserializer implements Deserializer<BaseEvent> {
+
+    private static final String CONTENT_TYPE_HEADER = "content-type";
+    private static final String EVENT_TYPE_HEADER = "event-type";
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Override
+    public BaseEvent deserialize(String topic, byte[] data) {
+        return deserialize(topic, null, data);
+    }
+
+    @Override
+    public BaseEvent deserialize(String topic, Headers headers, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+
+        String eventType = header(headers, EVENT_TYPE_HEADER);
+        if (eventType == null) {
+            eventType = eventTypeForTopic(topic);
+        }
+
+        String contentType = header(headers, CONTENT_TYPE_HEADER);
+        if (contentType == null || OrderEventCodec.CONTENT_TYPE.equals(contentType)) {
+            try {
+                return OrderEventCodec.decode(eventType, data);
+            } catch (IllegalArgumentException e) {
+                throw new SerializationException("Failed to decode " + eventType + " from topic " + topic, e);
+            }
+        }
+
+        try {
+            return objectMapper.readValue(data, eventClass(eventType));
+        } catch (IOException e) {
+            throw new SerializationException("Failed to read JSON " + eventType + " from topic " + topic, e);
+        }
+    }
+
+    private static String header(Headers headers, String key) {
+        if (headers == null) {
+            return null;
+        }
+        Header header = headers.lastHeader(key);
+        return header != null ? new String(header.value(), StandardCharsets.UTF_8) : null;
+    }
+
+    private static String eventTypeForTopic(String topic) {
+        return switch (topic) {
+            case "order.created" -> OrderEventCodec.ORDER_CREATED;
+            case "order.completed" -> OrderEventCodec.ORDER_COMPLETED;
+            case "order.cancelled" -> OrderEventCodec.ORDER_CANCELLED;
+            default -> throw new SerializationException("No event type for topic " + topic);
+        };
+    }
+
+    private static Class<? extends BaseEvent> eventClass(String eventType) {
+        return switch (eventType) {
+            case OrderEventCodec.ORDER_CREATED -> OrderCreatedEvent.class;
+            case OrderEventCodec.ORDER_COMPLETED -> OrderCompletedEvent.class;
+            case OrderEventCodec.ORDER_CANCELLED -> OrderCancelledEvent.class;
+            default -> throw new SerializationException("Unknown order event type: " + eventType);
+        };
+    }
+}
@@ -0,0 +1,43 @@
+package com.monat.ecommerce.order.application.dto;
+
+import com.monat.ecommerce.common.exception.ValidationException;
+import com.monat.ecommerce.order.domain.model.Order;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in a user's order history: the (created_at, id) of the last order returned
+ *
+ * Sent to clients as an opaque URL-safe token.
+ */
+public record OrderHistoryCursor(LocalDateTime createdAt, UUID id) {
+
+    private static final String SEPARATOR = "|";
+
+    public static OrderHistoryCursor after(Order order) {
+        return new OrderHistoryCursor(order.getCreatedAt(), order.getId());
+    }
+
+    public String encode() {
+        String raw = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws ValidationException if the token was not produced by {@link #encode()}
+     */
+    public static OrderHistoryCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            return new OrderHistoryCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new ValidationException("Invalid order history cursor");
+        }
+    }
+}
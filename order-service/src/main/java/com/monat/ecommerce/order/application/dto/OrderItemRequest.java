@@ -19,12 +19,17 @@ public class OrderItemRequest {
     @NotBlank(message = "Product ID is required")
     private String productId;
 
+    /**
+     * Informational only; the name is taken from the product catalog
+     */
     private String productName;
 
     @NotNull(message = "Quantity is required")
     @Min(value = 1, message = "Quantity must be at least 1")
     private Integer quantity;
 
-    @NotNull(message = "Unit price is required")
+    /**
+     * Informational only; orders are priced from the product catalog
+     */
     private BigDecimal unitPrice;
 }
@@ -19,6 +19,8 @@ public interface OrderMapper {
 
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "order", ignore = true)
+    @Mapping(target = "productName", ignore = true)
+    @Mapping(target = "unitPrice", ignore = true)
     @Mapping(target = "subtotal", ignore = true)
     OrderItem toOrderItem(OrderItemRequest request);
 
@@ -0,0 +1,36 @@
+package com.monat.ecommerce.order.application.dto;
+
+import com.monat.ecommerce.order.domain.model.SagaTransitionEvent;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatusResponse {
+    private UUID orderId;
+    private String status;
+    private String sagaStep;
+    private String sagaStatus;
+    private String failureReason;
+    private boolean terminal;
+    private LocalDateTime updatedAt;
+
+    public static OrderStatusResponse of(SagaTransitionEvent event) {
+        return OrderStatusResponse.builder()
+                .orderId(event.orderId())
+                .status(event.orderStatus().name())
+                .sagaStep(event.step().name())
+                .sagaStatus(event.sagaStatus().name())
+                .failureReason(event.errorMessage())
+                .terminal(event.sagaStatus().isTerminal())
+                .updatedAt(event.occurredAt())
+                .build();
+    }
+}
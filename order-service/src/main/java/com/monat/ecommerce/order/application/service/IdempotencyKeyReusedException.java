@@ -0,0 +1,13 @@
+package com.monat.ecommerce.order.application.service;
+
+import com.monat.ecommerce.common.exception.BusinessException;
+
+/**
+ * Thrown when an Idempotency-Key is sent again with a different request body
+ */
+public class IdempotencyKeyReusedException extends BusinessException {
+
+    public IdempotencyKeyReusedException() {
+        super("Idempotency-Key was already used for a different request", "IDEMPOTENCY_KEY_REUSED", 422);
+    }
+}
@@ -1,69 +1,138 @@
 package com.monat.ecommerce.order.application.service;
 
+import com.monat.ecommerce.common.dto.CursorPagedResponse;
 import com.monat.ecommerce.common.dto.PagedResponse;
 import com.monat.ecommerce.common.exception.ResourceNotFoundException;
 import com.monat.ecommerce.order.application.dto.*;
 import com.monat.ecommerce.order.domain.model.Order;
 import com.monat.ecommerce.order.domain.model.OrderItem;
+import com.monat.ecommerce.order.domain.model.ProductPrice;
 import com.monat.ecommerce.order.domain.repository.OrderRepository;
+import com.monat.ecommerce.order.domain.service.OrderNumberGenerator;
 import com.monat.ecommerce.order.domain.service.OrderSagaOrchestrator;
+import com.monat.ecommerce.order.domain.service.ProductPriceResolver;
+import com.monat.ecommerce.order.infrastructure.saga.SagaExecutor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class OrderApplicationService {
 
+    private static final int MAX_HISTORY_PAGE_SIZE = 100;
+
     private final OrderRepository orderRepository;
     private final OrderMapper orderMapper;
     private final OrderSagaOrchestrator sagaOrchestrator;
+    private final SagaExecutor sagaExecutor;
+    private final OrderNumberGenerator orderNumberGenerator;
+    private final ProductPriceResolver priceResolver;
+    private final OrderStatusProjection statusProjection;
+    private final OrderIdempotencyService idempotencyService;
+    private final TransactionTemplate transactionTemplate;
 
-    @Transactional
     public OrderResponse createOrder(CreateOrderRequest request) {
+        return createOrder(request, null);
+    }
+
+    /**
+     * Create an order; a repeated Idempotency-Key returns the order created by the first request
+     * without placing a new one or running its saga again
+     *
+     * Prices are resolved and the order is built before the transaction opens, so the remote
+     * catalog call holds no connection. The transaction only claims the key and writes the order.
+     */
+    public OrderResponse createOrder(CreateOrderRequest request, String idempotencyKey) {
         log.info("Creating order for user: {}", request.getUserId());
 
-        // Generate order number
-        String orderNumber = generateOrderNumber();
+        String requestHash = null;
+        if (idempotencyKey != null && !idempotencyKey.isBlank()) {
+            requestHash = idempotencyService.fingerprint(request);
+            Optional<UUID> completedOrderId =
+                    idempotencyService.findCompletedOrder(request.getUserId(), idempotencyKey, requestHash);
+            if (completedOrderId.isPresent()) {
+                return getOrderById(completedOrderId.get());
+            }
+        }
+
+        Order order = buildOrder(request);
+
+        String claimedHash = requestHash;
+        return transactionTemplate.execute(status -> persistOrder(request, idempotencyKey, claimedHash, order));
+    }
 
-        // Calculate total amount
-        BigDecimal totalAmount = request.getItems().stream()
-                .map(item -> item.getUnitPrice().multiply(BigDecimal.valueOf(item.getQuantity())))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    /**
+     * Price every line from the catalog; client-supplied prices are not trusted
+     */
+    private Order buildOrder(CreateOrderRequest request) {
+        Set<String> productIds = request.getItems().stream()
+                .map(OrderItemRequest::getProductId)
+                .collect(Collectors.toSet());
+        Map<String, ProductPrice> prices = priceResolver.resolvePrices(productIds);
 
-        // Build order
         Order order = Order.builder()
-                .orderNumber(orderNumber)
+                .orderNumber(orderNumberGenerator.nextOrderNumber())
                 .userId(request.getUserId())
-                .totalAmount(totalAmount)
                 .currency("USD")
                 .shippingAddress(orderMapper.toShippingAddress(request.getShippingAddress()))
                 .build();
 
-        // Add items
         for (OrderItemRequest itemReq : request.getItems()) {
+            ProductPrice price = requireSellable(itemReq.getProductId(), prices, order.getCurrency());
             OrderItem item = orderMapper.toOrderItem(itemReq);
+            item.setProductName(price.name());
+            item.setUnitPrice(price.price());
             item.calculateSubtotal();
             order.addItem(item);
         }
+        order.setTotalAmount(order.calculateTotal());
+        return order;
+    }
 
-        // Save order
-        order = orderRepository.save(order);
-        log.info("Order created with ID: {} and number: {}", order.getId(), order.getOrderNumber());
+    /**
+     * Claim the idempotency key and insert the order with its saga state, in the caller's transaction
+     */
+    private OrderResponse persistOrder(CreateOrderRequest request, String idempotencyKey, String requestHash,
+                                       Order order) {
+        if (requestHash != null) {
+            Optional<UUID> existingOrderId =
+                    idempotencyService.claimOrFindOrder(request.getUserId(), idempotencyKey, requestHash);
+            if (existingOrderId.isPresent()) {
+                return orderMapper.toOrderResponse(orderRepository.findByIdWithItems(existingOrderId.get())
+                        .orElseThrow(() -> new ResourceNotFoundException("Order", existingOrderId.get().toString())));
+            }
+        }
 
-        // Execute Saga asynchronously  
-        Order finalOrder = order;
-        new Thread(() -> sagaOrchestrator.executeOrderSaga(finalOrder)).start();
+        Order saved = orderRepository.save(order);
+        log.info("Order created with ID: {} and number: {}", saved.getId(), saved.getOrderNumber());
 
-        return orderMapper.toOrderResponse(order);
+        if (requestHash != null) {
+            idempotencyService.recordOrder(request.getUserId(), idempotencyKey, requestHash, saved.getId());
+        }
+
+        // Persist the saga state with the order, then execute the Saga asynchronously
+        // once both are committed (rejects with 503 when saturated)
+        sagaOrchestrator.initiateSaga(saved);
+        UUID orderId = saved.getId();
+        sagaExecutor.submit(() -> sagaOrchestrator.executeOrderSaga(orderId));
+
+        return orderMapper.toOrderResponse(saved);
     }
 
     @Transactional(readOnly = true)
@@ -76,6 +145,14 @@ public class OrderApplicationService {
         return orderMapper.toOrderResponse(order);
     }
 
+    /**
+     * Current status of an order for polling clients, served from the status read model
+     */
+    public OrderStatusResponse getOrderStatus(UUID orderId) {
+        return statusProjection.getStatus(orderId)
+                .orElseThrow(() -> new ResourceNotFoundException("Order", orderId.toString()));
+    }
+
     @Transactional(readOnly = true)
     public OrderResponse getOrderByNumber(String orderNumber) {
         log.debug("Fetching order by number: {}", orderNumber);
@@ -103,7 +180,58 @@ public class OrderApplicationService {
                 .build();
     }
 
-    private String generateOrderNumber() {
-        return "ORD-" + System.currentTimeMillis() + "-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    /**
+     * A user's orders newest first, paginated by keyset instead of offset
+     *
+     * Reads one page of ids from the (user_id, created_at, id) index, then loads those orders with
+     * their items in a single query. The total is only counted when asked for.
+     */
+    @Transactional(readOnly = true)
+    public CursorPagedResponse<OrderResponse> getUserOrderHistory(
+            UUID userId, String cursor, int size, boolean includeTotal) {
+        log.debug("Fetching order history for user: {}", userId);
+
+        int pageSize = Math.max(1, Math.min(size, MAX_HISTORY_PAGE_SIZE));
+
+        // One extra row tells whether another page follows
+        List<UUID> ids;
+        if (cursor == null || cursor.isBlank()) {
+            ids = orderRepository.findHistoryIds(userId, pageSize + 1);
+        } else {
+            OrderHistoryCursor position = OrderHistoryCursor.decode(cursor);
+            ids = orderRepository.findHistoryIdsAfter(userId, position.createdAt(), position.id(), pageSize + 1);
+        }
+
+        boolean hasMore = ids.size() > pageSize;
+        List<UUID> pageIds = hasMore ? ids.subList(0, pageSize) : ids;
+
+        List<Order> orders = List.of();
+        if (!pageIds.isEmpty()) {
+            Map<UUID, Order> ordersById = orderRepository.findAllWithItemsByIdIn(pageIds).stream()
+                    .collect(Collectors.toMap(Order::getId, Function.identity()));
+            orders = pageIds.stream().map(ordersById::get).toList();
+        }
+
+        return CursorPagedResponse.<OrderResponse>builder()
+                .content(orderMapper.toOrderResponseList(orders))
+                .size(pageSize)
+                .hasMore(hasMore)
+                .nextCursor(hasMore ? OrderHistoryCursor.after(orders.get(orders.size() - 1)).encode() : null)
+                .totalElements(includeTotal ? orderRepository.countByUserId(userId) : null)
+                .build();
+    }
+
+    private ProductPrice requireSellable(String productId, Map<String, ProductPrice> prices, String currency) {
+        ProductPrice price = prices.get(productId);
+        if (price == null) {
+            throw new ProductUnavailableException(productId, "not found");
+        }
+        if (!price.active() || price.price() == null) {
+            throw new ProductUnavailableException(productId, "not active");
+        }
+        if (price.currency() != null && !price.currency().equals(currency)) {
+            throw new ProductUnavailableException(productId, "priced in " + price.currency());
+        }
+        return price;
     }
 }
@@ -0,0 +1,183 @@
+package com.monat.ecommerce.order.application.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.monat.ecommerce.common.exception.BusinessException;
+import com.monat.ecommerce.common.exception.ValidationException;
+import com.monat.ecommerce.order.application.dto.CreateOrderRequest;
+import com.monat.ecommerce.order.domain.model.OrderIdempotencyKey;
+import com.monat.ecommerce.order.domain.repository.OrderIdempotencyKeyRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Deduplicates order creation by the client's Idempotency-Key, scoped per user
+ *
+ * The key is claimed with an insert in the transaction that creates the order, so a concurrent
+ * retry blocks on the claim until the first request commits and then replays its order; if the
+ * first request fails, its claim rolls back with it. Completed keys are also kept in a local
+ * cache so that retry storms are answered without touching the key table.
+ */
+@Slf4j
+@Component
+public class OrderIdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final OrderIdempotencyKeyRepository repository;
+    private final ObjectMapper objectMapper;
+    private final Cache<OrderIdempotencyKey.Key, OrderIdempotencyKey> cache;
+    private final Duration retention;
+    private final Counter replayedCounter;
+
+    public OrderIdempotencyService(
+            OrderIdempotencyKeyRepository repository,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${application.idempotency.retention-hours:24}") long retentionHours,
+            @Value("${application.idempotency.cache.max-size:10000}") long cacheMaxSize,
+            @Value("${application.idempotency.cache.ttl-seconds:600}") long cacheTtlSeconds) {
+
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.retention = Duration.ofHours(retentionHours);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(cacheTtlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "order.idempotency-keys");
+        this.replayedCounter = Counter.builder("order.idempotency.replayed")
+                .description("Order creation requests answered with the order of an earlier request")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Hash of the request body, to detect a key being reused for a different request
+     */
+    public String fingerprint(CreateOrderRequest request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Cannot fingerprint order request", e);
+        }
+    }
+
+    /**
+     * Find the order an earlier, committed request with the key created, without claiming it
+     *
+     * Lets a retry be replayed before any work is done for a new order. A key that is unused or
+     * still being processed yields empty and is settled by {@link #claimOrFindOrder}.
+     *
+     * @throws IdempotencyKeyReusedException if the earlier request had a different body
+     */
+    public Optional<UUID> findCompletedOrder(UUID userId, String idempotencyKey, String requestHash) {
+        validate(idempotencyKey);
+
+        OrderIdempotencyKey.Key key = new OrderIdempotencyKey.Key(userId, idempotencyKey);
+        OrderIdempotencyKey completed = cache.getIfPresent(key);
+        if (completed == null) {
+            completed = repository.findById(key)
+                    .filter(record -> record.getOrderId() != null)
+                    .orElse(null);
+            if (completed == null) {
+                return Optional.empty();
+            }
+            cache.put(key, completed);
+        }
+        return Optional.of(replay(completed, requestHash));
+    }
+
+    /**
+     * Claim the key for a new order, or find the order an earlier request with the key created
+     *
+     * Must run in the transaction that creates the order.
+     *
+     * @return the earlier order, or empty if the key was claimed and a new order should be created
+     * @throws IdempotencyKeyReusedException if the earlier request had a different body
+     */
+    public Optional<UUID> claimOrFindOrder(UUID userId, String idempotencyKey, String requestHash) {
+        validate(idempotencyKey);
+
+        OrderIdempotencyKey.Key key = new OrderIdempotencyKey.Key(userId, idempotencyKey);
+        OrderIdempotencyKey cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return Optional.of(replay(cached, requestHash));
+        }
+
+        if (repository.insertIfAbsent(userId, idempotencyKey, requestHash, LocalDateTime.now()) == 1) {
+            return Optional.empty();
+        }
+
+        // Taken by an earlier request, which has committed by the time the insert returned
+        OrderIdempotencyKey existing = repository.findById(key)
+                .filter(record -> record.getOrderId() != null)
+                .orElseThrow(() -> new BusinessException(
+                        "A request with this Idempotency-Key is still being processed", "IDEMPOTENCY_KEY_IN_USE", 409));
+        cache.put(key, existing);
+        return Optional.of(replay(existing, requestHash));
+    }
+
+    /**
+     * Link a claimed key to the order it created
+     */
+    public void recordOrder(UUID userId, String idempotencyKey, String requestHash, UUID orderId) {
+        repository.assignOrder(userId, idempotencyKey, orderId);
+
+        OrderIdempotencyKey record = OrderIdempotencyKey.builder()
+                .userId(userId)
+                .idempotencyKey(idempotencyKey)
+                .requestHash(requestHash)
+                .orderId(orderId)
+                .build();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cache.put(new OrderIdempotencyKey.Key(userId, idempotencyKey), record);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${application.idempotency.purge-interval-ms:3600000}",
+               initialDelayString = "${application.idempotency.purge-initial-delay-ms:60000}")
+    public void purgeExpiredKeys() {
+        int deleted = repository.deleteCreatedBefore(LocalDateTime.now().minus(retention));
+        if (deleted > 0) {
+            log.info("Purged {} expired idempotency keys", deleted);
+        }
+    }
+
+    private static void validate(String idempotencyKey) {
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new ValidationException("Idempotency-Key must be at most " + MAX_KEY_LENGTH + " characters");
+        }
+    }
+
+    private UUID replay(OrderIdempotencyKey record, String requestHash) {
+        if (!record.getRequestHash().equals(requestHash)) {
+            throw new IdempotencyKeyReusedException();
+        }
+        replayedCounter.increment();
+        log.info("Replaying order {} for repeated Idempotency-Key", record.getOrderId());
+        return record.getOrderId();
+    }
+}
@@ -0,0 +1,116 @@
+package com.monat.ecommerce.order.application.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.monat.ecommerce.order.application.dto.OrderStatusResponse;
+import com.monat.ecommerce.order.domain.model.OrderSagaState;
+import com.monat.ecommerce.order.domain.model.OrderStatus;
+import com.monat.ecommerce.order.domain.model.SagaStatus;
+import com.monat.ecommerce.order.domain.model.SagaTransitionEvent;
+import com.monat.ecommerce.order.domain.repository.OrderSagaStateRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * In-process read model of order status for status polling
+ *
+ * Entries are written from committed saga transitions, so polls for orders whose saga runs in
+ * this instance never reach the database. Misses (e.g. a saga running on another replica) are
+ * served from the saga state row alone, without loading the order aggregate. In-flight entries
+ * expire quickly because another replica may take over the saga; terminal entries never change
+ * and are kept longer.
+ */
+@Component
+public class OrderStatusProjection {
+
+    private final OrderSagaStateRepository sagaStateRepository;
+    private final Cache<UUID, OrderStatusResponse> cache;
+
+    public OrderStatusProjection(
+            OrderSagaStateRepository sagaStateRepository,
+            MeterRegistry meterRegistry,
+            @Value("${application.order-status.cache.max-size:100000}") long maxSize,
+            @Value("${application.order-status.cache.in-flight-ttl-seconds:30}") long inFlightTtlSeconds,
+            @Value("${application.order-status.cache.terminal-ttl-seconds:3600}") long terminalTtlSeconds) {
+
+        this.sagaStateRepository = sagaStateRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new StatusExpiry(Duration.ofSeconds(inFlightTtlSeconds), Duration.ofSeconds(terminalTtlSeconds)))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "order.status-view");
+    }
+
+    /**
+     * Runs after the transaction that recorded the transition commits, or immediately outside one
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSagaTransition(SagaTransitionEvent event) {
+        cache.put(event.orderId(), OrderStatusResponse.of(event));
+    }
+
+    public Optional<OrderStatusResponse> getStatus(UUID orderId) {
+        OrderStatusResponse cached = cache.getIfPresent(orderId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        // Never replace a view that a transition stored while the row was being read
+        return sagaStateRepository.findByOrderId(orderId)
+                .map(this::fromSagaState)
+                .map(view -> {
+                    OrderStatusResponse current = cache.asMap().putIfAbsent(orderId, view);
+                    return current != null ? current : view;
+                });
+    }
+
+    private OrderStatusResponse fromSagaState(OrderSagaState sagaState) {
+        return OrderStatusResponse.builder()
+                .orderId(sagaState.getOrderId())
+                .status(orderStatusOf(sagaState.getStatus()).name())
+                .sagaStep(sagaState.getCurrentStep().name())
+                .sagaStatus(sagaState.getStatus().name())
+                .failureReason(sagaState.getErrorMessage())
+                .terminal(sagaState.getStatus().isTerminal())
+                .updatedAt(sagaState.getUpdatedAt())
+                .build();
+    }
+
+    /**
+     * The order status the saga writes for each saga status
+     */
+    private static OrderStatus orderStatusOf(SagaStatus sagaStatus) {
+        return switch (sagaStatus) {
+            case COMPLETED -> OrderStatus.COMPLETED;
+            case COMPENSATED, FAILED -> OrderStatus.FAILED;
+            case STARTED, COMPENSATING -> OrderStatus.PENDING;
+        };
+    }
+
+    private record StatusExpiry(Duration inFlightTtl, Duration terminalTtl) implements Expiry<UUID, OrderStatusResponse> {
+
+        @Override
+        public long expireAfterCreate(UUID key, OrderStatusResponse value, long currentTime) {
+            return (value.isTerminal() ? terminalTtl : inFlightTtl).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(UUID key, OrderStatusResponse value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(UUID key, OrderStatusResponse value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.monat.ecommerce.order.application.service;
+
+import com.monat.ecommerce.common.exception.BusinessException;
+
+/**
+ * Thrown when an order line references a product that cannot be sold
+ */
+public class ProductUnavailableException extends BusinessException {
+
+    public ProductUnavailableException(String productId, String reason) {
+        super("Product " + productId + " is not available: " + reason, "PRODUCT_UNAVAILABLE", 422);
+    }
+}
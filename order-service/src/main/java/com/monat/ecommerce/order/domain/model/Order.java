@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -21,7 +22,7 @@ import java.util.UUID;
 @Entity
 @Table(name = "orders", indexes = {
         @Index(name = "idx_order_number", columnList = "order_number"),
-        @Index(name = "idx_user_id", columnList = "user_id"),
+        @Index(name = "idx_orders_user_created", columnList = "user_id, created_at DESC, id DESC"),
         @Index(name = "idx_status", columnList = "status")
 })
 @EntityListeners(AuditingEntityListener.class)
@@ -32,7 +33,7 @@ import java.util.UUID;
 public class Order {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
 
     @Column(name = "order_number", unique = true, nullable = false, length = 50)
@@ -57,6 +58,7 @@ public class Order {
     private ShippingAddress shippingAddress;
 
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @BatchSize(size = 50)
     @Builder.Default
     private List<OrderItem> items = new ArrayList<>();
 
@@ -83,6 +85,17 @@ public class Order {
         item.setOrder(this);
     }
 
+    /**
+     * Sum of the item subtotals
+     */
+    public BigDecimal calculateTotal() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (OrderItem item : items) {
+            total = total.add(item.getSubtotal());
+        }
+        return total;
+    }
+
     public void removeItem(OrderItem item) {
         items.remove(item);
         item.setOrder(null);
@@ -54,6 +54,10 @@ public class OrderSagaState {
     @Builder.Default
     private Integer retryCount = 0;
 
+    @Column(name = "compensation_attempts", nullable = false)
+    @Builder.Default
+    private Integer compensationAttempts = 0;
+
     @CreatedDate
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -89,4 +93,8 @@ public class OrderSagaState {
     public void incrementRetry() {
         this.retryCount++;
     }
+
+    public void incrementCompensationAttempts() {
+        this.compensationAttempts++;
+    }
 }
@@ -16,7 +16,6 @@ import java.util.UUID;
  */
 @Entity
 @Table(name = "outbox_events", indexes = {
-        @Index(name = "idx_processed", columnList = "processed"),
         @Index(name = "idx_created_at", columnList = "created_at")
 })
 @EntityListeners(AuditingEntityListener.class)
@@ -39,8 +38,11 @@ public class OutboxEvent {
     @Column(name = "event_type", nullable = false, length = 100)
     private String eventType;
 
-    @Column(nullable = false, columnDefinition = "TEXT")
-    private String payload;
+    @Column(nullable = false)
+    private byte[] payload;
+
+    @Column(name = "content_type", nullable = false, length = 100)
+    private String contentType;
 
     @Column(nullable = false)
     @Builder.Default
@@ -49,6 +51,12 @@ public class OutboxEvent {
     @Column(name = "processed_at")
     private LocalDateTime processedAt;
 
+    @Column(name = "claim_token")
+    private UUID claimToken;
+
+    @Column(name = "claimed_until")
+    private LocalDateTime claimedUntil;
+
     @CreatedDate
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
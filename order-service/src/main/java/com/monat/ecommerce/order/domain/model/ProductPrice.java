@@ -0,0 +1,9 @@
+package com.monat.ecommerce.order.domain.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Authoritative catalog price of a product at the time it was looked up
+ */
+public record ProductPrice(String productId, String name, BigDecimal price, String currency, boolean active) {
+}
@@ -8,5 +8,12 @@ public enum SagaStatus {
     COMPLETED,
     FAILED,
     COMPENSATING,
-    COMPENSATED
+    COMPENSATED;
+
+    /**
+     * Whether the saga has finished and will not change again
+     */
+    public boolean isTerminal() {
+        return this == COMPLETED || this == COMPENSATED || this == FAILED;
+    }
 }
@@ -0,0 +1,16 @@
+package com.monat.ecommerce.order.domain.model;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * In-process notification that a saga step or status change has been committed
+ */
+public record SagaTransitionEvent(
+        UUID orderId,
+        OrderStatus orderStatus,
+        SagaStep step,
+        SagaStatus sagaStatus,
+        String errorMessage,
+        LocalDateTime occurredAt) {
+}
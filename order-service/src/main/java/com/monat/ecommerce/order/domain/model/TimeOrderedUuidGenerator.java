@@ -0,0 +1,15 @@
+package com.monat.ecommerce.order.domain.model;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+
+/**
+ * Hibernate identifier generator behind {@link TimeOrderedUuid}
+ */
+public class TimeOrderedUuidGenerator implements IdentifierGenerator {
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        return UuidV7.next();
+    }
+}
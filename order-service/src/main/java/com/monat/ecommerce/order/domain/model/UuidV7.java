@@ -0,0 +1,44 @@
+package com.monat.ecommerce.order.domain.model;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-ordered UUIDs (RFC 9562 version 7)
+ *
+ * Layout: 48-bit Unix millisecond timestamp, version, a 12-bit per-millisecond counter in
+ * {@code rand_a}, variant and 62 random bits. The timestamp and counter are advanced together
+ * with a CAS, so values are strictly increasing within a JVM even when the clock steps back;
+ * a counter overflow borrows the next millisecond. Generation is lock-free and allocates only
+ * the UUID itself.
+ */
+public final class UuidV7 {
+
+    private static final long VERSION = 0x7L << 12;
+    private static final long VARIANT = 0x2L << 62;
+    private static final long RANDOM_MASK = (1L << 62) - 1;
+
+    /** Unix milliseconds in the upper bits, 12-bit counter in the lower bits */
+    private static final AtomicLong STATE = new AtomicLong();
+
+    private UuidV7() {
+    }
+
+    public static UUID next() {
+        long now = System.currentTimeMillis() << 12;
+        long state;
+        long next;
+        do {
+            state = STATE.get();
+            next = now > state ? now : state + 1;
+        } while (!STATE.compareAndSet(state, next));
+
+        long timestamp = next >>> 12;
+        long counter = next & 0xFFF;
+
+        long mostSigBits = (timestamp << 16) | VERSION | counter;
+        long leastSigBits = VARIANT | (ThreadLocalRandom.current().nextLong() & RANDOM_MASK);
+        return new UUID(mostSigBits, leastSigBits);
+    }
+}
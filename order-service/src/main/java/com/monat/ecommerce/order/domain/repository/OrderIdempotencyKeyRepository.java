@@ -0,0 +1,36 @@
+package com.monat.ecommerce.order.domain.repository;
+
+import com.monat.ecommerce.order.domain.model.OrderIdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Repository
+public interface OrderIdempotencyKeyRepository extends JpaRepository<OrderIdempotencyKey, OrderIdempotencyKey.Key> {
+
+    /**
+     * Claim a key; blocks while another transaction holds an uncommitted claim on it
+     *
+     * @return 1 if claimed, 0 if the key was already taken
+     */
+    @Modifying
+    @Query(value = "INSERT INTO order_idempotency_keys (user_id, idempotency_key, request_hash, created_at) " +
+                   "VALUES (:userId, :idempotencyKey, :requestHash, :createdAt) ON CONFLICT DO NOTHING",
+           nativeQuery = true)
+    int insertIfAbsent(UUID userId, String idempotencyKey, String requestHash, LocalDateTime createdAt);
+
+    @Modifying
+    @Query("UPDATE OrderIdempotencyKey k SET k.orderId = :orderId " +
+           "WHERE k.userId = :userId AND k.idempotencyKey = :idempotencyKey")
+    int assignOrder(UUID userId, String idempotencyKey, UUID orderId);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM order_idempotency_keys WHERE created_at < :cutoffTime", nativeQuery = true)
+    int deleteCreatedBefore(LocalDateTime cutoffTime);
+}
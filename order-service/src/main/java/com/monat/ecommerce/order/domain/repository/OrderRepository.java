@@ -9,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -20,6 +21,25 @@ public interface OrderRepository extends JpaRepository<Order, UUID> {
 
     Page<Order> findByUserId(UUID userId, Pageable pageable);
 
+    long countByUserId(UUID userId);
+
+    /**
+     * First page of a user's order ids, newest first
+     */
+    @Query(value = "SELECT id FROM orders WHERE user_id = :userId " +
+                   "ORDER BY created_at DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<UUID> findHistoryIds(UUID userId, int limit);
+
+    /**
+     * Page of a user's order ids strictly after the given (created_at, id) position, newest first
+     */
+    @Query(value = "SELECT id FROM orders WHERE user_id = :userId AND (created_at, id) < (:createdAt, :id) " +
+                   "ORDER BY created_at DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<UUID> findHistoryIdsAfter(UUID userId, LocalDateTime createdAt, UUID id, int limit);
+
+    @Query("SELECT o FROM Order o LEFT JOIN FETCH o.items WHERE o.id IN :ids")
+    List<Order> findAllWithItemsByIdIn(Collection<UUID> ids);
+
     Page<Order> findByStatus(OrderStatus status, Pageable pageable);
 
     @Query("SELECT o FROM Order o LEFT JOIN FETCH o.items WHERE o.id = :id")
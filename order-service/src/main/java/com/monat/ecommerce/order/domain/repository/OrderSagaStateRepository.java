@@ -2,7 +2,10 @@ package com.monat.ecommerce.order.domain.repository;
 
 import com.monat.ecommerce.order.domain.model.OrderSagaState;
 import com.monat.ecommerce.order.domain.model.SagaStatus;
+import com.monat.ecommerce.order.domain.model.SagaStep;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -18,4 +21,52 @@ public interface OrderSagaStateRepository extends JpaRepository<OrderSagaState,
     List<OrderSagaState> findByStatus(SagaStatus status);
 
     List<OrderSagaState> findByStatusAndCreatedAtBefore(SagaStatus status, LocalDateTime cutoffTime);
+
+    /**
+     * Lock a batch of in-progress sagas that have not made progress since the cutoff.
+     * Rows already locked by another instance are skipped.
+     */
+    @Query(value = "SELECT * FROM order_saga_state " +
+                   "WHERE status IN ('STARTED', 'COMPENSATING') AND updated_at < :cutoffTime " +
+                   "ORDER BY updated_at LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<OrderSagaState> lockStaleSagas(LocalDateTime cutoffTime, int limit);
+
+    @Query("SELECT MIN(s.updatedAt) FROM OrderSagaState s WHERE s.status IN (" +
+           "com.monat.ecommerce.order.domain.model.SagaStatus.STARTED, " +
+           "com.monat.ecommerce.order.domain.model.SagaStatus.COMPENSATING)")
+    Optional<LocalDateTime> findOldestActiveUpdate();
+
+    /**
+     * Write a saga checkpoint in a single statement, guarded by the version the saga was loaded with
+     *
+     * @return 0 if the saga was changed concurrently, e.g. claimed by the recovery scanner
+     */
+    @Modifying
+    @Query("UPDATE OrderSagaState s SET s.currentStep = :currentStep, s.status = :status, " +
+           "s.reservationId = :reservationId, s.paymentId = :paymentId, s.errorMessage = :errorMessage, " +
+           "s.updatedAt = :updatedAt, s.version = s.version + 1 " +
+           "WHERE s.id = :id AND s.version = :version")
+    int checkpoint(UUID id, long version, SagaStep currentStep, SagaStatus status,
+                   String reservationId, String paymentId, String errorMessage, LocalDateTime updatedAt);
+
+    /**
+     * Write a saga checkpoint together with the order's status and payment fields in a single statement.
+     * The order row is only updated if the saga version check passes.
+     *
+     * @return 0 if the saga was changed concurrently
+     */
+    @Modifying
+    @Query(value = "WITH saga AS (" +
+                   "UPDATE order_saga_state SET current_step = :currentStep, status = :status, " +
+                   "reservation_id = :reservationId, payment_id = :paymentId, error_message = :errorMessage, " +
+                   "updated_at = :updatedAt, version = version + 1 " +
+                   "WHERE id = :id AND version = :version RETURNING order_id) " +
+                   "UPDATE orders SET status = :orderStatus, payment_reference = :paymentReference, " +
+                   "cancellation_reason = :cancellationReason, updated_at = :updatedAt, version = orders.version + 1 " +
+                   "FROM saga WHERE orders.id = saga.order_id",
+           nativeQuery = true)
+    int checkpointWithOrder(UUID id, long version, String currentStep, String status,
+                            String reservationId, String paymentId, String errorMessage, LocalDateTime updatedAt,
+                            String orderStatus, String paymentReference, String cancellationReason);
 }
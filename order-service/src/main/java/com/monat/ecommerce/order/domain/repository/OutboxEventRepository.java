@@ -3,8 +3,13 @@ package com.monat.ecommerce.order.domain.repository;
 import com.monat.ecommerce.order.domain.model.OutboxEvent;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -14,4 +19,49 @@ public interface OutboxEventRepository extends JpaRepository<OutboxEvent, UUID>
     List<OutboxEvent> findByProcessedFalseOrderByCreatedAtAsc(Pageable pageable);
 
     long countByProcessedFalse();
+
+    /**
+     * Lock the oldest unprocessed events that are not under an unexpired claim,
+     * skipping rows locked by another relay
+     */
+    @Query(value = "SELECT * FROM outbox_events WHERE processed = false " +
+                   "AND (claimed_until IS NULL OR claimed_until < :now) " +
+                   "ORDER BY created_at LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<OutboxEvent> lockClaimable(LocalDateTime now, int limit);
+
+    /**
+     * Claim locked events for one relay round until the lease expires
+     */
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.claimToken = :claimToken, e.claimedUntil = :claimedUntil WHERE e.id IN :ids")
+    int claim(Collection<UUID> ids, UUID claimToken, LocalDateTime claimedUntil);
+
+    /**
+     * Acknowledge delivered events that are still held by the given claim
+     */
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.processed = true, e.processedAt = :processedAt, " +
+           "e.claimToken = null, e.claimedUntil = null " +
+           "WHERE e.id IN :ids AND e.claimToken = :claimToken")
+    int markAsProcessed(Collection<UUID> ids, UUID claimToken, LocalDateTime processedAt);
+
+    /**
+     * Give up the claim on events that were not delivered, so the next round retries them
+     */
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.claimToken = null, e.claimedUntil = null " +
+           "WHERE e.id IN :ids AND e.claimToken = :claimToken")
+    int releaseClaim(Collection<UUID> ids, UUID claimToken);
+
+    /**
+     * Delete one chunk of processed events older than the cutoff
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM outbox_events WHERE id IN (" +
+                   "SELECT id FROM outbox_events WHERE processed = true AND processed_at < :cutoffTime " +
+                   "LIMIT :limit FOR UPDATE SKIP LOCKED)",
+           nativeQuery = true)
+    int deleteProcessedBefore(LocalDateTime cutoffTime, int limit);
 }
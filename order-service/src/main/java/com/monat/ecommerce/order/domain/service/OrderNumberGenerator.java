@@ -0,0 +1,9 @@
+package com.monat.ecommerce.order.domain.service;
+
+/**
+ * Source of unique, human-readable order numbers
+ */
+public interface OrderNumberGenerator {
+
+    String nextOrderNumber();
+}
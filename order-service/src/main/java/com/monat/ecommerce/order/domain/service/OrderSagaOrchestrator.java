@@ -1,6 +1,9 @@
 package com.monat.ecommerce.order.domain.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.monat.ecommerce.events.BaseEvent;
+import com.monat.ecommerce.events.codec.OrderEventCodec;
+import com.monat.ecommerce.events.order.OrderCancelledEvent;
+import com.monat.ecommerce.events.order.OrderCompletedEvent;
 import com.monat.ecommerce.grpc.inventory.*;
 import com.monat.ecommerce.grpc.payment.*;
 import com.monat.ecommerce.grpc.user.*;
@@ -8,18 +11,45 @@ import com.monat.ecommerce.order.domain.model.*;
 import com.monat.ecommerce.order.domain.repository.OrderRepository;
 import com.monat.ecommerce.order.domain.repository.OrderSagaStateRepository;
 import com.monat.ecommerce.order.domain.repository.OutboxEventRepository;
-import io.grpc.StatusRuntimeException;
+import com.monat.ecommerce.order.infrastructure.grpc.DependencyUnavailableException;
+import com.monat.ecommerce.order.infrastructure.grpc.InventoryServiceClient;
+import com.monat.ecommerce.order.infrastructure.grpc.PaymentServiceClient;
+import com.monat.ecommerce.order.infrastructure.grpc.UserServiceClient;
+import com.monat.ecommerce.order.infrastructure.saga.SagaExecutor;
+import com.monat.ecommerce.order.infrastructure.saga.SagaInstrumentation;
+import io.micrometer.observation.Observation;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import net.devh.boot.grpc.client.inject.GrpcClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
  * Saga Orchestrator for managing distributed transactions
+ *
+ * The saga is a persisted state machine over {@link OrderSagaState}. Remote calls are
+ * non-blocking and no database connection is held while they are outstanding. Steps apply
+ * their transitions in memory, and pending transitions are written as one checkpoint
+ * statement right before the next remote side effect and when the saga finishes. A saga
+ * can therefore be resumed from {@code currentStep} after a restart without losing anything
+ * compensation depends on. A step rejected by a full bulkhead never reached the service, so
+ * the saga is checkpointed and left to the recovery scanner instead of being compensated.
+ * Executions and steps are timed and traced through {@link SagaInstrumentation}.
  */
 @Slf4j
 @Service
@@ -29,299 +59,516 @@ public class OrderSagaOrchestrator {
     private final OrderRepository orderRepository;
     private final OrderSagaStateRepository sagaStateRepository;
     private final OutboxEventRepository outboxEventRepository;
-    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final SagaExecutor sagaExecutor;
 
-    @GrpcClient("inventory-service")
-    private InventoryServiceGrpc.InventoryServiceBlockingStub inventoryService;
+    private final InventoryServiceClient inventoryClient;
+    private final PaymentServiceClient paymentClient;
+    private final UserServiceClient userClient;
 
-    @GrpcClient("payment-service")
-    private PaymentServiceGrpc.PaymentServiceBlockingStub paymentService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SagaInstrumentation sagaInstrumentation;
 
-    @GrpcClient("user-service")
-    private UserServiceGrpc.UserServiceBlockingStub userService;
+    @Value("${application.saga.parallel-validation:true}")
+    private boolean parallelValidation;
 
-    @Transactional
-    public void executeOrderSaga(Order order) {
-        log.info("Starting Saga for order: {}", order.getId());
+    private final Set<UUID> activeSagas = ConcurrentHashMap.newKeySet();
 
-        // Create Saga state
+    /**
+     * Create the saga state in the caller's transaction, atomically with the order
+     */
+    @Transactional
+    public void initiateSaga(Order order) {
         OrderSagaState sagaState = OrderSagaState.builder()
                 .orderId(order.getId())
                 .currentStep(SagaStep.ORDER_CREATED)
                 .status(SagaStatus.STARTED)
                 .build();
         sagaStateRepository.save(sagaState);
+        publishTransition(order, sagaState);
+    }
 
-        try {
-            // Step 1: Validate User
-            validateUser(order, sagaState);
-
-            // Step 2: Reserve Stock
-            reserveStock(order, sagaState);
+    /**
+     * Run (or resume) the saga for an order from its persisted step
+     */
+    public CompletableFuture<Void> executeOrderSaga(UUID orderId) {
+        if (!activeSagas.add(orderId)) {
+            log.debug("Saga already running for order: {}", orderId);
+            return CompletableFuture.completedFuture(null);
+        }
+        log.info("Starting Saga for order: {}", orderId);
 
-            // Step 3: Process Payment
-            processPayment(order, sagaState);
+        Observation observation = sagaInstrumentation.startSaga(orderId);
+        try {
+            SagaContext ctx = transactionTemplate.execute(status -> new SagaContext(
+                    orderRepository.findByIdWithItems(orderId)
+                            .orElseThrow(() -> new IllegalStateException("Order not found: " + orderId)),
+                    sagaStateRepository.findByOrderId(orderId)
+                            .orElseThrow(() -> new IllegalStateException("Saga state not found for order: " + orderId)),
+                    observation));
+
+            return advance(ctx)
+                    .whenComplete((result, ex) -> {
+                        sagaInstrumentation.stopSaga(observation, ex);
+                        activeSagas.remove(orderId);
+                    });
+        } catch (RuntimeException e) {
+            sagaInstrumentation.stopSaga(observation, e);
+            activeSagas.remove(orderId);
+            throw e;
+        }
+    }
 
-            // Step 4: Complete Order
-            completeOrder(order, sagaState);
+    /**
+     * Whether a saga for the order is currently executing in this instance
+     */
+    public boolean isRunning(UUID orderId) {
+        return activeSagas.contains(orderId);
+    }
 
-        } catch (Exception e) {
-            log.error("Saga failed for order: {}", order.getId(), e);
-            compensateSaga(order, sagaState, e.getMessage());
+    private CompletableFuture<Void> advance(SagaContext ctx) {
+        if (ctx.getSagaState().getStatus() == SagaStatus.COMPENSATING) {
+            return compensateSaga(ctx);
         }
+
+        return runForward(ctx)
+                .exceptionallyCompose(ex -> unwrap(ex) instanceof DependencyUnavailableException unavailable
+                                && unavailable.isBulkheadFull()
+                        ? deferToRecovery(ctx, unavailable)
+                        : startCompensation(ctx, unwrap(ex)));
     }
 
-    private void validateUser(Order order, OrderSagaState sagaState) {
-        log.debug("Validating user: {}", order.getUserId());
+    /**
+     * Execute forward steps until the saga leaves the STARTED status
+     */
+    private CompletableFuture<Void> runForward(SagaContext ctx) {
+        OrderSagaState sagaState = ctx.getSagaState();
+
+        if (sagaState.getStatus() != SagaStatus.STARTED) {
+            return CompletableFuture.completedFuture(null);
+        }
 
+        // Every step after user validation has a remote side effect
         try {
-            ValidateUserRequest request = ValidateUserRequest.newBuilder()
-                    .setUserId(order.getUserId().toString())
-                    .build();
+            checkpoint(ctx);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
 
-            ValidateUserResponse response = userService.validateUser(request);
+        CompletableFuture<Void> step = switch (sagaState.getCurrentStep()) {
+            // Steps 1 & 2: Validate User and Reserve Stock
+            case ORDER_CREATED -> parallelValidation
+                    ? validateUserAndReserveStock(ctx)
+                    : observe(SagaStep.USER_VALIDATED, ctx, () -> validateUser(ctx));
+            case USER_VALIDATED -> observe(SagaStep.STOCK_RESERVED, ctx, () -> reserveStock(ctx));
+            // Step 3: Process Payment
+            case STOCK_RESERVED -> observe(SagaStep.PAYMENT_PROCESSED, ctx, () -> processPayment(ctx));
+            // Step 4: Complete Order
+            case PAYMENT_PROCESSED -> observe(SagaStep.ORDER_COMPLETED, ctx, () -> completeOrder(ctx));
+            default -> CompletableFuture.failedFuture(
+                    new IllegalStateException("Unexpected saga step: " + sagaState.getCurrentStep()));
+        };
 
-            if (!response.getIsValid() || !response.getIsActive()) {
-                throw new RuntimeException("User validation failed: " + response.getMessage());
-            }
+        return step.thenCompose(ignored -> runForward(ctx));
+    }
 
-            sagaState.moveToNextStep(SagaStep.USER_VALIDATED);
-            sagaStateRepository.save(sagaState);
+    private CompletableFuture<Void> validateUser(SagaContext ctx) {
+        Order order = ctx.getOrder();
+        log.debug("Validating user: {}", order.getUserId());
 
-            log.info("User validated successfully for order: {}", order.getId());
+        return userClient.validateUser(buildValidateUserRequest(order))
+                .thenAcceptAsync(response -> {
+                    checkUserValidation(response);
 
-        } catch (StatusRuntimeException e) {
-            throw new RuntimeException("User service unavailable: " + e.getMessage(), e);
-        }
+                    ctx.getSagaState().moveToNextStep(SagaStep.USER_VALIDATED);
+
+                    log.info("User validated successfully for order: {}", order.getId());
+                }, sagaExecutor);
     }
 
-    private void reserveStock(Order order, OrderSagaState sagaState) {
+    private CompletableFuture<Void> reserveStock(SagaContext ctx) {
+        Order order = ctx.getOrder();
         log.debug("Reserving stock for order: {}", order.getId());
 
-        try {
-            List<StockItem> stockItems = order.getItems().stream()
-                    .map(item -> StockItem.newBuilder()
-                            .setProductId(item.getProductId())
-                            .setQuantity(item.getQuantity())
-                            .build())
-                    .collect(Collectors.toList());
-
-            ReserveStockRequest request = ReserveStockRequest.newBuilder()
-                    .setOrderId(order.getId().toString())
-                    .addAllItems(stockItems)
-                    .build();
-
-            ReserveStockResponse response = inventoryService.reserveStock(request);
-
-            if (!response.getSuccess()) {
-                throw new RuntimeException("Stock reservation failed: " + response.getMessage());
-            }
+        return inventoryClient.reserveStock(buildReserveStockRequest(order))
+                .thenAcceptAsync(response -> {
+                    checkStockReservation(response);
 
-            sagaState.setReservationId(response.getReservationId());
-            sagaState.moveToNextStep(SagaStep.STOCK_RESERVED);
-            sagaStateRepository.save(sagaState);
+                    ctx.getSagaState().setReservationId(response.getReservationId());
+                    ctx.getSagaState().moveToNextStep(SagaStep.STOCK_RESERVED);
 
-            log.info("Stock reserved successfully for order: {}", order.getId());
+                    log.info("Stock reserved successfully for order: {}", order.getId());
+                }, sagaExecutor);
+    }
 
-        } catch (StatusRuntimeException e) {
-            throw new RuntimeException("Inventory service unavailable: " + e.getMessage(), e);
-        }
+    /**
+     * Fan out user validation and stock reservation, then join both results.
+     * A reservation that succeeded is recorded even when validation fails, so compensation releases it.
+     * Each call is timed as its own step.
+     */
+    private CompletableFuture<Void> validateUserAndReserveStock(SagaContext ctx) {
+        Order order = ctx.getOrder();
+        log.debug("Validating user {} and reserving stock for order {} in parallel", order.getUserId(), order.getId());
+
+        CompletableFuture<ValidateUserResponse> userFuture = observe(SagaStep.USER_VALIDATED, ctx,
+                () -> userClient.validateUser(buildValidateUserRequest(order)).thenApply(this::checkUserValidation));
+        // A previous attempt may have reserved stock before user validation was deferred
+        CompletableFuture<ReserveStockResponse> stockFuture = ctx.getSagaState().getReservationId() != null
+                ? CompletableFuture.completedFuture(null)
+                : observe(SagaStep.STOCK_RESERVED, ctx, () -> inventoryClient.reserveStock(buildReserveStockRequest(order))
+                        .thenApply(this::checkStockReservation));
+
+        // Wait for both calls regardless of outcome
+        return CompletableFuture.allOf(userFuture, stockFuture)
+                .handle((ignored, ex) -> null)
+                .thenRunAsync(() -> {
+                    OrderSagaState sagaState = ctx.getSagaState();
+
+                    if (!stockFuture.isCompletedExceptionally() && stockFuture.join() != null) {
+                        sagaState.setReservationId(stockFuture.join().getReservationId());
+                    }
+
+                    // A rejection by either service decides the outcome over an unavailable one
+                    throwIfRejected(userFuture);
+                    throwIfRejected(stockFuture);
+
+                    userFuture.join();
+                    sagaState.moveToNextStep(SagaStep.USER_VALIDATED);
+
+                    stockFuture.join();
+                    sagaState.moveToNextStep(SagaStep.STOCK_RESERVED);
+
+                    log.info("User validated and stock reserved for order: {}", order.getId());
+                }, sagaExecutor);
     }
 
-    private void processPayment(Order order, OrderSagaState sagaState) {
+    private CompletableFuture<Void> processPayment(SagaContext ctx) {
+        Order order = ctx.getOrder();
         log.debug("Processing payment for order: {}", order.getId());
 
-        try {
-            ProcessPaymentRequest request = ProcessPaymentRequest.newBuilder()
-                    .setOrderId(order.getId().toString())
-                    .setUserId(order.getUserId().toString())
-                    .setAmount(order.getTotalAmount().doubleValue())
-                    .setCurrency(order.getCurrency())
-                    .setPaymentMethod("CARD")
-                    .setIdempotencyKey(order.getOrderNumber())
-                    .build();
-
-            ProcessPaymentResponse response = paymentService.processPayment(request);
-
-            if (!response.getSuccess()) {
-                throw new RuntimeException("Payment processing failed: " + response.getMessage());
-            }
-
-            sagaState.setPaymentId(response.getPaymentId());
-            sagaState.moveToNextStep(SagaStep.PAYMENT_PROCESSED);
-            sagaStateRepository.save(sagaState);
+        ProcessPaymentRequest request = ProcessPaymentRequest.newBuilder()
+                .setOrderId(order.getId().toString())
+                .setUserId(order.getUserId().toString())
+                .setAmount(order.getTotalAmount().doubleValue())
+                .setCurrency(order.getCurrency())
+                .setPaymentMethod("CARD")
+                .setIdempotencyKey(order.getOrderNumber())
+                .build();
 
-            order.setPaymentReference(response.getPaymentReference());
-            orderRepository.save(order);
+        return paymentClient.processPayment(request)
+                .thenAcceptAsync(response -> {
+                    if (!response.getSuccess()) {
+                        throw new SagaStepRejectedException("payment_declined",
+                                "Payment processing failed: " + response.getMessage());
+                    }
 
-            log.info("Payment processed successfully for order: {}", order.getId());
+                    ctx.getSagaState().setPaymentId(response.getPaymentId());
+                    ctx.getSagaState().moveToNextStep(SagaStep.PAYMENT_PROCESSED);
+                    order.setPaymentReference(response.getPaymentReference());
 
-        } catch (StatusRuntimeException e) {
-            throw new RuntimeException("Payment service unavailable: " + e.getMessage(), e);
-        }
+                    log.info("Payment processed successfully for order: {}", order.getId());
+                }, sagaExecutor);
     }
 
-    private void completeOrder(Order order, OrderSagaState sagaState) {
+    private CompletableFuture<Void> completeOrder(SagaContext ctx) {
+        Order order = ctx.getOrder();
+        OrderSagaState sagaState = ctx.getSagaState();
         log.debug("Completing order: {}", order.getId());
 
         // Commit stock reservation
+        CommitStockRequest request = CommitStockRequest.newBuilder()
+                .setReservationId(sagaState.getReservationId())
+                .setOrderId(order.getId().toString())
+                .build();
+
+        return inventoryClient.commitStock(request)
+                .handle((response, ex) -> {
+                    if (ex != null) {
+                        // Continue as payment is already processed
+                        log.warn("Failed to commit stock, but order is already paid: {}", unwrap(ex).getMessage());
+                    }
+                    return null;
+                })
+                .thenRunAsync(() -> {
+                    // Mark order and saga as completed, and publish OrderCompletedEvent via outbox
+                    order.markAsCompleted();
+                    sagaState.moveToNextStep(SagaStep.ORDER_COMPLETED);
+                    sagaState.markAsCompleted();
+                    checkpoint(ctx, () -> publishOrderCompletedEvent(order));
+                    recordSagaDuration(ctx.getSagaState());
+
+                    log.info("Order completed successfully: {}", order.getId());
+                }, sagaExecutor);
+    }
+
+    /**
+     * Persist the progress of a saga whose next call was rejected by a full bulkhead and leave
+     * it STARTED, so the recovery scanner resumes it once it goes stale
+     */
+    private CompletableFuture<Void> deferToRecovery(SagaContext ctx, DependencyUnavailableException cause) {
+        OrderSagaState sagaState = ctx.getSagaState();
+        log.warn("Deferring saga for order {} at step {}: {}",
+                ctx.getOrder().getId(), sagaState.getCurrentStep(), cause.getMessage());
+        sagaInstrumentation.sagaDeferred(sagaState.getCurrentStep(), cause);
+
         try {
-            CommitStockRequest request = CommitStockRequest.newBuilder()
-                    .setReservationId(sagaState.getReservationId())
-                    .setOrderId(order.getId().toString())
-                    .build();
-
-            inventoryService.commitStock(request);
-        } catch (Exception e) {
-            log.warn("Failed to commit stock, but order is already paid: {}", e.getMessage());
-            // Continue as payment is already processed
+            checkpoint(ctx);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
         }
+        return CompletableFuture.completedFuture(null);
+    }
 
-        // Mark order as completed
-        order.markAsCompleted();
-        orderRepository.save(order);
+    private CompletableFuture<Void> startCompensation(SagaContext ctx, Throwable cause) {
+        log.error("Saga failed for order: {}", ctx.getOrder().getId(), cause);
 
-        // Mark saga as completed
-        sagaState.moveToNextStep(SagaStep.ORDER_COMPLETED);
-        sagaState.markAsCompleted();
-        sagaStateRepository.save(sagaState);
-
-        log.info("Order completed successfully: {}", order.getId());
+        // Written with the first compensating call, or with the final state if there is nothing to undo
+        OrderSagaState sagaState = ctx.getSagaState();
+        sagaInstrumentation.compensationStarted(sagaState.getCurrentStep(), cause);
+        sagaState.markAsCompensating();
+        sagaState.setErrorMessage(cause.getMessage());
 
-        // Publish OrderCompletedEvent via outbox
-        publishOrderCompletedEvent(order);
+        return compensateSaga(ctx);
     }
 
-    private void compensateSaga(Order order, OrderSagaState sagaState, String errorMessage) {
+    private CompletableFuture<Void> compensateSaga(SagaContext ctx) {
+        Order order = ctx.getOrder();
+        OrderSagaState sagaState = ctx.getSagaState();
         log.warn("Starting compensation for order: {}", order.getId());
 
-        sagaState.markAsCompensating();
-        sagaState.setErrorMessage(errorMessage);
-        sagaStateRepository.save(sagaState);
-
-        // Release stock if it was reserved
-        if (sagaState.getReservationId() != null) {
-            releaseStock(order, sagaState);
+        // Release stock if it was reserved, then refund payment if it was processed;
+        // steps already recorded by a previous attempt are skipped on resume
+        CompletableFuture<Void> compensation = CompletableFuture.completedFuture(null);
+        if (sagaState.getReservationId() != null
+                && sagaState.getCurrentStep() != SagaStep.STOCK_RELEASED
+                && sagaState.getCurrentStep() != SagaStep.PAYMENT_REFUNDED) {
+            compensation = compensation.thenCompose(ignored -> releaseStock(ctx));
         }
-
-        // Refund payment if it was processed
-        if (sagaState.getPaymentId() != null) {
-            refundPayment(order, sagaState);
+        if (sagaState.getPaymentId() != null && sagaState.getCurrentStep() != SagaStep.PAYMENT_REFUNDED) {
+            compensation = compensation.thenCompose(ignored -> refundPayment(ctx));
         }
 
-        // Mark order as failed
-        order.markAsFailed(errorMessage);
-        orderRepository.save(order);
-
-        // Mark saga as compensated
-        sagaState.moveToNextStep(SagaStep.COMPENSATION_COMPLETED);
-        sagaState.markAsCompensated();
-        sagaStateRepository.save(sagaState);
+        return compensation.thenRunAsync(() -> {
+            String errorMessage = sagaState.getErrorMessage();
 
-        log.info("Compensation completed for order: {}", order.getId());
+            // Mark order as failed and saga as compensated, and publish OrderCancelledEvent
+            order.markAsFailed(errorMessage);
+            sagaState.moveToNextStep(SagaStep.COMPENSATION_COMPLETED);
+            sagaState.markAsCompensated();
+            checkpoint(ctx, () -> publishOrderCancelledEvent(order, errorMessage));
+            recordSagaDuration(ctx.getSagaState());
 
-        // Publish OrderCancelledEvent
-        publishOrderCancelledEvent(order, errorMessage);
+            log.info("Compensation completed for order: {}", order.getId());
+        }, sagaExecutor);
     }
 
-    private void releaseStock(Order order, OrderSagaState sagaState) {
+    private CompletableFuture<Void> releaseStock(SagaContext ctx) {
+        Order order = ctx.getOrder();
+        OrderSagaState sagaState = ctx.getSagaState();
         log.debug("Releasing stock for order: {}", order.getId());
+        checkpoint(ctx);
 
-        try {
-            ReleaseStockRequest request = ReleaseStockRequest.newBuilder()
-                    .setReservationId(sagaState.getReservationId())
-                    .setOrderId(order.getId().toString())
-                    .setReason("Order failed: " + sagaState.getErrorMessage())
-                    .build();
+        ReleaseStockRequest request = ReleaseStockRequest.newBuilder()
+                .setReservationId(sagaState.getReservationId())
+                .setOrderId(order.getId().toString())
+                .setReason("Order failed: " + sagaState.getErrorMessage())
+                .build();
 
-            inventoryService.releaseStock(request);
+        return observe(SagaStep.STOCK_RELEASED, ctx, () -> inventoryClient.releaseStock(request)
+                .thenAcceptAsync(response -> {
+                    sagaState.moveToNextStep(SagaStep.STOCK_RELEASED);
+
+                    log.info("Stock released for order: {}", order.getId());
+                }, sagaExecutor))
+                .exceptionally(ex -> {
+                    // Log but don't fail compensation
+                    log.error("Failed to release stock for order: {}", order.getId(), unwrap(ex));
+                    return null;
+                });
+    }
 
-            sagaState.moveToNextStep(SagaStep.STOCK_RELEASED);
-            sagaStateRepository.save(sagaState);
+    private CompletableFuture<Void> refundPayment(SagaContext ctx) {
+        Order order = ctx.getOrder();
+        OrderSagaState sagaState = ctx.getSagaState();
+        log.debug("Refunding payment for order: {}", order.getId());
+        checkpoint(ctx);
 
-            log.info("Stock released for order: {}", order.getId());
+        RefundPaymentRequest request = RefundPaymentRequest.newBuilder()
+                .setPaymentId(sagaState.getPaymentId())
+                .setOrderId(order.getId().toString())
+                .setAmount(order.getTotalAmount().doubleValue())
+                .setReason("Order cancellation: " + sagaState.getErrorMessage())
+                .build();
 
-        } catch (Exception e) {
-            log.error("Failed to release stock for order: {}", order.getId(), e);
-            // Log but don't fail compensation
+        return observe(SagaStep.PAYMENT_REFUNDED, ctx, () -> paymentClient.refundPayment(request)
+                .thenAcceptAsync(response -> {
+                    sagaState.moveToNextStep(SagaStep.PAYMENT_REFUNDED);
+
+                    log.info("Payment refunded for order: {}", order.getId());
+                }, sagaExecutor))
+                .exceptionally(ex -> {
+                    // Log but don't fail compensation
+                    log.error("Failed to refund payment for order: {}", order.getId(), unwrap(ex));
+                    return null;
+                });
+    }
+
+    /**
+     * Write the transitions made since the last checkpoint, if any
+     */
+    private void checkpoint(SagaContext ctx) {
+        if (ctx.hasPendingChanges()) {
+            checkpoint(ctx, () -> { });
         }
     }
 
-    private void refundPayment(Order order, OrderSagaState sagaState) {
-        log.debug("Refunding payment for order: {}", order.getId());
+    /**
+     * Write the saga state, and the order row if it changed, as one statement in a short
+     * transaction together with the given side effects
+     *
+     * @throws ObjectOptimisticLockingFailureException if the saga was changed concurrently
+     */
+    private void checkpoint(SagaContext ctx, Runnable sideEffects) {
+        Order order = ctx.getOrder();
+        OrderSagaState sagaState = ctx.getSagaState();
+        boolean includeOrder = ctx.hasPendingOrderChanges();
+        LocalDateTime now = LocalDateTime.now();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            sideEffects.run();
+
+            int updated = includeOrder
+                    ? sagaStateRepository.checkpointWithOrder(sagaState.getId(), sagaState.getVersion(),
+                            sagaState.getCurrentStep().name(), sagaState.getStatus().name(),
+                            sagaState.getReservationId(), sagaState.getPaymentId(), sagaState.getErrorMessage(), now,
+                            order.getStatus().name(), order.getPaymentReference(), order.getCancellationReason())
+                    : sagaStateRepository.checkpoint(sagaState.getId(), sagaState.getVersion(),
+                            sagaState.getCurrentStep(), sagaState.getStatus(),
+                            sagaState.getReservationId(), sagaState.getPaymentId(), sagaState.getErrorMessage(), now);
+            if (updated == 0) {
+                throw new ObjectOptimisticLockingFailureException(OrderSagaState.class, sagaState.getId());
+            }
+        });
 
-        try {
-            RefundPaymentRequest request = RefundPaymentRequest.newBuilder()
-                    .setPaymentId(sagaState.getPaymentId())
-                    .setOrderId(order.getId().toString())
-                    .setAmount(order.getTotalAmount().doubleValue())
-                    .setReason("Order cancellation: " + sagaState.getErrorMessage())
-                    .build();
+        sagaState.setVersion(sagaState.getVersion() + 1);
+        sagaState.setUpdatedAt(now);
+        ctx.markCheckpointed();
+        publishTransition(order, sagaState);
+    }
+
+    private <T> CompletableFuture<T> observe(SagaStep step, SagaContext ctx, Supplier<CompletableFuture<T>> action) {
+        return sagaInstrumentation.observeStep(step, ctx.getObservation(), action);
+    }
+
+    /**
+     * Record the end-to-end duration of a saga that has just reached a terminal state
+     */
+    private void recordSagaDuration(OrderSagaState sagaState) {
+        if (sagaState.getCreatedAt() != null) {
+            sagaInstrumentation.sagaFinished(sagaState.getStatus().name().toLowerCase(),
+                    Duration.between(sagaState.getCreatedAt(), LocalDateTime.now()));
+        }
+    }
+
+    /**
+     * Announce a committed transition to in-process read models; listeners must not block
+     */
+    private void publishTransition(Order order, OrderSagaState sagaState) {
+        eventPublisher.publishEvent(new SagaTransitionEvent(
+                order.getId(),
+                order.getStatus(),
+                sagaState.getCurrentStep(),
+                sagaState.getStatus(),
+                sagaState.getErrorMessage(),
+                LocalDateTime.now()));
+    }
+
+    private ValidateUserRequest buildValidateUserRequest(Order order) {
+        return ValidateUserRequest.newBuilder()
+                .setUserId(order.getUserId().toString())
+                .build();
+    }
 
-            paymentService.refundPayment(request);
+    private ReserveStockRequest buildReserveStockRequest(Order order) {
+        List<StockItem> stockItems = order.getItems().stream()
+                .map(item -> StockItem.newBuilder()
+                        .setProductId(item.getProductId())
+                        .setQuantity(item.getQuantity())
+                        .build())
+                .collect(Collectors.toList());
+
+        return ReserveStockRequest.newBuilder()
+                .setOrderId(order.getId().toString())
+                .addAllItems(stockItems)
+                .build();
+    }
 
-            sagaState.moveToNextStep(SagaStep.PAYMENT_REFUNDED);
-            sagaStateRepository.save(sagaState);
+    private ValidateUserResponse checkUserValidation(ValidateUserResponse response) {
+        if (!response.getIsValid() || !response.getIsActive()) {
+            throw new SagaStepRejectedException("user_invalid", "User validation failed: " + response.getMessage());
+        }
+        return response;
+    }
 
-            log.info("Payment refunded for order: {}", order.getId());
+    private ReserveStockResponse checkStockReservation(ReserveStockResponse response) {
+        if (!response.getSuccess()) {
+            throw new SagaStepRejectedException("insufficient_stock", "Stock reservation failed: " + response.getMessage());
+        }
+        return response;
+    }
 
-        } catch (Exception e) {
-            log.error("Failed to refund payment for order: {}", order.getId(), e);
-            // Log but don't fail compensation
+    private static void throwIfRejected(CompletableFuture<?> future) {
+        if (future.isCompletedExceptionally()
+                && unwrap(future.handle((result, ex) -> ex).join()) instanceof SagaStepRejectedException rejected) {
+            throw rejected;
         }
     }
 
+    private static Throwable unwrap(Throwable ex) {
+        return ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+    }
+
     private void publishOrderCompletedEvent(Order order) {
-        try {
-            com.monat.ecommerce.events.order.OrderCompletedEvent event =
-                    com.monat.ecommerce.events.order.OrderCompletedEvent.builder()
-                            .orderId(order.getId().toString())
-                            .orderNumber(order.getOrderNumber())
-                            .userId(order.getUserId().toString())
-                            .totalAmount(order.getTotalAmount())
-                            .currency(order.getCurrency())
-                            .paymentReference(order.getPaymentReference())
-                            .build();
-
-            String payload = objectMapper.writeValueAsString(event);
-
-            OutboxEvent outboxEvent = OutboxEvent.builder()
-                    .aggregateType("Order")
-                    .aggregateId(order.getId().toString())
-                    .eventType("OrderCompleted")
-                    .payload(payload)
-                    .build();
-
-            outboxEventRepository.save(outboxEvent);
-
-        } catch (Exception e) {
-            log.error("Failed to publish OrderCompletedEvent", e);
-        }
+        OrderCompletedEvent event = OrderCompletedEvent.builder()
+                .orderId(order.getId().toString())
+                .orderNumber(order.getOrderNumber())
+                .userId(order.getUserId().toString())
+                .totalAmount(order.getTotalAmount())
+                .currency(order.getCurrency())
+                .paymentReference(order.getPaymentReference())
+                .build();
+
+        saveOutboxEvent(order, event, OrderEventCodec.ORDER_COMPLETED, OrderEventCodec::encode);
     }
 
     private void publishOrderCancelledEvent(Order order, String reason) {
-        try {
-            com.monat.ecommerce.events.order.OrderCancelledEvent event =
-                    com.monat.ecommerce.events.order.OrderCancelledEvent.builder()
-                            .orderId(order.getId().toString())
-                            .orderNumber(order.getOrderNumber())
-                            .userId(order.getUserId().toString())
-                            .reason(reason)
-                            .build();
-
-            String payload = objectMapper.writeValueAsString(event);
-
-            OutboxEvent outboxEvent = OutboxEvent.builder()
-                    .aggregateType("Order")
-                    .aggregateId(order.getId().toString())
-                    .eventType("OrderCancelled")
-                    .payload(payload)
-                    .build();
-
-            outboxEventRepository.save(outboxEvent);
-
-        } catch (Exception e) {
-            log.error("Failed to publish OrderCancelledEvent", e);
-        }
+        OrderCancelledEvent event = OrderCancelledEvent.builder()
+                .orderId(order.getId().toString())
+                .orderNumber(order.getOrderNumber())
+                .userId(order.getUserId().toString())
+                .reason(reason)
+                .build();
+
+        saveOutboxEvent(order, event, OrderEventCodec.ORDER_CANCELLED, OrderEventCodec::encode);
+    }
+
+    /**
+     * Encode the event once its aggregate metadata is set, and stage it in the outbox
+     */
+    private <T extends BaseEvent> void saveOutboxEvent(Order order, T event, String eventType,
+                                                       Function<T, byte[]> encoder) {
+        event.setAggregateId(order.getId().toString());
+        event.setAggregateType("Order");
+        byte[] payload = encoder.apply(event);
+
+        OutboxEvent outboxEvent = OutboxEvent.builder()
+                .aggregateType("Order")
+                .aggregateId(order.getId().toString())
+                .eventType(eventType)
+                .payload(payload)
+                .contentType(OrderEventCodec.CONTENT_TYPE)
+                .build();
+
+        outboxEventRepository.save(outboxEvent);
     }
 }
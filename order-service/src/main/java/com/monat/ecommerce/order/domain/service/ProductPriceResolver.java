@@ -0,0 +1,17 @@
+package com.monat.ecommerce.order.domain.service;
+
+import com.monat.ecommerce.order.domain.model.ProductPrice;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Source of current product prices for pricing orders
+ */
+public interface ProductPriceResolver {
+
+    /**
+     * Resolve the prices of the given products, keyed by product ID; unknown products are absent
+     */
+    Map<String, ProductPrice> resolvePrices(Collection<String> productIds);
+}
@@ -0,0 +1,92 @@
+package com.monat.ecommerce.order.domain.service;
+
+import com.monat.ecommerce.order.domain.model.Order;
+import com.monat.ecommerce.order.domain.model.OrderSagaState;
+import com.monat.ecommerce.order.domain.model.OrderStatus;
+import com.monat.ecommerce.order.domain.model.SagaStatus;
+import com.monat.ecommerce.order.domain.model.SagaStep;
+import io.micrometer.observation.Observation;
+import lombok.Getter;
+
+import java.util.Objects;
+
+/**
+ * Detached order and saga state carried between the steps of one saga execution
+ *
+ * Steps apply their transitions to the detached state only; the context remembers what was
+ * last written, so the orchestrator can tell whether a checkpoint is due and whether it has
+ * to include the order row.
+ */
+class SagaContext {
+
+    @Getter
+    private final Order order;
+
+    @Getter
+    private final OrderSagaState sagaState;
+
+    /**
+     * Observation of this execution, the parent of the step observations
+     */
+    @Getter
+    private final Observation observation;
+
+    private Checkpoint lastCheckpoint;
+
+    SagaContext(Order order, OrderSagaState sagaState, Observation observation) {
+        this.order = order;
+        this.sagaState = sagaState;
+        this.observation = observation;
+        this.lastCheckpoint = Checkpoint.of(order, sagaState);
+    }
+
+    /**
+     * Whether the saga or the order changed since the last checkpoint
+     */
+    boolean hasPendingChanges() {
+        return !Checkpoint.of(order, sagaState).equals(lastCheckpoint);
+    }
+
+    /**
+     * Whether the order row changed since the last checkpoint
+     */
+    boolean hasPendingOrderChanges() {
+        return !Checkpoint.of(order, sagaState).sameOrder(lastCheckpoint);
+    }
+
+    void markCheckpointed() {
+        lastCheckpoint = Checkpoint.of(order, sagaState);
+    }
+
+    /**
+     * The persisted fields a saga step can change
+     */
+    private record Checkpoint(
+            SagaStep step,
+            SagaStatus status,
+            String reservationId,
+            String paymentId,
+            String errorMessage,
+            OrderStatus orderStatus,
+            String paymentReference,
+            String cancellationReason) {
+
+        static Checkpoint of(Order order, OrderSagaState sagaState) {
+            return new Checkpoint(
+                    sagaState.getCurrentStep(),
+                    sagaState.getStatus(),
+                    sagaState.getReservationId(),
+                    sagaState.getPaymentId(),
+                    sagaState.getErrorMessage(),
+                    order.getStatus(),
+                    order.getPaymentReference(),
+                    order.getCancellationReason());
+        }
+
+        boolean sameOrder(Checkpoint other) {
+            return orderStatus == other.orderStatus
+                    && Objects.equals(paymentReference, other.paymentReference)
+                    && Objects.equals(cancellationReason, other.cancellationReason);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.monat.ecommerce.order.domain.service;
+
+/**
+ * A downstream service answered but refused the saga step, e.g. a declined payment
+ */
+public class SagaStepRejectedException extends RuntimeException {
+
+    private final String reason;
+
+    public SagaStepRejectedException(String reason, String message) {
+        super(message);
+        this.reason = reason;
+    }
+
+    /**
+     * Low-cardinality cause used to tag compensation metrics
+     */
+    public String getReason() {
+        return reason;
+    }
+}
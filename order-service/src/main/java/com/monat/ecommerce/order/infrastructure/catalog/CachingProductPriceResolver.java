@@ -0,0 +1,57 @@
+package com.monat.ecommerce.order.infrastructure.catalog;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.monat.ecommerce.order.domain.model.ProductPrice;
+import com.monat.ecommerce.order.domain.service.ProductPriceResolver;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Product prices served from a bounded local cache in front of product-service
+ *
+ * All misses of one lookup are fetched with a single batch request. Entries expire after the
+ * configured TTL and are dropped early when product-service announces a product change, so the
+ * TTL only bounds staleness when an update event is lost. Unknown products are never cached.
+ */
+@Component
+public class CachingProductPriceResolver implements ProductPriceResolver {
+
+    private final ProductCatalogClient catalogClient;
+    private final Cache<String, ProductPrice> cache;
+
+    public CachingProductPriceResolver(
+            ProductCatalogClient catalogClient,
+            MeterRegistry meterRegistry,
+            @Value("${application.product-catalog.price-cache.max-size:10000}") long maxSize,
+            @Value("${application.product-catalog.price-cache.ttl-seconds:300}") long ttlSeconds) {
+
+        this.catalogClient = catalogClient;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "order.product-prices");
+    }
+
+    @Override
+    public Map<String, ProductPrice> resolvePrices(Collection<String> productIds) {
+        return cache.getAll(productIds, missing -> catalogClient.fetchPrices(List.copyOf(missing)));
+    }
+
+    public void invalidate(String productId) {
+        cache.invalidate(productId);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+}
@@ -0,0 +1,73 @@
+package com.monat.ecommerce.order.infrastructure.catalog;
+
+import com.monat.ecommerce.common.dto.ApiResponse;
+import com.monat.ecommerce.order.domain.model.ProductPrice;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * HTTP client for the product-service batch price lookup
+ */
+@Slf4j
+@Component
+public class ProductCatalogClient {
+
+    private static final ParameterizedTypeReference<ApiResponse<List<ProductPrice>>> PRICES_TYPE =
+            new ParameterizedTypeReference<>() {
+            };
+
+    private final RestClient restClient;
+
+    public ProductCatalogClient(
+            RestClient.Builder restClientBuilder,
+            @Value("${application.product-catalog.url:http://localhost:8082}") String baseUrl,
+            @Value("${application.product-catalog.connect-timeout-ms:1000}") int connectTimeoutMs,
+            @Value("${application.product-catalog.read-timeout-ms:2000}") int readTimeoutMs) {
+
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(connectTimeoutMs);
+        requestFactory.setReadTimeout(readTimeoutMs);
+
+        this.restClient = restClientBuilder
+                .baseUrl(baseUrl)
+                .requestFactory(requestFactory)
+                .build();
+    }
+
+    /**
+     * Fetch the prices of several products in one request
+     *
+     * @throws ProductCatalogUnavailableException if product-service cannot be reached or fails
+     */
+    public Map<String, ProductPrice> fetchPrices(Collection<String> productIds) {
+        log.debug("Fetching prices for {} products", productIds.size());
+
+        try {
+            ApiResponse<List<ProductPrice>> response = restClient.get()
+                    .uri(uri -> uri.path("/api/products/prices")
+                            .queryParam("productIds", productIds.toArray())
+                            .build())
+                    .retrieve()
+                    .body(PRICES_TYPE);
+
+            if (response == null || response.getData() == null) {
+                return Map.of();
+            }
+            return response.getData().stream()
+                    .collect(Collectors.toMap(ProductPrice::productId, Function.identity()));
+        } catch (RestClientException e) {
+            throw new ProductCatalogUnavailableException(e);
+        }
+    }
+}
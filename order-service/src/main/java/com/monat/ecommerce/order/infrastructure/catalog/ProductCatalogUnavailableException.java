@@ -0,0 +1,14 @@
+package com.monat.ecommerce.order.infrastructure.catalog;
+
+import com.monat.ecommerce.common.exception.BusinessException;
+
+/**
+ * Thrown when product prices cannot be fetched from product-service
+ */
+public class ProductCatalogUnavailableException extends BusinessException {
+
+    public ProductCatalogUnavailableException(Throwable cause) {
+        super("Product catalog unavailable, please retry shortly", "PRODUCT_CATALOG_UNAVAILABLE", 503);
+        initCause(cause);
+    }
+}
@@ -0,0 +1,37 @@
+package com.monat.ecommerce.order.infrastructure.config;
+
+import io.micrometer.core.instrument.binder.grpc.ObservationGrpcClientInterceptor;
+import io.micrometer.observation.ObservationRegistry;
+import net.devh.boot.grpc.client.interceptor.GrpcGlobalClientInterceptor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Shared infrastructure for the non-blocking gRPC clients
+ */
+@Configuration
+public class GrpcClientConfig {
+
+    /**
+     * Schedules retry attempts; only timers run here, the calls themselves are asynchronous
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ScheduledExecutorService grpcRetryScheduler() {
+        return Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "grpc-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Times outgoing calls and propagates the current trace context to the downstream service
+     */
+    @GrpcGlobalClientInterceptor
+    public ObservationGrpcClientInterceptor observationGrpcClientInterceptor(ObservationRegistry observationRegistry) {
+        return new ObservationGrpcClientInterceptor(observationRegistry);
+    }
+}
@@ -0,0 +1,45 @@
+package com.monat.ecommerce.order.infrastructure.config;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Kafka producer for outbox events
+ *
+ * Outbox payloads are encoded when the event is written, so they are sent as raw bytes with the
+ * shared producer settings rather than through the JSON serializer. Batching and compression are
+ * tuned for the relay's bulk sends here only, leaving the shared producer untouched.
+ */
+@Configuration
+public class OutboxKafkaConfig {
+
+    @Bean
+    public ProducerFactory<String, byte[]> outboxProducerFactory(
+            ProducerFactory<String, Object> producerFactory,
+            @Value("${application.outbox.producer.linger-ms:5}") int lingerMs,
+            @Value("${application.outbox.producer.batch-size:65536}") int batchSize,
+            @Value("${application.outbox.producer.compression-type:lz4}") String compressionType) {
+
+        Map<String, Object> config = new HashMap<>(producerFactory.getConfigurationProperties());
+        config.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        config.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        config.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+
+        return new DefaultKafkaProducerFactory<>(config, new StringSerializer(), new ByteArraySerializer());
+    }
+
+    @Bean
+    public KafkaTemplate<String, byte[]> outboxKafkaTemplate(ProducerFactory<String, byte[]> outboxProducerFactory) {
+        return new KafkaTemplate<>(outboxProducerFactory);
+    }
+}
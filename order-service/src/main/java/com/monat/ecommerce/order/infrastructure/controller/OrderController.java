@@ -1,10 +1,13 @@
 package com.monat.ecommerce.order.infrastructure.controller;
 
 import com.monat.ecommerce.common.dto.ApiResponse;
+import com.monat.ecommerce.common.dto.CursorPagedResponse;
 import com.monat.ecommerce.common.dto.PagedResponse;
 import com.monat.ecommerce.order.application.dto.CreateOrderRequest;
 import com.monat.ecommerce.order.application.dto.OrderResponse;
+import com.monat.ecommerce.order.application.dto.OrderStatusResponse;
 import com.monat.ecommerce.order.application.service.OrderApplicationService;
+import com.monat.ecommerce.order.infrastructure.streaming.OrderProgressHub;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -12,8 +15,10 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.UUID;
 
@@ -24,13 +29,16 @@ import java.util.UUID;
 public class OrderController {
 
     private final OrderApplicationService orderApplicationService;
+    private final OrderProgressHub progressHub;
 
     @PostMapping
-    @Operation(summary = "Create a new order")
+    @Operation(summary = "Create a new order",
+               description = "Retries with the same Idempotency-Key return the original order instead of creating another")
     public ResponseEntity<ApiResponse<OrderResponse>> createOrder(
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @Valid @RequestBody CreateOrderRequest request) {
 
-        OrderResponse response = orderApplicationService.createOrder(request);
+        OrderResponse response = orderApplicationService.createOrder(request, idempotencyKey);
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(ApiResponse.success(response, "Order created successfully"));
     }
@@ -42,6 +50,21 @@ public class OrderController {
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
+    @GetMapping("/{orderId}/status")
+    @Operation(summary = "Get order status",
+               description = "Lightweight status for polling while the order is being processed")
+    public ResponseEntity<ApiResponse<OrderStatusResponse>> getOrderStatus(@PathVariable UUID orderId) {
+        OrderStatusResponse response = orderApplicationService.getOrderStatus(orderId);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
+    @GetMapping(value = "/{orderId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream order status changes",
+               description = "Server-sent events: the current status, then every saga transition until the order completes or fails")
+    public SseEmitter streamOrderEvents(@PathVariable UUID orderId) {
+        return progressHub.subscribe(orderId, () -> orderApplicationService.getOrderStatus(orderId));
+    }
+
     @GetMapping("/number/{orderNumber}")
     @Operation(summary = "Get order by order number")
     public ResponseEntity<ApiResponse<OrderResponse>> getOrderByNumber(@PathVariable String orderNumber) {
@@ -60,4 +83,18 @@ public class OrderController {
         PagedResponse<OrderResponse> response = orderApplicationService.getUserOrders(userId, pageable);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
+
+    @GetMapping("/user/{userId}/history")
+    @Operation(summary = "Get a user's order history, newest first",
+               description = "Keyset pagination: pass nextCursor from the previous page as cursor")
+    public ResponseEntity<ApiResponse<CursorPagedResponse<OrderResponse>>> getUserOrderHistory(
+            @PathVariable UUID userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+
+        CursorPagedResponse<OrderResponse> response =
+                orderApplicationService.getUserOrderHistory(userId, cursor, size, includeTotal);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
 }
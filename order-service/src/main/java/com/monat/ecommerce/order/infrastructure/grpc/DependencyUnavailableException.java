@@ -0,0 +1,33 @@
+package com.monat.ecommerce.order.infrastructure.grpc;
+
+/**
+ * A downstream call failed or was rejected by its circuit breaker, bulkhead or time limiter
+ */
+public class DependencyUnavailableException extends RuntimeException {
+
+    public static final String REASON_BULKHEAD_FULL = "bulkhead_full";
+
+    private final String dependency;
+    private final String reason;
+
+    public DependencyUnavailableException(String dependency, String reason, String message, Throwable cause) {
+        super(message, cause);
+        this.dependency = dependency;
+        this.reason = reason;
+    }
+
+    public String getDependency() {
+        return dependency;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    /**
+     * Whether the call was rejected locally by a full bulkhead and never reached the service
+     */
+    public boolean isBulkheadFull() {
+        return REASON_BULKHEAD_FULL.equals(reason);
+    }
+}
@@ -0,0 +1,28 @@
+package com.monat.ecommerce.order.infrastructure.grpc;
+
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * gRPC failures that indicate an unhealthy downstream and count towards opening the circuit
+ *
+ * Business rejections such as INVALID_ARGUMENT or NOT_FOUND are not recorded.
+ * Referenced from application-resilience.yml.
+ */
+public class DownstreamFailurePredicate implements Predicate<Throwable> {
+
+    private static final Set<Status.Code> CODES = Set.of(
+            Status.Code.UNAVAILABLE,
+            Status.Code.DEADLINE_EXCEEDED,
+            Status.Code.RESOURCE_EXHAUSTED,
+            Status.Code.INTERNAL,
+            Status.Code.UNKNOWN);
+
+    @Override
+    public boolean test(Throwable throwable) {
+        return throwable instanceof StatusRuntimeException e && CODES.contains(e.getStatus().getCode());
+    }
+}
@@ -0,0 +1,103 @@
+package com.monat.ecommerce.order.infrastructure.grpc;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Applies the Resilience4j instances named after a downstream service to an asynchronous call
+ *
+ * Decoration order is TimeLimiter(Retry(CircuitBreaker(Bulkhead(call)))): the bulkhead caps
+ * concurrent calls per attempt, the circuit breaker sees every attempt, and the time limiter
+ * bounds the whole call including retries and backoff. Per-attempt deadlines are set on the stub.
+ * Every failure is surfaced as a {@link DependencyUnavailableException} and counted per
+ * dependency and reason. It fails the saga step and starts compensation, except for bulkhead
+ * rejections, which leave the saga to be resumed by the recovery scanner.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GrpcCallDecorator {
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final RetryRegistry retryRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final TimeLimiterRegistry timeLimiterRegistry;
+    private final ScheduledExecutorService grpcRetryScheduler;
+    private final MeterRegistry meterRegistry;
+
+    public <T> CompletableFuture<T> execute(String serviceName, String displayName, Supplier<CompletionStage<T>> call) {
+        Supplier<CompletionStage<T>> decorated =
+                Bulkhead.decorateCompletionStage(bulkheadRegistry.bulkhead(serviceName), call);
+        decorated = CircuitBreaker.decorateCompletionStage(circuitBreakerRegistry.circuitBreaker(serviceName), decorated);
+        decorated = Retry.decorateCompletionStage(retryRegistry.retry(serviceName), grpcRetryScheduler, decorated);
+
+        TimeLimiter timeLimiter = timeLimiterRegistry.timeLimiter(serviceName);
+        return timeLimiter.executeCompletionStage(grpcRetryScheduler, decorated)
+                .toCompletableFuture()
+                .exceptionallyCompose(ex -> fallback(serviceName, displayName, unwrap(ex)));
+    }
+
+    private <T> CompletableFuture<T> fallback(String serviceName, String displayName, Throwable cause) {
+        String reason = reasonFor(cause);
+
+        Counter.builder("order.rpc.failures")
+                .description("Failed or rejected calls to downstream services")
+                .tag("dependency", serviceName)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+
+        log.warn("{} call failed ({}): {}", serviceName, reason, cause.getMessage());
+
+        return CompletableFuture.failedFuture(new DependencyUnavailableException(
+                serviceName, reason, displayName + " service unavailable: " + cause.getMessage(), cause));
+    }
+
+    private static String reasonFor(Throwable cause) {
+        if (cause instanceof BulkheadFullException) {
+            return DependencyUnavailableException.REASON_BULKHEAD_FULL;
+        }
+        if (cause instanceof CallNotPermittedException) {
+            return "circuit_open";
+        }
+        if (cause instanceof TimeoutException) {
+            return "timeout";
+        }
+        if (cause instanceof StatusRuntimeException e) {
+            return e.getStatus().getCode() == Status.Code.DEADLINE_EXCEEDED
+                    ? "deadline_exceeded"
+                    : e.getStatus().getCode().name().toLowerCase();
+        }
+        return "error";
+    }
+
+    private static Throwable unwrap(Throwable ex) {
+        while ((ex instanceof CompletionException || ex instanceof ExecutionException) && ex.getCause() != null) {
+            ex = ex.getCause();
+        }
+        return ex;
+    }
+}
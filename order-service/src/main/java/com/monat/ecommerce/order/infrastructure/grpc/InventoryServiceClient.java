@@ -1,120 +1,44 @@
 package com.monat.ecommerce.order.infrastructure.grpc;
 
-import com.monat.ecommerce.grpc.inventory.ReserveStockRequest;
-import com.monat.ecommerce.grpc.inventory.ReserveStockResponse;
-import com.monat.ecommerce.grpc.inventory.ReleaseStockRequest;
-import com.monat.ecommerce.grpc.inventory.ReleaseStockResponse;
-import com.monat.ecommerce.grpc.inventory.InventoryServiceGrpc;
-import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
-import io.github.resilience4j.retry.annotation.Retry;
-import io.grpc.ManagedChannel;
-import io.grpc.ManagedChannelBuilder;
-import lombok.extern.slf4j.Slf4j;
+import com.monat.ecommerce.grpc.inventory.*;
+import net.devh.boot.grpc.client.inject.GrpcClient;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.stereotype.Service;
+import org.springframework.stereotype.Component;
 
-import javax.annotation.PostConstruct;
-import javax.annotation.PreDestroy;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
- * gRPC client for Inventory Service with Resilience4j
+ * Non-blocking gRPC client for Inventory Service
  */
-@Service
-@Slf4j
-public class InventoryServiceClient {
+@Component
+public class InventoryServiceClient extends ResilientGrpcClient {
 
-    @Value("${grpc.client.inventory-service.host:localhost}")
-    private String host;
+    @GrpcClient("inventory-service")
+    private InventoryServiceGrpc.InventoryServiceFutureStub stub;
 
-    @Value("${grpc.client.inventory-service.port:9083}")
-    private int port;
+    private final long deadlineMs;
 
-    private ManagedChannel channel;
-    private InventoryServiceGrpc.InventoryServiceBlockingStub stub;
-
-    @PostConstruct
-    public void init() {
-        channel = ManagedChannelBuilder
-                .forAddress(host, port)
-                .usePlaintext()
-                .build();
-        stub = InventoryServiceGrpc.newBlockingStub(channel);
-        log.info("Inventory Service gRPC client initialized: {}:{}", host, port);
-    }
-
-    @PreDestroy
-    public void destroy() {
-        if (channel != null && !channel.isShutdown()) {
-            channel.shutdown();
-            log.info("Inventory Service gRPC channel shut down");
-        }
+    public InventoryServiceClient(
+            GrpcCallDecorator callDecorator,
+            @Value("${application.grpc.deadline-ms.inventory-service:3000}") long deadlineMs) {
+        super("inventory-service", "Inventory", callDecorator);
+        this.deadlineMs = deadlineMs;
     }
 
-    @CircuitBreaker(name = "inventory-service", fallbackMethod = "reserveStockFallback")
-    @Retry(name = "inventory-service")
-    public ReserveStockResponse reserveStock(String orderId, java.util.Map<String, Integer> productQuantities) {
-        log.info("Reserving stock for order: {}", orderId);
-
-        var requestBuilder = ReserveStockRequest.newBuilder()
-                .setOrderId(orderId);
-
-        // Add stock items
-        for (var entry : productQuantities.entrySet()) {
-            requestBuilder.addItems(
-                    com.monat.ecommerce.grpc.inventory.StockItem.newBuilder()
-                            .setProductId(entry.getKey())
-                            .setQuantity(entry.getValue())
-                            .build());
-        }
-
-        ReserveStockResponse response = stub.reserveStock(requestBuilder.build());
-        log.info("Reserve stock response for order {}: success={}", orderId, response.getSuccess());
-
-        return response;
+    public CompletableFuture<ReserveStockResponse> reserveStock(ReserveStockRequest request) {
+        return execute(() -> stub().reserveStock(request));
     }
 
-    @CircuitBreaker(name = "inventory-service", fallbackMethod = "releaseStockFallback")
-    @Retry(name = "inventory-service")
-    public ReleaseStockResponse releaseStock(String reservationId, String orderId, String reason) {
-        log.info("Releasing stock reservation: {}, orderId={}", reservationId, orderId);
-
-        ReleaseStockRequest request = ReleaseStockRequest.newBuilder()
-                .setReservationId(reservationId)
-                .setOrderId(orderId)
-                .setReason(reason)
-                .build();
-
-        ReleaseStockResponse response = stub.releaseStock(request);
-        log.info("Release stock response for order {}: success={}", orderId, response.getSuccess());
-
-        return response;
+    public CompletableFuture<ReleaseStockResponse> releaseStock(ReleaseStockRequest request) {
+        return execute(() -> stub().releaseStock(request));
     }
 
-    /**
-     * Fallback method when inventory service is unavailable
-     */
-    private ReserveStockResponse reserveStockFallback(String orderId, java.util.Map<String, Integer> productQuantities,
-            Exception ex) {
-        log.error("Inventory Service circuit breaker activated for reserve. Order: {}. Error: {}",
-                orderId, ex.getMessage());
-
-        return ReserveStockResponse.newBuilder()
-                .setSuccess(false)
-                .setMessage("Inventory service temporarily unavailable. Please try again later.")
-                .build();
+    public CompletableFuture<CommitStockResponse> commitStock(CommitStockRequest request) {
+        return execute(() -> stub().commitStock(request));
     }
 
-    /**
-     * Fallback method for release stock
-     */
-    private ReleaseStockResponse releaseStockFallback(String reservationId, String orderId, String reason,
-            Exception ex) {
-        log.error("Inventory Service circuit breaker activated for release. Order: {}. Error: {}",
-                orderId, ex.getMessage());
-
-        return ReleaseStockResponse.newBuilder()
-                .setSuccess(false)
-                .setMessage("Inventory service temporarily unavailable")
-                .build();
+    private InventoryServiceGrpc.InventoryServiceFutureStub stub() {
+        return stub.withDeadlineAfter(deadlineMs, TimeUnit.MILLISECONDS);
     }
 }
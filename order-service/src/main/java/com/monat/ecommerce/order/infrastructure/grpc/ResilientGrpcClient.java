@@ -0,0 +1,30 @@
+package com.monat.ecommerce.order.infrastructure.grpc;
+
+import com.google.common.util.concurrent.ListenableFuture;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Base class for the non-blocking gRPC clients
+ *
+ * Calls are decorated with the Resilience4j instances named after the downstream service (see
+ * application-resilience.yml and {@link GrpcCallDecorator}). The supplier is invoked once per
+ * attempt, which gives every attempt its own deadline.
+ */
+abstract class ResilientGrpcClient {
+
+    private final String serviceName;
+    private final String displayName;
+    private final GrpcCallDecorator callDecorator;
+
+    protected ResilientGrpcClient(String serviceName, String displayName, GrpcCallDecorator callDecorator) {
+        this.serviceName = serviceName;
+        this.displayName = displayName;
+        this.callDecorator = callDecorator;
+    }
+
+    protected <T> CompletableFuture<T> execute(Supplier<ListenableFuture<T>> rpc) {
+        return callDecorator.execute(serviceName, displayName, () -> GrpcFutures.toCompletableFuture(rpc.get()));
+    }
+}
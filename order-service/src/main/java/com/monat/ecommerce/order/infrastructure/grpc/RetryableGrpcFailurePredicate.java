@@ -0,0 +1,22 @@
+package com.monat.ecommerce.order.infrastructure.grpc;
+
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+
+import java.util.function.Predicate;
+
+/**
+ * gRPC failures that are safe to retry
+ *
+ * Only UNAVAILABLE, where the call never reached the server. DEADLINE_EXCEEDED is not retried
+ * because stock reservations and payments are not idempotent.
+ * Referenced from application-resilience.yml.
+ */
+public class RetryableGrpcFailurePredicate implements Predicate<Throwable> {
+
+    @Override
+    public boolean test(Throwable throwable) {
+        return throwable instanceof StatusRuntimeException e
+                && e.getStatus().getCode() == Status.Code.UNAVAILABLE;
+    }
+}
@@ -1,79 +1,36 @@
 package com.monat.ecommerce.order.infrastructure.grpc;
 
-import com.monat.ecommerce.grpc.user.GetUserRequest;
-import com.monat.ecommerce.grpc.user.GetUserResponse;
-import com.monat.ecommerce.grpc.user.UserServiceGrpc;
-import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
-import io.github.resilience4j.retry.annotation.Retry;
-import io.grpc.ManagedChannel;
-import io.grpc.ManagedChannelBuilder;
-import lombok.extern.slf4j.Slf4j;
+import com.monat.ecommerce.grpc.user.*;
+import net.devh.boot.grpc.client.inject.GrpcClient;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.stereotype.Service;
+import org.springframework.stereotype.Component;
 
-import javax.annotation.PostConstruct;
-import javax.annotation.PreDestroy;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
- * gRPC client for User Service with Resilience4j
+ * Non-blocking gRPC client for User Service
  */
-@Service
-@Slf4j
-public class UserServiceClient {
+@Component
+public class UserServiceClient extends ResilientGrpcClient {
 
-    @Value("${grpc.client.user-service.host:localhost}")
-    private String host;
+    @GrpcClient("user-service")
+    private UserServiceGrpc.UserServiceFutureStub stub;
 
-    @Value("${grpc.client.user-service.port:9081}")
-    private int port;
+    private final long deadlineMs;
 
-    private ManagedChannel channel;
-    private UserServiceGrpc.UserServiceBlockingStub stub;
-
-    @PostConstruct
-    public void init() {
-        channel = ManagedChannelBuilder
-                .forAddress(host, port)
-                .usePlaintext()
-                .build();
-        stub = UserServiceGrpc.newBlockingStub(channel);
-        log.info("User Service gRPC client initialized: {}:{}", host, port);
+    public UserServiceClient(
+            GrpcCallDecorator callDecorator,
+            @Value("${application.grpc.deadline-ms.user-service:2000}") long deadlineMs) {
+        super("user-service", "User", callDecorator);
+        this.deadlineMs = deadlineMs;
     }
 
-    @PreDestroy
-    public void destroy() {
-        if (channel != null && !channel.isShutdown()) {
-            channel.shutdown();
-            log.info("User Service gRPC channel shut down");
-        }
+    public CompletableFuture<ValidateUserResponse> validateUser(ValidateUserRequest request) {
+        return execute(() -> stub().validateUser(request));
     }
 
-    @CircuitBreaker(name = "user-service", fallbackMethod = "getUserFallback")
-    @Retry(name = "user-service")
-    public GetUserResponse getUser(String userId) {
-        log.info("Fetching user details: userId={}", userId);
-
-        GetUserRequest request = GetUserRequest.newBuilder()
-                .setUserId(userId)
-                .build();
-
-        GetUserResponse response = stub.getUser(request);
-        if (response.hasUser()) {
-            log.info("User retrieved: userId={}, username={}", userId, response.getUser().getUsername());
-        }
-
-        return response;
-    }
-
-    /**
-     * Fallback method when user service is unavailable
-     */
-    private GetUserResponse getUserFallback(String userId, Exception ex) {
-        log.error("User Service circuit breaker activated for userId: {}. Error: {}",
-                userId, ex.getMessage());
-
-        return GetUserResponse.newBuilder()
-                .setFound(false)
-                .build();
+    private UserServiceGrpc.UserServiceFutureStub stub() {
+        return stub.withDeadlineAfter(deadlineMs, TimeUnit.MILLISECONDS);
     }
 }
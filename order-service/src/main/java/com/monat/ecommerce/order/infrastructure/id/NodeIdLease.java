@@ -0,0 +1,132 @@
+package com.monat.ecommerce.order.infrastructure.id;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static com.monat.ecommerce.order.infrastructure.id.SnowflakeOrderNumberGenerator.MAX_NODE_ID;
+
+/**
+ * Snowflake node id of this replica
+ *
+ * A configured {@code application.id.node-id} is used as-is. Otherwise a free id is leased from
+ * {@code order_node_id_leases} at startup, preferring the id that has been free the longest, and
+ * the lease is renewed in the background. If the lease is lost to another replica, or cannot be
+ * renewed before it runs out, the id is withdrawn and order numbers fail until it is renewed,
+ * rather than risking duplicates.
+ */
+@Slf4j
+@Component
+public class NodeIdLease {
+
+    private static final String ACQUIRE =
+            "UPDATE order_node_id_leases SET owner = ?, leased_until = now() + make_interval(secs => ?) " +
+            "WHERE node_id = (SELECT node_id FROM order_node_id_leases WHERE leased_until < now() " +
+            "ORDER BY leased_until, node_id LIMIT 1 FOR UPDATE SKIP LOCKED) " +
+            "RETURNING node_id";
+
+    private static final String RENEW =
+            "UPDATE order_node_id_leases SET owner = ?, leased_until = now() + make_interval(secs => ?) " +
+            "WHERE node_id = ? AND (owner = ? OR leased_until < now())";
+
+    private static final String RELEASE =
+            "UPDATE order_node_id_leases SET owner = NULL, leased_until = '-infinity' WHERE node_id = ? AND owner = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long leaseSeconds;
+    private final boolean leased;
+    private final long nodeId;
+    private final String owner;
+
+    private volatile boolean held = true;
+    /** Local deadline of the current lease, measured from before it was last written */
+    private volatile long validUntilNanos = Long.MAX_VALUE;
+
+    public NodeIdLease(
+            JdbcTemplate jdbcTemplate,
+            @Value("${application.id.node-id:-1}") long configuredNodeId,
+            @Value("${application.id.lease.duration-seconds:600}") long leaseSeconds) {
+
+        if (configuredNodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID + ": " + configuredNodeId);
+        }
+
+        this.jdbcTemplate = jdbcTemplate;
+        this.leaseSeconds = leaseSeconds;
+        this.owner = ownerName();
+        this.leased = configuredNodeId < 0;
+
+        if (leased) {
+            long started = System.nanoTime();
+            List<Long> acquired = jdbcTemplate.queryForList(ACQUIRE, Long.class, owner, leaseSeconds);
+            if (acquired.isEmpty()) {
+                throw new IllegalStateException("No free order node id to lease, all " + (MAX_NODE_ID + 1) + " are in use");
+            }
+            this.nodeId = acquired.get(0);
+            this.validUntilNanos = started + TimeUnit.SECONDS.toNanos(leaseSeconds);
+            log.info("Leased order node id {} as {}", nodeId, owner);
+        } else {
+            this.nodeId = configuredNodeId;
+        }
+    }
+
+    /**
+     * The node id to embed in generated ids
+     *
+     * @throws IllegalStateException if the lease was lost
+     */
+    public long nodeId() {
+        if (!held || (leased && System.nanoTime() - validUntilNanos > 0)) {
+            throw new IllegalStateException("Lease on order node id " + nodeId + " was lost");
+        }
+        return nodeId;
+    }
+
+    @Scheduled(fixedDelayString = "${application.id.lease.renew-interval-ms:60000}",
+               initialDelayString = "${application.id.lease.renew-interval-ms:60000}")
+    public void renew() {
+        if (!leased) {
+            return;
+        }
+
+        long started = System.nanoTime();
+        boolean renewed = jdbcTemplate.update(RENEW, owner, leaseSeconds, nodeId, owner) > 0;
+        if (renewed) {
+            validUntilNanos = started + TimeUnit.SECONDS.toNanos(leaseSeconds);
+        }
+        if (renewed != held) {
+            if (renewed) {
+                log.info("Re-acquired lease on order node id {}", nodeId);
+            } else {
+                log.error("Lease on order node id {} was taken over by another replica", nodeId);
+            }
+        }
+        held = renewed;
+    }
+
+    @PreDestroy
+    public void release() {
+        if (leased && held) {
+            jdbcTemplate.update(RELEASE, nodeId, owner);
+        }
+    }
+
+    private static String ownerName() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "unknown";
+        }
+        return host + "/" + ProcessHandle.current().pid() + "/" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
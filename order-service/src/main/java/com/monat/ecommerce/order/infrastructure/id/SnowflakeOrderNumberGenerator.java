@@ -0,0 +1,76 @@
+package com.monat.ecommerce.order.infrastructure.id;
+
+import com.monat.ecommerce.order.domain.service.OrderNumberGenerator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Snowflake-style order numbers
+ *
+ * A 63-bit id of 41 bits milliseconds since 2024-01-01, a 10-bit node id and a 12-bit
+ * per-millisecond sequence, rendered as {@code ORD-} plus 13 Crockford base32 characters.
+ * The fixed width keeps order numbers sortable by creation time. The timestamp and sequence
+ * advance together with a CAS, so generation is lock-free and never goes backwards. The node id
+ * comes from {@link NodeIdLease}, so replicas never share one.
+ */
+@Component
+public class SnowflakeOrderNumberGenerator implements OrderNumberGenerator {
+
+    static final long EPOCH_MILLIS = 1704067200000L;
+
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+
+    private static final String PREFIX = "ORD-";
+    private static final int ENCODED_LENGTH = 13;
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
+    private final LongSupplier nodeId;
+
+    /** Milliseconds since the epoch in the upper bits, sequence in the lower bits */
+    private final AtomicLong state = new AtomicLong();
+
+    @Autowired
+    public SnowflakeOrderNumberGenerator(NodeIdLease nodeIdLease) {
+        this.nodeId = nodeIdLease::nodeId;
+    }
+
+    public SnowflakeOrderNumberGenerator(long nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.nodeId = () -> nodeId;
+    }
+
+    public long nextId() {
+        long node = nodeId.getAsLong();
+        long now = (System.currentTimeMillis() - EPOCH_MILLIS) << SEQUENCE_BITS;
+        long current;
+        long next;
+        do {
+            current = state.get();
+            next = now > current ? now : current + 1;
+        } while (!state.compareAndSet(current, next));
+
+        long timestamp = next >>> SEQUENCE_BITS;
+        long sequence = next & ((1L << SEQUENCE_BITS) - 1);
+        return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | (node << SEQUENCE_BITS) | sequence;
+    }
+
+    @Override
+    public String nextOrderNumber() {
+        long id = nextId();
+
+        char[] chars = new char[PREFIX.length() + ENCODED_LENGTH];
+        PREFIX.getChars(0, PREFIX.length(), chars, 0);
+        for (int i = chars.length - 1; i >= PREFIX.length(); i--) {
+            chars[i] = ALPHABET[(int) (id & 31)];
+            id >>>= 5;
+        }
+        return new String(chars);
+    }
+}
@@ -2,57 +2,263 @@ package com.monat.ecommerce.order.infrastructure.messaging;
 
 import com.monat.ecommerce.order.domain.model.OutboxEvent;
 import com.monat.ecommerce.order.domain.repository.OutboxEventRepository;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.PageRequest;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
 import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.LockSupport;
 
 /**
- * Outbox event publisher - polls outbox table and publishes to Kafka
+ * Outbox event publisher - relays the outbox table to Kafka
+ *
+ * Each round claims a batch in a short transaction: rows are locked with {@code FOR UPDATE SKIP
+ * LOCKED} and stamped with a claim token and a lease, so several replicas can relay concurrently.
+ * The batch is then sent asynchronously with no transaction or row lock held, and a second short
+ * transaction acknowledges the delivered events and releases the claim on the others with bulk
+ * UPDATEs. Events are sent in creation order keyed by aggregate id; undelivered events are retried
+ * in a later round, and events of a relay that died mid-send once its lease expires (at-least-once
+ * delivery). Payloads are already encoded and are sent as-is with {@code content-type} and
+ * {@code event-type} headers.
+ *
+ * The relay runs on its own thread: after a full batch it polls again immediately, otherwise the
+ * interval backs off from the minimum to the configured polling interval. While insert
+ * notifications are being received the relay is woken per insert and idle polling only
+ * serves as a safety net.
  */
 @Slf4j
 @Component
-@RequiredArgsConstructor
-public class OutboxEventPublisher {
+public class OutboxEventPublisher implements SmartLifecycle {
+
+    public static final String CONTENT_TYPE_HEADER = "content-type";
+    public static final String EVENT_TYPE_HEADER = "event-type";
 
     private final OutboxEventRepository outboxEventRepository;
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final int batchSize;
+    private final long minPollingIntervalMs;
+    private final long maxPollingIntervalMs;
+    private final long safetyPollingIntervalMs;
+    private final long sendTimeoutMs;
+    private final Duration claimLease;
+
+    private final Counter publishedCounter;
+    private final Counter failedCounter;
+
+    private volatile boolean running;
+    private volatile boolean notificationsActive;
+    private volatile Thread relayThread;
+
+    public OutboxEventPublisher(
+            OutboxEventRepository outboxEventRepository,
+            KafkaTemplate<String, byte[]> kafkaTemplate,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${application.outbox.batch-size:500}") int batchSize,
+            @Value("${application.outbox.min-polling-interval-ms:20}") long minPollingIntervalMs,
+            @Value("${application.outbox.polling-interval-ms:5000}") long maxPollingIntervalMs,
+            @Value("${application.outbox.notify.safety-polling-interval-ms:30000}") long safetyPollingIntervalMs,
+            @Value("${application.outbox.send-timeout-ms:30000}") long sendTimeoutMs,
+            @Value("${application.outbox.claim-lease-ms:60000}") long claimLeaseMs) {
+
+        this.outboxEventRepository = outboxEventRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.minPollingIntervalMs = minPollingIntervalMs;
+        this.maxPollingIntervalMs = maxPollingIntervalMs;
+        this.safetyPollingIntervalMs = safetyPollingIntervalMs;
+        this.sendTimeoutMs = sendTimeoutMs;
+        this.claimLease = Duration.ofMillis(claimLeaseMs);
 
-    @Scheduled(fixedDelayString = "${application.outbox.polling-interval-ms:5000}")
-    @Transactional
-    public void publishPendingEvents() {
-        int batchSize = 100;
-        List<OutboxEvent> pendingEvents = outboxEventRepository
-                .findByProcessedFalseOrderByCreatedAtAsc(PageRequest.of(0, batchSize));
+        this.publishedCounter = Counter.builder("order.outbox.published")
+                .description("Outbox events delivered to Kafka")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("order.outbox.failed")
+                .description("Outbox event deliveries that failed and will be retried")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Relay one batch of pending events
+     *
+     * @return number of events claimed
+     */
+    public int publishPendingEvents() {
+        UUID claimToken = UUID.randomUUID();
+        List<OutboxEvent> pendingEvents = transactionTemplate.execute(status -> claim(claimToken));
 
-        if (pendingEvents.isEmpty()) {
-            return;
+        if (pendingEvents == null || pendingEvents.isEmpty()) {
+            return 0;
         }
 
         log.debug("Publishing {} outbox events", pendingEvents.size());
 
+        List<CompletableFuture<?>> sends = new ArrayList<>(pendingEvents.size());
         for (OutboxEvent event : pendingEvents) {
-            try {
-                String topic = getTopicForEventType(event.getEventType());
-                kafkaTemplate.send(topic, event.getAggregateId(), event.getPayload());
+            sends.add(send(event));
+        }
 
-                event.markAsProcessed();
-                outboxEventRepository.save(event);
+        Set<UUID> delivered = awaitDelivered(pendingEvents, sends);
+        List<UUID> undelivered = pendingEvents.stream()
+                .map(OutboxEvent::getId)
+                .filter(id -> !delivered.contains(id))
+                .toList();
 
-                log.debug("Published event: {} for aggregate: {}", event.getEventType(), event.getAggregateId());
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!delivered.isEmpty()) {
+                outboxEventRepository.markAsProcessed(delivered, claimToken, LocalDateTime.now());
+            }
+            if (!undelivered.isEmpty()) {
+                outboxEventRepository.releaseClaim(undelivered, claimToken);
+            }
+        });
 
+        publishedCounter.increment(delivered.size());
+        failedCounter.increment(undelivered.size());
+        return pendingEvents.size();
+    }
+
+    /**
+     * Run the next relay round now instead of waiting out the polling interval
+     */
+    public void wakeUp() {
+        Thread thread = relayThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * Switch idle polling between the regular interval and the notification safety interval
+     */
+    public void setNotificationsActive(boolean notificationsActive) {
+        this.notificationsActive = notificationsActive;
+        if (!notificationsActive) {
+            // Pick up anything inserted while the listener was down
+            wakeUp();
+        }
+    }
+
+    private List<OutboxEvent> claim(UUID claimToken) {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> events = outboxEventRepository.lockClaimable(now, batchSize);
+
+        if (!events.isEmpty()) {
+            outboxEventRepository.claim(events.stream().map(OutboxEvent::getId).toList(),
+                    claimToken, now.plus(claimLease));
+        }
+        return events;
+    }
+
+    private CompletableFuture<?> send(OutboxEvent event) {
+        try {
+            ProducerRecord<String, byte[]> record = new ProducerRecord<>(
+                    getTopicForEventType(event.getEventType()), event.getAggregateId(), event.getPayload());
+            record.headers()
+                    .add(CONTENT_TYPE_HEADER, event.getContentType().getBytes(StandardCharsets.UTF_8))
+                    .add(EVENT_TYPE_HEADER, event.getEventType().getBytes(StandardCharsets.UTF_8));
+            return kafkaTemplate.send(record);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Wait for the whole batch and collect the ids of events the broker acknowledged
+     */
+    private Set<UUID> awaitDelivered(List<OutboxEvent> events, List<CompletableFuture<?>> sends) {
+        try {
+            CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new))
+                    .get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+            // Partial failure; the per-event futures below tell which ones were delivered
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        Set<UUID> delivered = new HashSet<>(events.size());
+        for (int i = 0; i < events.size(); i++) {
+            CompletableFuture<?> send = sends.get(i);
+            if (!send.isDone()) {
+                log.error("Timed out publishing event: {}", events.get(i).getId());
+            } else if (send.isCompletedExceptionally()) {
+                log.error("Failed to publish event: {}", events.get(i).getId(),
+                        send.handle((result, ex) -> ex).join());
+            } else {
+                delivered.add(events.get(i).getId());
+            }
+        }
+        return delivered;
+    }
+
+    private void relayLoop() {
+        long interval = minPollingIntervalMs;
+
+        while (running) {
+            try {
+                int claimed = publishPendingEvents();
+                if (claimed >= batchSize) {
+                    // Backlog: go straight to the next batch
+                    interval = minPollingIntervalMs;
+                    continue;
+                }
+                long idleInterval = notificationsActive ? safetyPollingIntervalMs : maxPollingIntervalMs;
+                interval = claimed > 0 ? minPollingIntervalMs : Math.min(interval * 2, idleInterval);
             } catch (Exception e) {
-                log.error("Failed to publish event: {}", event.getId(), e);
-                // Event will be retried in next poll
+                log.error("Outbox relay round failed", e);
+                interval = maxPollingIntervalMs;
             }
+
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(interval));
         }
     }
 
+    @Override
+    public void start() {
+        running = true;
+        relayThread = new Thread(this::relayLoop, "outbox-relay");
+        relayThread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = relayThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(sendTimeoutMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
     private String getTopicForEventType(String eventType) {
         return switch (eventType) {
             case "OrderCreated" -> "order.created";
@@ -0,0 +1,118 @@
+package com.monat.ecommerce.order.infrastructure.messaging;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Wakes the outbox relay on PostgreSQL NOTIFY from the outbox insert trigger
+ *
+ * Uses a dedicated connection outside the pool, since a listening connection is held for the
+ * lifetime of the service. When the connection drops the relay falls back to regular polling
+ * until the listener has reconnected.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(value = "application.outbox.notify.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxNotificationListener implements SmartLifecycle {
+
+    private static final String CHANNEL = "outbox_events";
+
+    private final OutboxEventPublisher outboxEventPublisher;
+    private final DataSourceProperties dataSourceProperties;
+    private final long reconnectDelayMs;
+
+    private volatile boolean running;
+    private volatile Thread listenerThread;
+    private volatile Connection connection;
+
+    public OutboxNotificationListener(
+            OutboxEventPublisher outboxEventPublisher,
+            DataSourceProperties dataSourceProperties,
+            @Value("${application.outbox.notify.reconnect-delay-ms:5000}") long reconnectDelayMs) {
+        this.outboxEventPublisher = outboxEventPublisher;
+        this.dataSourceProperties = dataSourceProperties;
+        this.reconnectDelayMs = reconnectDelayMs;
+    }
+
+    private void listenLoop() {
+        while (running) {
+            try (Connection conn = DriverManager.getConnection(
+                    dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(),
+                    dataSourceProperties.determinePassword())) {
+
+                connection = conn;
+                try (Statement statement = conn.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                PGConnection pgConnection = conn.unwrap(PGConnection.class);
+
+                outboxEventPublisher.setNotificationsActive(true);
+                log.info("Listening for outbox notifications on channel: {}", CHANNEL);
+
+                while (running) {
+                    // Blocks until a notification arrives or the timeout elapses; fails if the connection drops
+                    PGNotification[] notifications = pgConnection.getNotifications((int) reconnectDelayMs);
+                    if (notifications != null && notifications.length > 0) {
+                        outboxEventPublisher.wakeUp();
+                    }
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Outbox notification listener disconnected, falling back to polling: {}", e.getMessage());
+                }
+            } finally {
+                connection = null;
+                outboxEventPublisher.setNotificationsActive(false);
+            }
+
+            if (running) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(reconnectDelayMs));
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        listenerThread = new Thread(this::listenLoop, "outbox-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Connection conn = connection;
+        if (conn != null) {
+            try {
+                // Unblocks getNotifications
+                conn.close();
+            } catch (SQLException e) {
+                log.debug("Error closing outbox listener connection", e);
+            }
+        }
+        Thread thread = listenerThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -0,0 +1,66 @@
+package com.monat.ecommerce.order.infrastructure.messaging;
+
+import com.monat.ecommerce.order.domain.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Deletes processed outbox events once they are past the retention period
+ *
+ * Deletes run in small chunks, each in its own transaction, to keep lock times and
+ * WAL bursts short while the relay keeps inserting and claiming events.
+ */
+@Slf4j
+@Component
+public class OutboxPurgeScheduler {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final Duration retention;
+    private final int chunkSize;
+    private final int maxChunksPerRun;
+    private final Counter purgedCounter;
+
+    public OutboxPurgeScheduler(
+            OutboxEventRepository outboxEventRepository,
+            MeterRegistry meterRegistry,
+            @Value("${application.outbox.retention.retention-hours:72}") long retentionHours,
+            @Value("${application.outbox.retention.chunk-size:5000}") int chunkSize,
+            @Value("${application.outbox.retention.max-chunks-per-run:200}") int maxChunksPerRun) {
+
+        this.outboxEventRepository = outboxEventRepository;
+        this.retention = Duration.ofHours(retentionHours);
+        this.chunkSize = chunkSize;
+        this.maxChunksPerRun = maxChunksPerRun;
+        this.purgedCounter = Counter.builder("order.outbox.purged")
+                .description("Processed outbox events deleted after the retention period")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${application.outbox.retention.purge-interval-ms:600000}",
+               initialDelayString = "${application.outbox.retention.initial-delay-ms:60000}")
+    public void purgeProcessedEvents() {
+        LocalDateTime cutoffTime = LocalDateTime.now().minus(retention);
+        long total = 0;
+
+        for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+            int deleted = outboxEventRepository.deleteProcessedBefore(cutoffTime, chunkSize);
+            total += deleted;
+            purgedCounter.increment(deleted);
+
+            if (deleted < chunkSize) {
+                break;
+            }
+        }
+
+        if (total > 0) {
+            log.info("Purged {} processed outbox events older than {}", total, cutoffTime);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.monat.ecommerce.order.infrastructure.messaging;
+
+import com.monat.ecommerce.events.product.ProductUpdatedEvent;
+import com.monat.ecommerce.order.infrastructure.catalog.CachingProductPriceResolver;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Evicts cached product prices when product-service announces a product change
+ *
+ * Every instance holds its own cache, so each one consumes the topic in its own consumer group
+ * from the latest offset. Updates published while the listener was not assigned are unknown,
+ * so the whole cache is dropped on every (re)assignment.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductEventListener implements ConsumerSeekAware {
+
+    private final CachingProductPriceResolver priceResolver;
+
+    @KafkaListener(
+            topics = "product.updated",
+            groupId = "${spring.application.name}-prices-${random.uuid}",
+            properties = {
+                    "auto.offset.reset=latest",
+                    "value.deserializer=org.springframework.kafka.support.serializer.ErrorHandlingDeserializer",
+                    "spring.deserializer.value.delegate.class=org.springframework.kafka.support.serializer.JsonDeserializer",
+                    "spring.json.value.default.type=com.monat.ecommerce.events.product.ProductUpdatedEvent"
+            })
+    public void onProductUpdated(ProductUpdatedEvent event) {
+        log.debug("Evicting cached price for product: {}", event.getProductId());
+        priceResolver.invalidate(event.getProductId());
+    }
+
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        priceResolver.invalidateAll();
+    }
+}
@@ -0,0 +1,13 @@
+package com.monat.ecommerce.order.infrastructure.saga;
+
+import com.monat.ecommerce.common.exception.BusinessException;
+
+/**
+ * Thrown when the saga executor cannot admit another order saga
+ */
+public class SagaCapacityExceededException extends BusinessException {
+
+    public SagaCapacityExceededException() {
+        super("Order processing is at capacity, please retry shortly", "SAGA_CAPACITY_EXCEEDED", 503);
+    }
+}
@@ -0,0 +1,186 @@
+package com.monat.ecommerce.order.infrastructure.saga;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Bounded executor for order sagas
+ *
+ * Sagas are non-blocking: a saga holds an admission permit from submission until its
+ * future completes, while the worker threads only run the short persistence steps between
+ * remote calls. A burst beyond the in-flight limit is rejected at submission time instead
+ * of piling up. Sagas submitted inside a transaction are only dispatched after it commits.
+ */
+@Slf4j
+@Component
+public class SagaExecutor implements Executor, SmartLifecycle {
+
+    /**
+     * Stopped after the web server has finished its graceful shutdown
+     */
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private final ThreadPoolExecutor workers;
+    private final Semaphore admission;
+    private final int maxInFlight;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Counter rejectedCounter;
+    private final long drainTimeoutSeconds;
+
+    private volatile boolean running;
+
+    public SagaExecutor(
+            MeterRegistry meterRegistry,
+            @Value("${application.saga.executor.worker-threads:16}") int workerThreads,
+            @Value("${application.saga.executor.max-in-flight:1000}") int maxInFlight,
+            @Value("${application.saga.executor.drain-timeout-seconds:30}") long drainTimeoutSeconds) {
+
+        this.maxInFlight = maxInFlight;
+        this.drainTimeoutSeconds = drainTimeoutSeconds;
+        this.admission = new Semaphore(maxInFlight);
+        // Unbounded queue: every queued task belongs to an admitted saga, so admission bounds it
+        this.workers = new ThreadPoolExecutor(
+                workerThreads,
+                workerThreads,
+                60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                sagaThreadFactory());
+        this.workers.allowCoreThreadTimeOut(true);
+
+        Gauge.builder("order.saga.executor.queued", workers, e -> e.getQueue().size())
+                .description("Saga steps waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder("order.saga.executor.in_flight", inFlight, AtomicInteger::get)
+                .description("Sagas currently executing")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("order.saga.executor.rejected")
+                .description("Sagas rejected because the executor was saturated")
+                .register(meterRegistry);
+
+        log.info("Saga executor initialized - workers: {}, max in flight: {}", workerThreads, maxInFlight);
+    }
+
+    /**
+     * Admit a saga for execution
+     *
+     * @throws SagaCapacityExceededException if the executor is saturated or shutting down
+     */
+    public void submit(Supplier<CompletableFuture<?>> saga) {
+        if (!running || !admission.tryAcquire()) {
+            rejectedCounter.increment();
+            throw new SagaCapacityExceededException();
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            dispatch(saga);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    dispatch(saga);
+                } else {
+                    admission.release();
+                }
+            }
+        });
+    }
+
+    /**
+     * Number of additional sagas that can currently be admitted
+     */
+    public int availableCapacity() {
+        return running ? admission.availablePermits() : 0;
+    }
+
+    /**
+     * Run a saga continuation on the worker pool
+     */
+    @Override
+    public void execute(Runnable step) {
+        workers.execute(step);
+    }
+
+    private void dispatch(Supplier<CompletableFuture<?>> saga) {
+        inFlight.incrementAndGet();
+        try {
+            CompletableFuture.supplyAsync(saga, workers)
+                    .thenCompose(future -> future)
+                    .whenComplete((result, ex) -> {
+                        if (ex != null) {
+                            log.error("Saga terminated with an unhandled exception", ex);
+                        }
+                        inFlight.decrementAndGet();
+                        admission.release();
+                    });
+        } catch (RejectedExecutionException e) {
+            inFlight.decrementAndGet();
+            admission.release();
+            log.error("Saga dropped because the executor is shut down");
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        log.info("Draining saga executor - in flight: {}, queued steps: {}", inFlight.get(), workers.getQueue().size());
+
+        try {
+            // All permits back means every admitted saga has finished
+            if (admission.tryAcquire(maxInFlight, drainTimeoutSeconds, TimeUnit.SECONDS)) {
+                admission.release(maxInFlight);
+            } else {
+                log.warn("Saga executor did not drain within {}s, {} sagas still running",
+                        drainTimeoutSeconds, inFlight.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    private static ThreadFactory sagaThreadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "saga-" + counter.incrementAndGet());
+            thread.setDaemon(false);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,152 @@
+package com.monat.ecommerce.order.infrastructure.saga;
+
+import com.monat.ecommerce.order.domain.model.SagaStep;
+import com.monat.ecommerce.order.domain.service.SagaStepRejectedException;
+import com.monat.ecommerce.order.infrastructure.grpc.DependencyUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Metrics and trace spans for saga execution
+ *
+ * Each saga execution and each step runs in an observation, which yields both a timer and a
+ * span. The step observation is current while the step issues its remote call, so the gRPC
+ * client interceptor creates the call span as its child and propagates the trace context to
+ * the downstream service. Step timers ({@code order.saga.step}) are tagged with the step and
+ * an outcome of {@code success}, {@code rejected} (the service refused) or {@code failed}.
+ * The end-to-end histogram ({@code order.saga.duration}) is measured from saga creation, so
+ * it includes queueing and any resumes after a restart.
+ */
+@Component
+public class SagaInstrumentation {
+
+    public static final String OUTCOME_SUCCESS = "success";
+    public static final String OUTCOME_REJECTED = "rejected";
+    public static final String OUTCOME_FAILED = "failed";
+
+    private static final String NO_DEPENDENCY = "none";
+
+    private final ObservationRegistry observationRegistry;
+    private final MeterRegistry meterRegistry;
+
+    public SagaInstrumentation(ObservationRegistry observationRegistry, MeterRegistry meterRegistry) {
+        this.observationRegistry = observationRegistry;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Start the observation spanning one execution of an order's saga
+     */
+    public Observation startSaga(UUID orderId) {
+        return Observation.createNotStarted("order.saga", observationRegistry)
+                .contextualName("order saga")
+                .highCardinalityKeyValue("order.id", orderId.toString())
+                .start();
+    }
+
+    /**
+     * Stop a saga execution observation once its future has completed
+     */
+    public void stopSaga(Observation saga, Throwable failure) {
+        if (failure != null) {
+            saga.error(unwrap(failure));
+        }
+        saga.stop();
+    }
+
+    /**
+     * Run a saga step in its own observation, tagged with the step it moves the saga to
+     */
+    public <T> CompletableFuture<T> observeStep(SagaStep step, Observation saga, Supplier<CompletableFuture<T>> action) {
+        Observation observation = Observation.createNotStarted("order.saga.step", observationRegistry)
+                .contextualName("saga " + step.name().toLowerCase())
+                .lowCardinalityKeyValue("step", step.name())
+                .parentObservation(saga)
+                .start();
+
+        CompletableFuture<T> future;
+        try (Observation.Scope ignored = observation.openScope()) {
+            future = action.get();
+        } catch (RuntimeException e) {
+            stopStep(observation, e);
+            throw e;
+        }
+
+        return future.whenComplete((result, ex) -> stopStep(observation, ex));
+    }
+
+    /**
+     * Count a saga that starts compensating, by the step it had reached and the failure cause
+     */
+    public void compensationStarted(SagaStep lastStep, Throwable cause) {
+        Throwable failure = unwrap(cause);
+        String reason = "error";
+        String dependency = NO_DEPENDENCY;
+        if (failure instanceof SagaStepRejectedException rejected) {
+            reason = rejected.getReason();
+        } else if (failure instanceof DependencyUnavailableException unavailable) {
+            reason = unavailable.getReason();
+            dependency = unavailable.getDependency();
+        }
+
+        Counter.builder("order.saga.compensations")
+                .description("Sagas that started compensating")
+                .tag("step", lastStep.name())
+                .tag("cause", reason)
+                .tag("dependency", dependency)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Count a saga left for the recovery scanner because a dependency's bulkhead was full
+     */
+    public void sagaDeferred(SagaStep lastStep, DependencyUnavailableException cause) {
+        Counter.builder("order.saga.deferred")
+                .description("Sagas paused for a later resume because a dependency was at capacity")
+                .tag("step", lastStep.name())
+                .tag("dependency", cause.getDependency())
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Record the end-to-end duration of a saga that reached a terminal state
+     */
+    public void sagaFinished(String outcome, Duration duration) {
+        Timer.builder("order.saga.duration")
+                .description("Time from saga creation until it completed or was compensated")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(10))
+                .maximumExpectedValue(Duration.ofMinutes(15))
+                .register(meterRegistry)
+                .record(duration);
+    }
+
+    private static void stopStep(Observation observation, Throwable failure) {
+        if (failure == null) {
+            observation.lowCardinalityKeyValue("outcome", OUTCOME_SUCCESS);
+        } else {
+            Throwable cause = unwrap(failure);
+            observation.lowCardinalityKeyValue("outcome",
+                    cause instanceof SagaStepRejectedException ? OUTCOME_REJECTED : OUTCOME_FAILED);
+            observation.error(cause);
+        }
+        observation.stop();
+    }
+
+    private static Throwable unwrap(Throwable ex) {
+        return ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+    }
+}
@@ -0,0 +1,203 @@
+package com.monat.ecommerce.order.infrastructure.saga;
+
+import com.monat.ecommerce.order.domain.model.OrderSagaState;
+import com.monat.ecommerce.order.domain.model.SagaStatus;
+import com.monat.ecommerce.order.domain.model.SagaStep;
+import com.monat.ecommerce.order.domain.repository.OrderSagaStateRepository;
+import com.monat.ecommerce.order.domain.service.OrderSagaOrchestrator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Resumes sagas that stopped making progress, e.g. because the instance running them died
+ *
+ * Stale sagas are claimed in batches with {@code FOR UPDATE SKIP LOCKED}, so replicas never
+ * claim the same rows. Claiming bumps {@code updated_at} and the version, which both hides the
+ * saga from other scanners until it goes stale again and fences off any previous owner.
+ *
+ * A saga that exceeds its attempts or the saga timeout before payment is compensated. Once the
+ * payment is captured only completion is left, so such a saga is rolled forward instead of
+ * refunded. Compensation has its own attempt budget; sagas that exhaust it, or that cannot be
+ * completed after payment, are parked as FAILED for manual intervention.
+ */
+@Slf4j
+@Component
+public class SagaRecoveryScheduler {
+
+    private final OrderSagaStateRepository sagaStateRepository;
+    private final OrderSagaOrchestrator sagaOrchestrator;
+    private final SagaExecutor sagaExecutor;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Duration staleAfter;
+    private final Duration sagaTimeout;
+    private final int batchSize;
+    private final int maxConcurrent;
+    private final int maxAttempts;
+    private final int maxCompensationAttempts;
+
+    private final AtomicInteger recovering = new AtomicInteger();
+    private final AtomicLong lagSeconds = new AtomicLong();
+    private final Counter resumedCounter;
+    private final Counter timedOutCounter;
+    private final Counter parkedCounter;
+
+    public SagaRecoveryScheduler(
+            OrderSagaStateRepository sagaStateRepository,
+            OrderSagaOrchestrator sagaOrchestrator,
+            SagaExecutor sagaExecutor,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${application.saga.recovery.stale-after-seconds:120}") long staleAfterSeconds,
+            @Value("${application.saga.timeout-minutes:15}") long sagaTimeoutMinutes,
+            @Value("${application.saga.recovery.batch-size:50}") int batchSize,
+            @Value("${application.saga.recovery.max-concurrent:100}") int maxConcurrent,
+            @Value("${application.saga.recovery.max-attempts:5}") int maxAttempts,
+            @Value("${application.saga.recovery.max-compensation-attempts:10}") int maxCompensationAttempts) {
+
+        this.sagaStateRepository = sagaStateRepository;
+        this.sagaOrchestrator = sagaOrchestrator;
+        this.sagaExecutor = sagaExecutor;
+        this.transactionTemplate = transactionTemplate;
+        this.staleAfter = Duration.ofSeconds(staleAfterSeconds);
+        this.sagaTimeout = Duration.ofMinutes(sagaTimeoutMinutes);
+        this.batchSize = batchSize;
+        this.maxConcurrent = maxConcurrent;
+        this.maxAttempts = maxAttempts;
+        this.maxCompensationAttempts = maxCompensationAttempts;
+
+        Gauge.builder("order.saga.recovery.lag", lagSeconds, AtomicLong::get)
+                .description("Time since the least recently progressed in-flight saga last advanced")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("order.saga.recovery.in_progress", recovering, AtomicInteger::get)
+                .description("Recovered sagas currently executing")
+                .register(meterRegistry);
+        this.resumedCounter = Counter.builder("order.saga.recovery.resumed")
+                .description("Stale sagas resumed by the recovery scanner")
+                .register(meterRegistry);
+        this.timedOutCounter = Counter.builder("order.saga.recovery.timed_out")
+                .description("Stale sagas moved to compensation after exceeding the saga timeout")
+                .register(meterRegistry);
+        this.parkedCounter = Counter.builder("order.saga.recovery.parked")
+                .description("Stale sagas marked FAILED for manual intervention after exhausting their attempts")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${application.saga.recovery.polling-interval-ms:30000}",
+               initialDelayString = "${application.saga.recovery.initial-delay-ms:30000}")
+    public void recoverStaleSagas() {
+        updateLag();
+
+        while (true) {
+            int limit = Math.min(batchSize,
+                    Math.min(maxConcurrent - recovering.get(), sagaExecutor.availableCapacity()));
+            if (limit <= 0) {
+                return;
+            }
+
+            ClaimedBatch batch = transactionTemplate.execute(status -> claimBatch(limit));
+            batch.orderIds().forEach(this::resume);
+
+            // A short or fully skipped page means there is nothing more to claim right now
+            if (batch.locked() < limit || batch.orderIds().isEmpty()) {
+                return;
+            }
+        }
+    }
+
+    private ClaimedBatch claimBatch(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<OrderSagaState> staleSagas = sagaStateRepository.lockStaleSagas(now.minus(staleAfter), limit);
+        List<UUID> claimed = new ArrayList<>(staleSagas.size());
+
+        for (OrderSagaState sagaState : staleSagas) {
+            // Slow but alive in this instance; leave it to its current execution
+            if (sagaOrchestrator.isRunning(sagaState.getOrderId())) {
+                continue;
+            }
+
+            // Dirtying the entity bumps updated_at and version on commit
+            if (sagaState.getStatus() == SagaStatus.COMPENSATING) {
+                sagaState.incrementCompensationAttempts();
+                if (sagaState.getCompensationAttempts() > maxCompensationAttempts) {
+                    park(sagaState, "Compensation did not finish after " + maxCompensationAttempts
+                            + " attempts at step " + sagaState.getCurrentStep());
+                    continue;
+                }
+            } else {
+                sagaState.incrementRetry();
+                boolean exhausted = sagaState.getRetryCount() > maxAttempts;
+                if (exhausted || sagaState.getCreatedAt().isBefore(now.minus(sagaTimeout))) {
+                    if (sagaState.getCurrentStep() != SagaStep.PAYMENT_PROCESSED) {
+                        sagaState.markAsCompensating();
+                        sagaState.setErrorMessage("Saga timed out at step " + sagaState.getCurrentStep());
+                        timedOutCounter.increment();
+                    } else if (exhausted) {
+                        // Paid orders are never refunded only because completion keeps failing
+                        park(sagaState, "Order is paid but could not be completed after " + maxAttempts + " attempts");
+                        continue;
+                    }
+                }
+            }
+
+            claimed.add(sagaState.getOrderId());
+        }
+
+        return new ClaimedBatch(staleSagas.size(), claimed);
+    }
+
+    private void park(OrderSagaState sagaState, String reason) {
+        String error = sagaState.getErrorMessage() != null
+                ? reason + ": " + sagaState.getErrorMessage()
+                : reason;
+        sagaState.markAsFailed(error.length() > 1000 ? error.substring(0, 1000) : error);
+        parkedCounter.increment();
+        log.error("Saga for order {} needs manual intervention: {}", sagaState.getOrderId(), reason);
+    }
+
+    private void resume(UUID orderId) {
+        recovering.incrementAndGet();
+        try {
+            sagaExecutor.submit(() -> executeSaga(orderId)
+                    .whenComplete((result, ex) -> recovering.decrementAndGet()));
+            resumedCounter.increment();
+            log.info("Resuming stale saga for order: {}", orderId);
+        } catch (SagaCapacityExceededException e) {
+            recovering.decrementAndGet();
+            log.warn("Saga executor saturated, order {} will be retried by a later scan", orderId);
+        }
+    }
+
+    private CompletableFuture<Void> executeSaga(UUID orderId) {
+        try {
+            return sagaOrchestrator.executeOrderSaga(orderId);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private void updateLag() {
+        lagSeconds.set(sagaStateRepository.findOldestActiveUpdate()
+                .map(oldest -> Duration.between(oldest, LocalDateTime.now()).toSeconds())
+                .orElse(0L));
+    }
+
+    private record ClaimedBatch(int locked, List<UUID> orderIds) {
+    }
+}
@@ -0,0 +1,226 @@
+package com.monat.ecommerce.order.infrastructure.streaming;
+
+import com.monat.ecommerce.common.exception.BusinessException;
+import com.monat.ecommerce.order.application.dto.OrderStatusResponse;
+import com.monat.ecommerce.order.domain.model.SagaTransitionEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Fans saga transitions out to server-sent event subscribers, per order
+ *
+ * Transitions arrive on saga worker threads, so writes to clients are handed to a single
+ * dispatcher thread, which also keeps the events of one order in order. A stream is completed
+ * once its order reaches a terminal state. Idle streams get a heartbeat comment so proxies do
+ * not cut them off.
+ */
+@Slf4j
+@Component
+public class OrderProgressHub implements SmartLifecycle {
+
+    public static final String EVENT_NAME = "order-status";
+
+    private final Map<UUID, Set<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    /** Streams that have been sent a transition, touched on the dispatcher thread only */
+    private final Set<SseEmitter> updated = Collections.newSetFromMap(new WeakHashMap<>());
+    private final Counter droppedCounter;
+
+    private final long streamTimeoutMs;
+    private final long heartbeatIntervalMs;
+    private final int maxSubscribers;
+
+    private volatile ScheduledExecutorService dispatcher;
+    private volatile boolean running;
+
+    public OrderProgressHub(
+            MeterRegistry meterRegistry,
+            @Value("${application.order-progress.stream-timeout-ms:300000}") long streamTimeoutMs,
+            @Value("${application.order-progress.heartbeat-interval-ms:15000}") long heartbeatIntervalMs,
+            @Value("${application.order-progress.max-subscribers:10000}") int maxSubscribers) {
+
+        this.streamTimeoutMs = streamTimeoutMs;
+        this.heartbeatIntervalMs = heartbeatIntervalMs;
+        this.maxSubscribers = maxSubscribers;
+
+        Gauge.builder("order.progress.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open order progress streams")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("order.progress.dropped")
+                .description("Order progress streams closed because a write failed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Open a stream for an order, starting with its current status
+     *
+     * The stream is registered before the status is read, so a transition that commits in
+     * between is still delivered. An in-flight status is only sent if no transition has been,
+     * a terminal one closes the stream.
+     */
+    public SseEmitter subscribe(UUID orderId, Supplier<OrderStatusResponse> currentStatus) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new BusinessException("Too many open order streams, please poll the status endpoint",
+                    "ORDER_STREAM_CAPACITY_EXCEEDED", 503);
+        }
+
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        subscribers.computeIfAbsent(orderId, id -> new CopyOnWriteArraySet<>()).add(emitter);
+
+        OrderStatusResponse current;
+        try {
+            current = currentStatus.get();
+        } catch (RuntimeException e) {
+            unsubscribe(orderId, emitter);
+            throw e;
+        }
+
+        emitter.onCompletion(() -> unsubscribe(orderId, emitter));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(ex -> unsubscribe(orderId, emitter));
+
+        dispatch(() -> {
+            // Gone if a terminal transition already closed the stream
+            if (!isSubscribed(orderId, emitter)) {
+                return;
+            }
+            if (current.isTerminal()) {
+                unsubscribe(orderId, emitter);
+                send(orderId, emitter, current);
+                emitter.complete();
+            } else if (!updated.contains(emitter)) {
+                send(orderId, emitter, current);
+            }
+        });
+        return emitter;
+    }
+
+    /**
+     * Runs after the transaction that recorded the transition commits, or immediately outside one
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSagaTransition(SagaTransitionEvent event) {
+        if (!subscribers.containsKey(event.orderId())) {
+            return;
+        }
+
+        OrderStatusResponse status = OrderStatusResponse.of(event);
+
+        dispatch(() -> {
+            Set<SseEmitter> emitters = subscribers.getOrDefault(event.orderId(), Set.of());
+            for (SseEmitter emitter : emitters) {
+                updated.add(emitter);
+                send(event.orderId(), emitter, status);
+                if (status.isTerminal()) {
+                    unsubscribe(event.orderId(), emitter);
+                    emitter.complete();
+                }
+            }
+        });
+    }
+
+    private void send(UUID orderId, SseEmitter emitter, OrderStatusResponse status) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .name(EVENT_NAME)
+                    .id(status.getSagaStep())
+                    .data(status));
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Closing order progress stream for order {}: {}", orderId, e.getMessage());
+            droppedCounter.increment();
+            unsubscribe(orderId, emitter);
+            emitter.completeWithError(e);
+        }
+    }
+
+    private void sendHeartbeats() {
+        subscribers.forEach((orderId, emitters) -> emitters.forEach(emitter -> {
+            try {
+                emitter.send(SseEmitter.event().comment("keep-alive"));
+            } catch (IOException | IllegalStateException e) {
+                droppedCounter.increment();
+                unsubscribe(orderId, emitter);
+                emitter.completeWithError(e);
+            }
+        }));
+    }
+
+    private boolean isSubscribed(UUID orderId, SseEmitter emitter) {
+        return subscribers.getOrDefault(orderId, Set.of()).contains(emitter);
+    }
+
+    private void unsubscribe(UUID orderId, SseEmitter emitter) {
+        subscribers.computeIfPresent(orderId, (id, emitters) -> {
+            if (emitters.remove(emitter)) {
+                subscriberCount.decrementAndGet();
+            }
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+
+    private void dispatch(Runnable task) {
+        ScheduledExecutorService executor = dispatcher;
+        if (executor == null) {
+            return;
+        }
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            log.debug("Order progress dispatcher stopped, dropping update");
+        }
+    }
+
+    @Override
+    public void start() {
+        dispatcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "order-progress");
+            thread.setDaemon(true);
+            return thread;
+        });
+        dispatcher.scheduleWithFixedDelay(this::sendHeartbeats,
+                heartbeatIntervalMs, heartbeatIntervalMs, TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        ScheduledExecutorService executor = dispatcher;
+        dispatcher = null;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        // Clients reconnect to another instance and resume from the status endpoint
+        subscribers.values().forEach(emitters -> emitters.forEach(SseEmitter::complete));
+        subscribers.clear();
+        subscriberCount.set(0);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -0,0 +1,9 @@
+-- V10__order_node_id_leases.sql
+-- Snowflake node ids for replicas without a configured node id. A replica leases a free id at
+-- startup and renews it while running, so no two live replicas share an id.
+CREATE TABLE IF NOT EXISTS order_node_id_leases (
+    node_id INTEGER PRIMARY KEY,
+    owner VARCHAR(255),
+    leased_until TIMESTAMP NOT NULL DEFAULT '-infinity'
+);
+INSERT INTO order_node_id_leases (node_id) SELECT n FROM generate_series(0, 1023) AS n;
@@ -0,0 +1,4 @@
+-- V2__add_saga_recovery_index.sql
+UPDATE order_saga_state SET updated_at = created_at WHERE updated_at IS NULL;
+CREATE INDEX idx_saga_state_active_updated_at ON order_saga_state(updated_at)
+    WHERE status IN ('STARTED', 'COMPENSATING');
@@ -0,0 +1,7 @@
+-- V4__outbox_retention_indexes.sql
+-- The relay only reads the unprocessed backlog, so index just that part of the table
+DROP INDEX IF EXISTS idx_outbox_processed;
+CREATE INDEX idx_outbox_unprocessed_created_at ON outbox_events(created_at) WHERE processed = false;
+
+-- Lets the purger find expired processed rows without scanning the backlog
+CREATE INDEX idx_outbox_processed_at ON outbox_events(processed_at) WHERE processed = true;
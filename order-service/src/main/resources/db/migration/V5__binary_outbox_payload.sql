@@ -0,0 +1,4 @@
+-- V5__binary_outbox_payload.sql
+-- Existing rows keep their JSON payload, tagged so the relay publishes them with the right content type
+ALTER TABLE outbox_events ADD COLUMN content_type VARCHAR(100) NOT NULL DEFAULT 'application/json';
+ALTER TABLE outbox_events ALTER COLUMN payload TYPE BYTEA USING convert_to(payload, 'UTF8');
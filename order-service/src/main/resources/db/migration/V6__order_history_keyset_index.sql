@@ -0,0 +1,5 @@
+-- V6__order_history_keyset_index.sql
+-- Serves keyset-paginated order history: (created_at, id) DESC within a user, index-only
+-- for the page of ids. Supersedes the plain user_id index, which is a prefix of this one.
+CREATE INDEX idx_orders_user_created ON orders(user_id, created_at DESC, id DESC);
+DROP INDEX IF EXISTS idx_user_id;
@@ -0,0 +1,12 @@
+-- V7__order_idempotency_keys.sql
+-- Idempotency-Key of order creation requests, scoped per user. The row is claimed in the same
+-- transaction that creates the order, so a concurrent retry waits on it and then replays.
+CREATE TABLE IF NOT EXISTS order_idempotency_keys (
+    user_id UUID NOT NULL,
+    idempotency_key VARCHAR(255) NOT NULL,
+    request_hash VARCHAR(64) NOT NULL,
+    order_id UUID,
+    created_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (user_id, idempotency_key)
+);
+CREATE INDEX idx_order_idempotency_created_at ON order_idempotency_keys(created_at);
@@ -0,0 +1,3 @@
+-- V8__saga_compensation_attempts.sql
+-- Compensation is resumed with its own attempt budget, separate from the forward retry count
+ALTER TABLE order_saga_state ADD COLUMN compensation_attempts INTEGER NOT NULL DEFAULT 0;
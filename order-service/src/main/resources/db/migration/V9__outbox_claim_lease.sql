@@ -0,0 +1,5 @@
+-- V9__outbox_claim_lease.sql
+-- The relay claims a batch with a token and a lease in a short transaction and sends it outside
+-- of any transaction; rows whose lease expired are claimable again
+ALTER TABLE outbox_events ADD COLUMN claim_token UUID;
+ALTER TABLE outbox_events ADD COLUMN claimed_until TIMESTAMP;
@@ -0,0 +1,35 @@
+package com.monat.ecommerce.order.application.dto;
+
+import com.monat.ecommerce.common.exception.ValidationException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for OrderHistoryCursor
+ */
+class OrderHistoryCursorTest {
+
+    @Test
+    void encode_RoundTripsWithMicrosecondPrecision() {
+        OrderHistoryCursor cursor = new OrderHistoryCursor(
+                LocalDateTime.of(2026, 3, 14, 15, 9, 26, 535_897_000), UUID.randomUUID());
+
+        String token = cursor.encode();
+
+        assertThat(token).doesNotContain("=", "+", "/");
+        assertThat(OrderHistoryCursor.decode(token)).isEqualTo(cursor);
+    }
+
+    @Test
+    void decode_RejectsMalformedTokens() {
+        assertThatThrownBy(() -> OrderHistoryCursor.decode("not a cursor"))
+                .isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> OrderHistoryCursor.decode("MjAyNi0wMy0xNA"))
+                .isInstanceOf(ValidationException.class);
+    }
+}
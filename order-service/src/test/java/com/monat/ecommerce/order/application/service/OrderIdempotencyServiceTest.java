@@ -0,0 +1,113 @@
+package com.monat.ecommerce.order.application.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.monat.ecommerce.order.application.dto.CreateOrderRequest;
+import com.monat.ecommerce.order.application.dto.OrderItemRequest;
+import com.monat.ecommerce.order.domain.model.OrderIdempotencyKey;
+import com.monat.ecommerce.order.domain.repository.OrderIdempotencyKeyRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for OrderIdempotencyService
+ */
+class OrderIdempotencyServiceTest {
+
+    private static final String KEY = "checkout-42";
+
+    private OrderIdempotencyKeyRepository repository;
+    private OrderIdempotencyService service;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(OrderIdempotencyKeyRepository.class);
+        service = new OrderIdempotencyService(repository, new ObjectMapper(), new SimpleMeterRegistry(), 24, 100, 600);
+        userId = UUID.randomUUID();
+    }
+
+    @Test
+    void claimOrFindOrder_NewKey_ClaimsIt() {
+        when(repository.insertIfAbsent(eq(userId), eq(KEY), anyString(), any())).thenReturn(1);
+
+        Optional<UUID> existing = service.claimOrFindOrder(userId, KEY, service.fingerprint(request(2)));
+
+        assertThat(existing).isEmpty();
+        verify(repository, never()).findById(any());
+    }
+
+    @Test
+    void claimOrFindOrder_UsedKey_ReplaysOrderAndCachesIt() {
+        UUID orderId = UUID.randomUUID();
+        String hash = service.fingerprint(request(2));
+        when(repository.insertIfAbsent(eq(userId), eq(KEY), anyString(), any())).thenReturn(0);
+        when(repository.findById(new OrderIdempotencyKey.Key(userId, KEY))).thenReturn(Optional.of(
+                OrderIdempotencyKey.builder().userId(userId).idempotencyKey(KEY).requestHash(hash).orderId(orderId).build()));
+
+        assertThat(service.claimOrFindOrder(userId, KEY, hash)).contains(orderId);
+        assertThat(service.claimOrFindOrder(userId, KEY, hash)).contains(orderId);
+
+        verify(repository, times(1)).insertIfAbsent(any(), any(), any(), any());
+        verify(repository, times(1)).findById(any());
+    }
+
+    @Test
+    void claimOrFindOrder_UsedKeyWithDifferentRequest_Rejected() {
+        String originalHash = service.fingerprint(request(2));
+        when(repository.insertIfAbsent(eq(userId), eq(KEY), anyString(), any())).thenReturn(0);
+        when(repository.findById(new OrderIdempotencyKey.Key(userId, KEY))).thenReturn(Optional.of(
+                OrderIdempotencyKey.builder().requestHash(originalHash).orderId(UUID.randomUUID()).build()));
+
+        assertThatThrownBy(() -> service.claimOrFindOrder(userId, KEY, service.fingerprint(request(3))))
+                .isInstanceOf(IdempotencyKeyReusedException.class);
+    }
+
+    @Test
+    void findCompletedOrder_CommittedKey_ReplaysWithoutClaiming() {
+        UUID orderId = UUID.randomUUID();
+        String hash = service.fingerprint(request(2));
+        when(repository.findById(new OrderIdempotencyKey.Key(userId, KEY))).thenReturn(Optional.of(
+                OrderIdempotencyKey.builder().userId(userId).idempotencyKey(KEY).requestHash(hash).orderId(orderId).build()));
+
+        assertThat(service.findCompletedOrder(userId, KEY, hash)).contains(orderId);
+        assertThat(service.findCompletedOrder(userId, KEY, hash)).contains(orderId);
+
+        verify(repository, times(1)).findById(any());
+        verify(repository, never()).insertIfAbsent(any(), any(), any(), any());
+    }
+
+    @Test
+    void findCompletedOrder_KeyStillBeingProcessed_ReturnsEmpty() {
+        String hash = service.fingerprint(request(2));
+        when(repository.findById(new OrderIdempotencyKey.Key(userId, KEY))).thenReturn(Optional.of(
+                OrderIdempotencyKey.builder().userId(userId).idempotencyKey(KEY).requestHash(hash).build()));
+
+        assertThat(service.findCompletedOrder(userId, KEY, hash)).isEmpty();
+        verify(repository, never()).insertIfAbsent(any(), any(), any(), any());
+    }
+
+    @Test
+    void fingerprint_DependsOnRequestContent() {
+        assertThat(service.fingerprint(request(2))).isEqualTo(service.fingerprint(request(2)));
+        assertThat(service.fingerprint(request(2))).isNotEqualTo(service.fingerprint(request(3)));
+    }
+
+    private CreateOrderRequest request(int quantity) {
+        return CreateOrderRequest.builder()
+                .userId(userId)
+                .items(List.of(OrderItemRequest.builder().productId("PROD-001").quantity(quantity).build()))
+                .build();
+    }
+}
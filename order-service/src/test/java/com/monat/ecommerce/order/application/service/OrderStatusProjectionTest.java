@@ -0,0 +1,74 @@
+package com.monat.ecommerce.order.application.service;
+
+import com.monat.ecommerce.order.application.dto.OrderStatusResponse;
+import com.monat.ecommerce.order.domain.model.OrderSagaState;
+import com.monat.ecommerce.order.domain.model.OrderStatus;
+import com.monat.ecommerce.order.domain.model.SagaStatus;
+import com.monat.ecommerce.order.domain.model.SagaStep;
+import com.monat.ecommerce.order.domain.model.SagaTransitionEvent;
+import com.monat.ecommerce.order.domain.repository.OrderSagaStateRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for OrderStatusProjection
+ */
+class OrderStatusProjectionTest {
+
+    private OrderSagaStateRepository sagaStateRepository;
+    private OrderStatusProjection projection;
+
+    @BeforeEach
+    void setUp() {
+        sagaStateRepository = mock(OrderSagaStateRepository.class);
+        projection = new OrderStatusProjection(sagaStateRepository, new SimpleMeterRegistry(), 100, 30, 3600);
+    }
+
+    @Test
+    void getStatus_AfterTransition_ServedWithoutDatabase() {
+        UUID orderId = UUID.randomUUID();
+
+        projection.onSagaTransition(new SagaTransitionEvent(orderId, OrderStatus.PENDING,
+                SagaStep.STOCK_RESERVED, SagaStatus.STARTED, null, LocalDateTime.now()));
+        projection.onSagaTransition(new SagaTransitionEvent(orderId, OrderStatus.COMPLETED,
+                SagaStep.ORDER_COMPLETED, SagaStatus.COMPLETED, null, LocalDateTime.now()));
+
+        OrderStatusResponse status = projection.getStatus(orderId).orElseThrow();
+        assertThat(status.getStatus()).isEqualTo("COMPLETED");
+        assertThat(status.getSagaStep()).isEqualTo("ORDER_COMPLETED");
+        assertThat(status.isTerminal()).isTrue();
+        verifyNoInteractions(sagaStateRepository);
+    }
+
+    @Test
+    void getStatus_Miss_LoadsFromSagaStateOnce() {
+        UUID orderId = UUID.randomUUID();
+        when(sagaStateRepository.findByOrderId(orderId)).thenReturn(Optional.of(OrderSagaState.builder()
+                .orderId(orderId)
+                .currentStep(SagaStep.COMPENSATION_COMPLETED)
+                .status(SagaStatus.COMPENSATED)
+                .errorMessage("Card declined")
+                .build()));
+
+        OrderStatusResponse status = projection.getStatus(orderId).orElseThrow();
+        projection.getStatus(orderId);
+
+        assertThat(status.getStatus()).isEqualTo("FAILED");
+        assertThat(status.getFailureReason()).isEqualTo("Card declined");
+        assertThat(status.isTerminal()).isTrue();
+        verify(sagaStateRepository, times(1)).findByOrderId(orderId);
+    }
+
+    @Test
+    void getStatus_UnknownOrder_IsEmpty() {
+        assertThat(projection.getStatus(UUID.randomUUID())).isEmpty();
+    }
+}
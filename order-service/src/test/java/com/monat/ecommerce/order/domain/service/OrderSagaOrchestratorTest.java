@@ -0,0 +1,337 @@
+package com.monat.ecommerce.order.domain.service;
+
+import com.monat.ecommerce.events.BaseEvent;
+import com.monat.ecommerce.events.codec.OrderEventCodec;
+import com.monat.ecommerce.events.order.OrderCancelledEvent;
+import com.monat.ecommerce.grpc.inventory.*;
+import com.monat.ecommerce.grpc.payment.*;
+import com.monat.ecommerce.grpc.user.*;
+import com.monat.ecommerce.order.domain.model.*;
+import com.monat.ecommerce.order.domain.repository.OrderRepository;
+import com.monat.ecommerce.order.domain.repository.OrderSagaStateRepository;
+import com.monat.ecommerce.order.domain.repository.OutboxEventRepository;
+import com.monat.ecommerce.order.infrastructure.grpc.DependencyUnavailableException;
+import com.monat.ecommerce.order.infrastructure.grpc.InventoryServiceClient;
+import com.monat.ecommerce.order.infrastructure.grpc.PaymentServiceClient;
+import com.monat.ecommerce.order.infrastructure.grpc.UserServiceClient;
+import com.monat.ecommerce.order.infrastructure.saga.SagaExecutor;
+import com.monat.ecommerce.order.infrastructure.saga.SagaInstrumentation;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for OrderSagaOrchestrator
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class OrderSagaOrchestratorTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private OrderSagaStateRepository sagaStateRepository;
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private InventoryServiceClient inventoryService;
+
+    @Mock
+    private PaymentServiceClient paymentService;
+
+    @Mock
+    private UserServiceClient userService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OrderSagaOrchestrator orchestrator;
+    private Order order;
+    private OrderSagaState sagaState;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        ObservationRegistry observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig().observationHandler(new DefaultMeterObservationHandler(meterRegistry));
+
+        orchestrator = new OrderSagaOrchestrator(
+                orderRepository,
+                sagaStateRepository,
+                outboxEventRepository,
+                new TransactionTemplate(transactionManager),
+                new SagaExecutor(new SimpleMeterRegistry(), 2, 10, 1),
+                inventoryService,
+                paymentService,
+                userService,
+                eventPublisher,
+                new SagaInstrumentation(observationRegistry, meterRegistry));
+        ReflectionTestUtils.setField(orchestrator, "parallelValidation", true);
+
+        order = Order.builder()
+                .id(UUID.randomUUID())
+                .orderNumber("ORD-1")
+                .userId(UUID.randomUUID())
+                .totalAmount(BigDecimal.valueOf(100))
+                .build();
+        order.addItem(OrderItem.builder()
+                .productId("PROD-001")
+                .productName("Laptop")
+                .quantity(1)
+                .unitPrice(BigDecimal.valueOf(100))
+                .subtotal(BigDecimal.valueOf(100))
+                .build());
+
+        sagaState = OrderSagaState.builder()
+                .id(UUID.randomUUID())
+                .orderId(order.getId())
+                .createdAt(LocalDateTime.now())
+                .version(0L)
+                .build();
+
+        when(orderRepository.findByIdWithItems(order.getId())).thenReturn(Optional.of(order));
+        when(sagaStateRepository.findByOrderId(order.getId())).thenReturn(Optional.of(sagaState));
+        when(sagaStateRepository.checkpoint(any(), anyLong(), any(), any(), any(), any(), any(), any())).thenReturn(1);
+        when(sagaStateRepository.checkpointWithOrder(any(), anyLong(), any(), any(), any(), any(), any(), any(),
+                any(), any(), any())).thenReturn(1);
+
+        when(userService.validateUser(any())).thenReturn(CompletableFuture.completedFuture(
+                ValidateUserResponse.newBuilder().setIsValid(true).setIsActive(true).build()));
+        when(inventoryService.reserveStock(any())).thenReturn(CompletableFuture.completedFuture(
+                ReserveStockResponse.newBuilder().setSuccess(true).setReservationId("RES-1").build()));
+        when(inventoryService.commitStock(any())).thenReturn(CompletableFuture.completedFuture(
+                CommitStockResponse.newBuilder().setSuccess(true).build()));
+        when(inventoryService.releaseStock(any())).thenReturn(CompletableFuture.completedFuture(
+                ReleaseStockResponse.newBuilder().setSuccess(true).build()));
+    }
+
+    @Test
+    void executeOrderSaga_CompletesOrder() throws Exception {
+        // Given
+        when(paymentService.processPayment(any())).thenReturn(CompletableFuture.completedFuture(
+                ProcessPaymentResponse.newBuilder()
+                        .setSuccess(true)
+                        .setPaymentId("PAY-1")
+                        .setPaymentReference("REF-1")
+                        .build()));
+
+        // When
+        orchestrator.executeOrderSaga(order.getId()).get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(sagaState.getStatus()).isEqualTo(SagaStatus.COMPLETED);
+        assertThat(sagaState.getCurrentStep()).isEqualTo(SagaStep.ORDER_COMPLETED);
+        assertThat(sagaState.getReservationId()).isEqualTo("RES-1");
+        assertThat(sagaState.getPaymentId()).isEqualTo("PAY-1");
+        // Checkpoints before payment, before committing stock and on completion; the last two carry the order
+        verify(sagaStateRepository).checkpoint(eq(sagaState.getId()), eq(0L), eq(SagaStep.STOCK_RESERVED),
+                eq(SagaStatus.STARTED), eq("RES-1"), isNull(), isNull(), any());
+        verify(sagaStateRepository).checkpointWithOrder(eq(sagaState.getId()), eq(1L), eq("PAYMENT_PROCESSED"),
+                eq("STARTED"), eq("RES-1"), eq("PAY-1"), isNull(), any(), eq("PENDING"), eq("REF-1"), isNull());
+        verify(sagaStateRepository).checkpointWithOrder(eq(sagaState.getId()), eq(2L), eq("ORDER_COMPLETED"),
+                eq("COMPLETED"), eq("RES-1"), eq("PAY-1"), isNull(), any(), eq("COMPLETED"), eq("REF-1"), isNull());
+        verify(sagaStateRepository, never()).save(any());
+        assertThat(sagaState.getVersion()).isEqualTo(3L);
+        verify(inventoryService).commitStock(any());
+        verify(inventoryService, never()).releaseStock(any());
+        verify(outboxEventRepository).save(argThat(event -> "OrderCompleted".equals(event.getEventType())));
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof SagaTransitionEvent transition
+                && transition.step() == SagaStep.ORDER_COMPLETED
+                && transition.orderStatus() == OrderStatus.COMPLETED));
+
+        for (SagaStep step : new SagaStep[]{SagaStep.USER_VALIDATED, SagaStep.STOCK_RESERVED,
+                SagaStep.PAYMENT_PROCESSED, SagaStep.ORDER_COMPLETED}) {
+            assertThat(meterRegistry.get("order.saga.step")
+                    .tag("step", step.name())
+                    .tag("outcome", "success")
+                    .timer().count()).isEqualTo(1);
+        }
+        assertThat(meterRegistry.get("order.saga.duration").tag("outcome", "completed").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.find("order.saga.compensations").counter()).isNull();
+    }
+
+    @Test
+    void executeOrderSaga_PaymentDeclined_ReleasesStock() throws Exception {
+        // Given
+        when(paymentService.processPayment(any())).thenReturn(CompletableFuture.completedFuture(
+                ProcessPaymentResponse.newBuilder().setSuccess(false).setMessage("Card declined").build()));
+
+        // When
+        orchestrator.executeOrderSaga(order.getId()).get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(sagaState.getStatus()).isEqualTo(SagaStatus.COMPENSATED);
+        assertThat(sagaState.getErrorMessage()).contains("Card declined");
+        verify(inventoryService).releaseStock(argThat(request -> "RES-1".equals(request.getReservationId())));
+        verify(paymentService, never()).refundPayment(any());
+        verify(sagaStateRepository).checkpointWithOrder(any(), anyLong(), eq("COMPENSATION_COMPLETED"),
+                eq("COMPENSATED"), any(), isNull(), anyString(), any(), eq("FAILED"), isNull(), contains("Card declined"));
+        verify(outboxEventRepository).save(argThat(event -> "OrderCancelled".equals(event.getEventType())));
+
+        assertThat(meterRegistry.get("order.saga.step")
+                .tag("step", SagaStep.PAYMENT_PROCESSED.name())
+                .tag("outcome", "rejected")
+                .timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("order.saga.compensations")
+                .tag("step", SagaStep.STOCK_RESERVED.name())
+                .tag("cause", "payment_declined")
+                .counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("order.saga.duration").tag("outcome", "compensated").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void executeOrderSaga_OutboxPayloadCarriesAggregateMetadata() throws Exception {
+        // Given
+        when(paymentService.processPayment(any())).thenReturn(CompletableFuture.completedFuture(
+                ProcessPaymentResponse.newBuilder().setSuccess(false).setMessage("Card declined").build()));
+
+        // When
+        orchestrator.executeOrderSaga(order.getId()).get(5, TimeUnit.SECONDS);
+
+        // Then
+        ArgumentCaptor<OutboxEvent> outboxEvent = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxEventRepository).save(outboxEvent.capture());
+        BaseEvent decoded = OrderEventCodec.decode(outboxEvent.getValue().getEventType(),
+                outboxEvent.getValue().getPayload());
+        assertThat(decoded).isInstanceOf(OrderCancelledEvent.class);
+        assertThat(decoded.getAggregateId()).isEqualTo(order.getId().toString());
+        assertThat(decoded.getAggregateType()).isEqualTo("Order");
+    }
+
+    @Test
+    void executeOrderSaga_InvalidUser_ReleasesParallelReservation() throws Exception {
+        // Given
+        when(userService.validateUser(any())).thenReturn(CompletableFuture.completedFuture(
+                ValidateUserResponse.newBuilder().setIsValid(false).setMessage("User not found").build()));
+
+        // When
+        orchestrator.executeOrderSaga(order.getId()).get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(sagaState.getStatus()).isEqualTo(SagaStatus.COMPENSATED);
+        verify(inventoryService).releaseStock(argThat(request -> "RES-1".equals(request.getReservationId())));
+        verify(paymentService, never()).processPayment(any());
+    }
+
+    @Test
+    void executeOrderSaga_FailsWithNothingToUndo_WritesOnlyFinalState() throws Exception {
+        // Given
+        when(userService.validateUser(any())).thenReturn(CompletableFuture.completedFuture(
+                ValidateUserResponse.newBuilder().setIsValid(false).setMessage("User not found").build()));
+        when(inventoryService.reserveStock(any())).thenReturn(CompletableFuture.completedFuture(
+                ReserveStockResponse.newBuilder().setSuccess(false).setMessage("Out of stock").build()));
+
+        // When
+        orchestrator.executeOrderSaga(order.getId()).get(5, TimeUnit.SECONDS);
+
+        // Then - the compensating transition is folded into the final checkpoint
+        assertThat(sagaState.getStatus()).isEqualTo(SagaStatus.COMPENSATED);
+        verify(inventoryService, never()).releaseStock(any());
+        verify(sagaStateRepository, never()).checkpoint(any(), anyLong(), any(), any(), any(), any(), any(), any());
+        verify(sagaStateRepository, times(1)).checkpointWithOrder(any(), anyLong(), any(), any(), any(), any(),
+                any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void executeOrderSaga_PaymentBulkheadFull_DefersWithoutCompensating() throws Exception {
+        // Given
+        when(paymentService.processPayment(any())).thenReturn(CompletableFuture.failedFuture(
+                new DependencyUnavailableException("payment-service", DependencyUnavailableException.REASON_BULKHEAD_FULL,
+                        "Payment service unavailable: Bulkhead is full", null)));
+
+        // When
+        orchestrator.executeOrderSaga(order.getId()).get(5, TimeUnit.SECONDS);
+
+        // Then - the reservation is kept and the saga waits for the recovery scanner
+        assertThat(sagaState.getStatus()).isEqualTo(SagaStatus.STARTED);
+        assertThat(sagaState.getCurrentStep()).isEqualTo(SagaStep.STOCK_RESERVED);
+        assertThat(orchestrator.isRunning(order.getId())).isFalse();
+        verify(inventoryService, never()).releaseStock(any());
+        verify(outboxEventRepository, never()).save(any());
+        assertThat(meterRegistry.get("order.saga.deferred")
+                .tag("step", SagaStep.STOCK_RESERVED.name())
+                .tag("dependency", "payment-service")
+                .counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.find("order.saga.compensations").counter()).isNull();
+    }
+
+    @Test
+    void executeOrderSaga_ResumedAfterDeferredValidation_KeepsReservation() throws Exception {
+        // Given - stock was reserved by the attempt whose user validation hit a full bulkhead
+        sagaState.setReservationId("RES-0");
+        when(paymentService.processPayment(any())).thenReturn(CompletableFuture.completedFuture(
+                ProcessPaymentResponse.newBuilder().setSuccess(true).setPaymentId("PAY-1").build()));
+
+        // When
+        orchestrator.executeOrderSaga(order.getId()).get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(sagaState.getStatus()).isEqualTo(SagaStatus.COMPLETED);
+        assertThat(sagaState.getReservationId()).isEqualTo("RES-0");
+        verify(inventoryService, never()).reserveStock(any());
+        verify(inventoryService).commitStock(argThat(request -> "RES-0".equals(request.getReservationId())));
+    }
+
+    @Test
+    void executeOrderSaga_StockRejectedWhileUserBulkheadFull_Compensates() throws Exception {
+        // Given
+        when(userService.validateUser(any())).thenReturn(CompletableFuture.failedFuture(
+                new DependencyUnavailableException("user-service", DependencyUnavailableException.REASON_BULKHEAD_FULL,
+                        "User service unavailable: Bulkhead is full", null)));
+        when(inventoryService.reserveStock(any())).thenReturn(CompletableFuture.completedFuture(
+                ReserveStockResponse.newBuilder().setSuccess(false).setMessage("Out of stock").build()));
+
+        // When
+        orchestrator.executeOrderSaga(order.getId()).get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(sagaState.getStatus()).isEqualTo(SagaStatus.COMPENSATED);
+        assertThat(sagaState.getErrorMessage()).contains("Out of stock");
+    }
+
+    @Test
+    void executeOrderSaga_ConcurrentlyClaimed_StopsAtCheckpoint() throws Exception {
+        // Given - the recovery scanner bumped the version while the saga was validating
+        when(sagaStateRepository.checkpoint(any(), anyLong(), any(), any(), any(), any(), any(), any())).thenReturn(0);
+
+        // When
+        CompletableFuture<Void> saga = orchestrator.executeOrderSaga(order.getId());
+
+        // Then
+        assertThat(saga).failsWithin(5, TimeUnit.SECONDS);
+        verify(paymentService, never()).processPayment(any());
+    }
+}
@@ -0,0 +1,83 @@
+package com.monat.ecommerce.order.infrastructure.catalog;
+
+import com.monat.ecommerce.order.domain.model.ProductPrice;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CachingProductPriceResolver
+ */
+class CachingProductPriceResolverTest {
+
+    private ProductCatalogClient catalogClient;
+    private CachingProductPriceResolver resolver;
+
+    @BeforeEach
+    void setUp() {
+        catalogClient = mock(ProductCatalogClient.class);
+        when(catalogClient.fetchPrices(anyCollection())).thenAnswer(invocation -> {
+            Collection<String> ids = invocation.getArgument(0);
+            return ids.stream()
+                    .filter(id -> !id.startsWith("UNKNOWN"))
+                    .collect(Collectors.toMap(Function.identity(), CachingProductPriceResolverTest::price));
+        });
+        resolver = new CachingProductPriceResolver(catalogClient, new SimpleMeterRegistry(), 100, 300);
+    }
+
+    @Test
+    void resolvePrices_FetchesAllMissesInOneRequest() {
+        Map<String, ProductPrice> prices = resolver.resolvePrices(List.of("PROD-1", "PROD-2", "PROD-3"));
+
+        assertThat(prices).containsOnlyKeys("PROD-1", "PROD-2", "PROD-3");
+        verify(catalogClient, times(1)).fetchPrices(anyCollection());
+    }
+
+    @Test
+    void resolvePrices_ServesCachedPricesAndFetchesOnlyMisses() {
+        resolver.resolvePrices(List.of("PROD-1", "PROD-2"));
+        clearInvocations(catalogClient);
+
+        resolver.resolvePrices(List.of("PROD-1", "PROD-2"));
+        verifyNoInteractions(catalogClient);
+
+        resolver.resolvePrices(List.of("PROD-1", "PROD-3"));
+        verify(catalogClient).fetchPrices(argThat(ids -> ids.size() == 1 && ids.contains("PROD-3")));
+    }
+
+    @Test
+    void resolvePrices_UnknownProductsAreOmittedAndNotCached() {
+        assertThat(resolver.resolvePrices(List.of("PROD-1", "UNKNOWN-1"))).containsOnlyKeys("PROD-1");
+        clearInvocations(catalogClient);
+
+        resolver.resolvePrices(List.of("UNKNOWN-1"));
+        verify(catalogClient).fetchPrices(any());
+    }
+
+    @Test
+    void invalidate_ForcesRefetchOfThatProductOnly() {
+        resolver.resolvePrices(List.of("PROD-1", "PROD-2"));
+        clearInvocations(catalogClient);
+
+        resolver.invalidate("PROD-1");
+        resolver.resolvePrices(List.of("PROD-1", "PROD-2"));
+
+        verify(catalogClient).fetchPrices(argThat(ids -> ids.size() == 1 && ids.contains("PROD-1")));
+    }
+
+    private static ProductPrice price(String productId) {
+        return new ProductPrice(productId, "Product " + productId, new BigDecimal("19.99"), "USD", true);
+    }
+}
@@ -0,0 +1,57 @@
+package com.monat.ecommerce.order.infrastructure.config;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.config.YamlPropertiesFactoryBean;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.io.ClassPathResource;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the Resilience4j settings in application-resilience.yml against the gRPC deadlines
+ */
+class ResilienceConfigurationTest {
+
+    private static final Properties PROPERTIES = load("application.yml", "application-resilience.yml");
+
+    @ParameterizedTest
+    @ValueSource(strings = {"inventory-service", "payment-service", "user-service"})
+    void timeLimiter_CoversEveryRetryAttempt(String service) {
+        // Given
+        int maxAttempts = Integer.parseInt(retryProperty(service, "maxAttempts"));
+        Duration wait = duration(retryProperty(service, "waitDuration"));
+        double multiplier = Double.parseDouble(retryProperty(service, "exponentialBackoffMultiplier"));
+        Duration deadline = Duration.ofMillis(Long.parseLong(PROPERTIES.getProperty("application.grpc.deadline-ms." + service)));
+
+        // When
+        Duration budget = deadline.multipliedBy(maxAttempts);
+        for (int attempt = 1; attempt < maxAttempts; attempt++) {
+            budget = budget.plusMillis(Math.round(wait.toMillis() * Math.pow(multiplier, attempt - 1)));
+        }
+
+        // Then
+        assertThat(duration(PROPERTIES.getProperty("resilience4j.timelimiter.instances." + service + ".timeoutDuration")))
+                .isGreaterThanOrEqualTo(budget);
+    }
+
+    private static String retryProperty(String service, String name) {
+        String value = PROPERTIES.getProperty("resilience4j.retry.instances." + service + "." + name);
+        return value != null ? value : PROPERTIES.getProperty("resilience4j.retry.configs.default." + name);
+    }
+
+    private static Duration duration(String value) {
+        return DurationStyle.detectAndParse(value);
+    }
+
+    private static Properties load(String... resources) {
+        YamlPropertiesFactoryBean factory = new YamlPropertiesFactoryBean();
+        factory.setResources(Arrays.stream(resources).map(ClassPathResource::new)
+                .toArray(ClassPathResource[]::new));
+        return factory.getObject();
+    }
+}
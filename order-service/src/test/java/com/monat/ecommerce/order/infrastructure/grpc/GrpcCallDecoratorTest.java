@@ -0,0 +1,135 @@
+package com.monat.ecommerce.order.infrastructure.grpc;
+
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.grpc.Status;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for GrpcCallDecorator
+ */
+class GrpcCallDecoratorTest {
+
+    private static final String SERVICE = "payment-service";
+
+    private ScheduledExecutorService scheduler;
+    private SimpleMeterRegistry meterRegistry;
+    private GrpcCallDecorator decorator;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        meterRegistry = new SimpleMeterRegistry();
+        decorator = new GrpcCallDecorator(
+                CircuitBreakerRegistry.ofDefaults(),
+                RetryRegistry.of(RetryConfig.custom()
+                        .maxAttempts(3)
+                        .waitDuration(Duration.ofMillis(10))
+                        .retryOnException(new RetryableGrpcFailurePredicate())
+                        .build()),
+                BulkheadRegistry.of(BulkheadConfig.custom()
+                        .maxConcurrentCalls(1)
+                        .maxWaitDuration(Duration.ZERO)
+                        .build()),
+                TimeLimiterRegistry.of(TimeLimiterConfig.custom()
+                        .timeoutDuration(Duration.ofMillis(200))
+                        .build()),
+                scheduler,
+                meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    void execute_RetriesUnavailable() throws Exception {
+        // Given
+        AtomicInteger attempts = new AtomicInteger();
+
+        // When
+        String result = decorator.execute(SERVICE, "Payment", () -> attempts.incrementAndGet() < 3
+                        ? CompletableFuture.failedFuture(Status.UNAVAILABLE.asRuntimeException())
+                        : CompletableFuture.completedFuture("ok"))
+                .get(1, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(result).isEqualTo("ok");
+        assertThat(attempts).hasValue(3);
+    }
+
+    @Test
+    void execute_DoesNotRetryDeadlineExceeded() {
+        // Given
+        AtomicInteger attempts = new AtomicInteger();
+
+        // When
+        CompletableFuture<String> result = decorator.execute(SERVICE, "Payment", () -> {
+            attempts.incrementAndGet();
+            return CompletableFuture.failedFuture(Status.DEADLINE_EXCEEDED.asRuntimeException());
+        });
+
+        // Then
+        assertFailure(result, "deadline_exceeded");
+        assertThat(attempts).hasValue(1);
+    }
+
+    @Test
+    void execute_BulkheadFull_RejectsWithoutCalling() {
+        // Given
+        decorator.execute(SERVICE, "Payment", CompletableFuture::new);
+        AtomicInteger attempts = new AtomicInteger();
+
+        // When
+        CompletableFuture<String> result = decorator.execute(SERVICE, "Payment", () -> {
+            attempts.incrementAndGet();
+            return CompletableFuture.completedFuture("ok");
+        });
+
+        // Then
+        assertFailure(result, "bulkhead_full");
+        assertThat(attempts).hasValue(0);
+    }
+
+    @Test
+    void execute_SlowCall_TimesOut() {
+        // When
+        CompletableFuture<String> result = decorator.execute(SERVICE, "Payment", CompletableFuture::new);
+
+        // Then
+        assertFailure(result, "timeout");
+    }
+
+    private void assertFailure(CompletableFuture<?> result, String reason) {
+        assertThatThrownBy(() -> result.get(1, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .cause()
+                .isInstanceOf(DependencyUnavailableException.class)
+                .hasMessageStartingWith("Payment service unavailable");
+        assertThat(meterRegistry.get("order.rpc.failures")
+                .tag("dependency", SERVICE)
+                .tag("reason", reason)
+                .counter()
+                .count()).isEqualTo(1.0);
+    }
+}
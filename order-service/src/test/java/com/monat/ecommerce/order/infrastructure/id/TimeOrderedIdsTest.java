@@ -0,0 +1,77 @@
+package com.monat.ecommerce.order.infrastructure.id;
+
+import com.monat.ecommerce.order.domain.model.UuidV7;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for UuidV7 and SnowflakeOrderNumberGenerator
+ */
+class TimeOrderedIdsTest {
+
+    @Test
+    void uuidV7_HasVersionVariantAndTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID uuid = UuidV7.next();
+
+        assertThat(uuid.version()).isEqualTo(7);
+        assertThat(uuid.variant()).isEqualTo(2);
+        assertThat(uuid.getMostSignificantBits() >>> 16).isGreaterThanOrEqualTo(before);
+    }
+
+    @Test
+    void uuidV7_IsStrictlyIncreasing() {
+        List<UUID> uuids = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            uuids.add(UuidV7.next());
+        }
+
+        // Compare as unsigned, which is how PostgreSQL orders uuid values
+        for (int i = 1; i < uuids.size(); i++) {
+            assertThat(Long.compareUnsigned(
+                    uuids.get(i).getMostSignificantBits(),
+                    uuids.get(i - 1).getMostSignificantBits())).isPositive();
+        }
+    }
+
+    @Test
+    void orderNumber_IsFixedWidthSortableAndUniqueAcrossThreads() {
+        SnowflakeOrderNumberGenerator generator = new SnowflakeOrderNumberGenerator(42);
+        Set<String> numbers = ConcurrentHashMap.newKeySet();
+
+        IntStream.range(0, 8).parallel().forEach(thread -> {
+            String previous = "";
+            for (int i = 0; i < 20_000; i++) {
+                String number = generator.nextOrderNumber();
+                assertThat(number).hasSize(17).startsWith("ORD-");
+                assertThat(number).isGreaterThan(previous);
+                previous = number;
+                numbers.add(number);
+            }
+        });
+
+        assertThat(numbers).hasSize(8 * 20_000);
+    }
+
+    @Test
+    void snowflakeId_EmbedsNodeId() {
+        SnowflakeOrderNumberGenerator generator = new SnowflakeOrderNumberGenerator(513);
+
+        assertThat((generator.nextId() >>> 12) & 1023).isEqualTo(513);
+    }
+
+    @Test
+    void snowflake_RejectsOutOfRangeNodeId() {
+        assertThatThrownBy(() -> new SnowflakeOrderNumberGenerator(1024))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
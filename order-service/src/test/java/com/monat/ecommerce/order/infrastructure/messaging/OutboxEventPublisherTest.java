@@ -0,0 +1,116 @@
+package com.monat.ecommerce.order.infrastructure.messaging;
+
+import com.monat.ecommerce.order.domain.model.OutboxEvent;
+import com.monat.ecommerce.order.domain.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for OutboxEventPublisher
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class OutboxEventPublisherTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private KafkaTemplate<String, byte[]> kafkaTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OutboxEventPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        publisher = new OutboxEventPublisher(
+                outboxEventRepository,
+                kafkaTemplate,
+                new TransactionTemplate(transactionManager),
+                new SimpleMeterRegistry(),
+                500, 20, 5000, 30000, 1000, 60000);
+    }
+
+    @Test
+    void publishPendingEvents_SendsOutsideTheClaimTransaction() {
+        // Given
+        OutboxEvent delivered = event("OrderCompleted");
+        OutboxEvent failed = event("OrderCancelled");
+        when(outboxEventRepository.lockClaimable(any(), anyInt())).thenReturn(List.of(delivered, failed));
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenAnswer(invocation -> {
+            ProducerRecord<?, ?> record = invocation.getArgument(0);
+            return "order.completed".equals(record.topic())
+                    ? CompletableFuture.completedFuture(null)
+                    : CompletableFuture.failedFuture(new IllegalStateException("broker down"));
+        });
+
+        // When
+        int claimed = publisher.publishPendingEvents();
+
+        // Then - claim commits before anything is sent, acknowledgement runs in a second transaction
+        assertThat(claimed).isEqualTo(2);
+        ArgumentCaptor<UUID> claimToken = ArgumentCaptor.forClass(UUID.class);
+        InOrder inOrder = inOrder(outboxEventRepository, transactionManager, kafkaTemplate);
+        inOrder.verify(outboxEventRepository).claim(eq(List.of(delivered.getId(), failed.getId())),
+                claimToken.capture(), any(LocalDateTime.class));
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(kafkaTemplate, times(2)).send(any(ProducerRecord.class));
+        inOrder.verify(outboxEventRepository).markAsProcessed(
+                argThat((Collection<UUID> ids) -> ids.equals(Set.of(delivered.getId()))),
+                eq(claimToken.getValue()), any());
+        inOrder.verify(outboxEventRepository).releaseClaim(List.of(failed.getId()), claimToken.getValue());
+        inOrder.verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void publishPendingEvents_NothingClaimable_SendsNothing() {
+        // Given
+        when(outboxEventRepository.lockClaimable(any(), anyInt())).thenReturn(List.of());
+
+        // When
+        int claimed = publisher.publishPendingEvents();
+
+        // Then
+        assertThat(claimed).isZero();
+        verify(outboxEventRepository, never()).claim(any(), any(), any());
+        verifyNoInteractions(kafkaTemplate);
+    }
+
+    private OutboxEvent event(String eventType) {
+        return OutboxEvent.builder()
+                .id(UUID.randomUUID())
+                .aggregateType("Order")
+                .aggregateId(UUID.randomUUID().toString())
+                .eventType(eventType)
+                .payload(new byte[]{1})
+                .contentType("application/x-protobuf")
+                .build();
+    }
+}
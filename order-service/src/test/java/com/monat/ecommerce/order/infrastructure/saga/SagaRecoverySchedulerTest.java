@@ -0,0 +1,154 @@
+package com.monat.ecommerce.order.infrastructure.saga;
+
+import com.monat.ecommerce.order.domain.model.OrderSagaState;
+import com.monat.ecommerce.order.domain.model.SagaStatus;
+import com.monat.ecommerce.order.domain.model.SagaStep;
+import com.monat.ecommerce.order.domain.repository.OrderSagaStateRepository;
+import com.monat.ecommerce.order.domain.service.OrderSagaOrchestrator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SagaRecoveryScheduler
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class SagaRecoverySchedulerTest {
+
+    @Mock
+    private OrderSagaStateRepository sagaStateRepository;
+
+    @Mock
+    private OrderSagaOrchestrator sagaOrchestrator;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SagaExecutor sagaExecutor;
+    private SagaRecoveryScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        sagaExecutor = new SagaExecutor(meterRegistry, 2, 10, 1);
+        sagaExecutor.start();
+
+        scheduler = new SagaRecoveryScheduler(
+                sagaStateRepository,
+                sagaOrchestrator,
+                sagaExecutor,
+                new TransactionTemplate(transactionManager),
+                meterRegistry,
+                120, 15, 50, 100, 5, 3);
+
+        when(sagaStateRepository.findOldestActiveUpdate()).thenReturn(Optional.empty());
+        when(sagaOrchestrator.executeOrderSaga(any())).thenReturn(CompletableFuture.completedFuture(null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        sagaExecutor.stop();
+    }
+
+    @Test
+    void recoverStaleSagas_TimedOutBeforePayment_Compensates() {
+        // Given
+        OrderSagaState sagaState = staleSaga(SagaStatus.STARTED, SagaStep.STOCK_RESERVED, LocalDateTime.now().minusHours(1));
+        when(sagaStateRepository.lockStaleSagas(any(), anyInt())).thenReturn(List.of(sagaState));
+
+        // When
+        scheduler.recoverStaleSagas();
+
+        // Then
+        assertThat(sagaState.getStatus()).isEqualTo(SagaStatus.COMPENSATING);
+        verify(sagaOrchestrator, timeout(1000)).executeOrderSaga(sagaState.getOrderId());
+    }
+
+    @Test
+    void recoverStaleSagas_TimedOutAfterPayment_RollsForward() {
+        // Given
+        OrderSagaState sagaState = staleSaga(SagaStatus.STARTED, SagaStep.PAYMENT_PROCESSED, LocalDateTime.now().minusHours(1));
+        when(sagaStateRepository.lockStaleSagas(any(), anyInt())).thenReturn(List.of(sagaState));
+
+        // When
+        scheduler.recoverStaleSagas();
+
+        // Then - only completion is left, so the payment is not refunded
+        assertThat(sagaState.getStatus()).isEqualTo(SagaStatus.STARTED);
+        assertThat(sagaState.getRetryCount()).isEqualTo(1);
+        verify(sagaOrchestrator, timeout(1000)).executeOrderSaga(sagaState.getOrderId());
+        assertThat(meterRegistry.get("order.saga.recovery.timed_out").counter().count()).isZero();
+    }
+
+    @Test
+    void recoverStaleSagas_AttemptsExhaustedAfterPayment_Parks() {
+        // Given
+        OrderSagaState sagaState = staleSaga(SagaStatus.STARTED, SagaStep.PAYMENT_PROCESSED, LocalDateTime.now());
+        sagaState.setRetryCount(5);
+        when(sagaStateRepository.lockStaleSagas(any(), anyInt())).thenReturn(List.of(sagaState));
+
+        // When
+        scheduler.recoverStaleSagas();
+
+        // Then
+        assertThat(sagaState.getStatus()).isEqualTo(SagaStatus.FAILED);
+        verify(sagaOrchestrator, never()).executeOrderSaga(any());
+        assertThat(meterRegistry.get("order.saga.recovery.parked").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void recoverStaleSagas_CompensationAttemptsExhausted_Parks() {
+        // Given
+        OrderSagaState sagaState = staleSaga(SagaStatus.COMPENSATING, SagaStep.COMPENSATION_STARTED, LocalDateTime.now());
+        sagaState.setErrorMessage("Payment processing failed");
+        when(sagaStateRepository.lockStaleSagas(any(), anyInt())).thenReturn(List.of(sagaState));
+
+        // When - the first three scans still resume the compensation
+        for (int i = 0; i < 3; i++) {
+            scheduler.recoverStaleSagas();
+        }
+        verify(sagaOrchestrator, timeout(1000).times(3)).executeOrderSaga(sagaState.getOrderId());
+        scheduler.recoverStaleSagas();
+
+        // Then
+        assertThat(sagaState.getStatus()).isEqualTo(SagaStatus.FAILED);
+        assertThat(sagaState.getErrorMessage())
+                .startsWith("Compensation did not finish after 3 attempts")
+                .endsWith("Payment processing failed");
+        assertThat(sagaState.getRetryCount()).isZero();
+        verify(sagaOrchestrator, times(3)).executeOrderSaga(any());
+    }
+
+    private OrderSagaState staleSaga(SagaStatus status, SagaStep step, LocalDateTime createdAt) {
+        return OrderSagaState.builder()
+                .id(UUID.randomUUID())
+                .orderId(UUID.randomUUID())
+                .status(status)
+                .currentStep(step)
+                .createdAt(createdAt)
+                .updatedAt(createdAt)
+                .version(0L)
+                .build();
+    }
+}
@@ -0,0 +1,127 @@
+package com.monat.ecommerce.order.infrastructure.streaming;
+
+import com.monat.ecommerce.common.exception.BusinessException;
+import com.monat.ecommerce.common.exception.ResourceNotFoundException;
+import com.monat.ecommerce.order.application.dto.OrderStatusResponse;
+import com.monat.ecommerce.order.domain.model.OrderStatus;
+import com.monat.ecommerce.order.domain.model.SagaStatus;
+import com.monat.ecommerce.order.domain.model.SagaStep;
+import com.monat.ecommerce.order.domain.model.SagaTransitionEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for OrderProgressHub
+ */
+class OrderProgressHubTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private OrderProgressHub hub;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        hub = new OrderProgressHub(meterRegistry, 60_000, 60_000, 2);
+        hub.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        hub.stop();
+    }
+
+    @Test
+    void subscribe_InFlightOrder_StaysOpenUntilTerminalTransition() throws Exception {
+        UUID orderId = UUID.randomUUID();
+        subscribe(orderId, false);
+        assertThat(subscribers()).isEqualTo(1);
+
+        hub.onSagaTransition(transition(orderId, SagaStep.STOCK_RESERVED, SagaStatus.STARTED));
+        awaitDispatch();
+        assertThat(subscribers()).isEqualTo(1);
+
+        hub.onSagaTransition(transition(orderId, SagaStep.ORDER_COMPLETED, SagaStatus.COMPLETED));
+        awaitDispatch();
+        assertThat(subscribers()).isZero();
+    }
+
+    @Test
+    void subscribe_TerminalOrder_IsClosed() throws Exception {
+        subscribe(UUID.randomUUID(), true);
+        awaitDispatch();
+
+        assertThat(subscribers()).isZero();
+    }
+
+    @Test
+    void subscribe_TerminalTransitionWhileStatusIsRead_IsDelivered() throws Exception {
+        UUID orderId = UUID.randomUUID();
+
+        // The saga completes after the stream is registered but before the status read returns
+        hub.subscribe(orderId, () -> {
+            hub.onSagaTransition(transition(orderId, SagaStep.ORDER_COMPLETED, SagaStatus.COMPLETED));
+            return status(orderId, false);
+        });
+        awaitDispatch();
+
+        assertThat(subscribers()).isZero();
+    }
+
+    @Test
+    void subscribe_UnknownOrder_ReleasesSlot() {
+        UUID orderId = UUID.randomUUID();
+
+        assertThatThrownBy(() -> hub.subscribe(orderId, () -> {
+            throw new ResourceNotFoundException("Order", orderId.toString());
+        })).isInstanceOf(ResourceNotFoundException.class);
+        assertThat(subscribers()).isZero();
+    }
+
+    @Test
+    void subscribe_BeyondLimit_Rejected() {
+        subscribe(UUID.randomUUID(), false);
+        subscribe(UUID.randomUUID(), false);
+
+        assertThatThrownBy(() -> subscribe(UUID.randomUUID(), false))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("Too many open order streams");
+        assertThat(subscribers()).isEqualTo(2);
+    }
+
+    private void subscribe(UUID orderId, boolean terminal) {
+        hub.subscribe(orderId, () -> status(orderId, terminal));
+    }
+
+    private double subscribers() {
+        return meterRegistry.get("order.progress.subscribers").gauge().value();
+    }
+
+    /**
+     * Transitions are written on the dispatcher thread; wait for it to drain
+     */
+    private void awaitDispatch() throws InterruptedException {
+        Thread.sleep(200);
+    }
+
+    private static OrderStatusResponse status(UUID orderId, boolean terminal) {
+        return OrderStatusResponse.builder()
+                .orderId(orderId)
+                .status(terminal ? "COMPLETED" : "PENDING")
+                .sagaStep(terminal ? "ORDER_COMPLETED" : "ORDER_CREATED")
+                .terminal(terminal)
+                .build();
+    }
+
+    private static SagaTransitionEvent transition(UUID orderId, SagaStep step, SagaStatus status) {
+        OrderStatus orderStatus = status == SagaStatus.COMPLETED ? OrderStatus.COMPLETED : OrderStatus.PENDING;
+        return new SagaTransitionEvent(orderId, orderStatus, step, status, null, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,91 @@
+package com.monat.ecommerce.order.integration;
+
+import com.monat.ecommerce.order.OrderServiceApplication;
+import com.monat.ecommerce.order.infrastructure.id.NodeIdLease;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Verifies that replicas without a configured node id lease distinct Snowflake node ids
+ */
+@SpringBootTest(classes = OrderServiceApplication.class, properties = {
+        "application.outbox.notify.enabled=false"
+})
+@Testcontainers
+class NodeIdLeaseIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(
+            DockerImageName.parse("postgres:16-alpine"))
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private NodeIdLease applicationLease;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void replicas_LeaseDistinctNodeIds() {
+        // When - two more replicas start against the same database
+        NodeIdLease second = new NodeIdLease(jdbcTemplate, -1, 600);
+        NodeIdLease third = new NodeIdLease(jdbcTemplate, -1, 600);
+
+        // Then
+        assertThat(second.nodeId()).isNotEqualTo(applicationLease.nodeId());
+        assertThat(third.nodeId()).isNotIn(applicationLease.nodeId(), second.nodeId());
+
+        second.release();
+        third.release();
+    }
+
+    @Test
+    void renew_LeaseTakenOverByAnotherReplica_WithdrawsNodeId() {
+        // Given - the lease expired and another replica took the id
+        NodeIdLease lease = new NodeIdLease(jdbcTemplate, -1, 600);
+        long nodeId = lease.nodeId();
+        jdbcTemplate.update("UPDATE order_node_id_leases SET owner = 'other', leased_until = now() + interval '10 minutes' " +
+                "WHERE node_id = ?", nodeId);
+
+        // When
+        lease.renew();
+
+        // Then
+        assertThatThrownBy(lease::nodeId).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void release_MakesNodeIdAvailableAgain() {
+        // Given
+        NodeIdLease lease = new NodeIdLease(jdbcTemplate, -1, 600);
+        long nodeId = lease.nodeId();
+
+        // When
+        lease.release();
+
+        // Then
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT leased_until < now() FROM order_node_id_leases WHERE node_id = ?", Boolean.class, nodeId))
+                .isTrue();
+    }
+}
@@ -0,0 +1,117 @@
+package com.monat.ecommerce.order.integration;
+
+import com.monat.ecommerce.order.OrderServiceApplication;
+import com.monat.ecommerce.order.domain.model.Order;
+import com.monat.ecommerce.order.domain.model.OrderItem;
+import com.monat.ecommerce.order.domain.repository.OrderRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that an order and its items are written with batched INSERTs
+ */
+@SpringBootTest(classes = OrderServiceApplication.class, properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "application.outbox.notify.enabled=false"
+})
+@Testcontainers
+class OrderBatchInsertIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(
+            DockerImageName.parse("postgres:16-alpine"))
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void saveOrder_WithManyItems_UsesOneInsertPerTable() {
+        // Given
+        Order order = orderWithItems(20);
+
+        // When
+        UUID orderId = transactionTemplate.execute(status -> orderRepository.save(order).getId());
+
+        // Then - one statement for the order row, one batch for all item rows
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(21);
+
+        Order saved = orderRepository.findByIdWithItems(orderId).orElseThrow();
+        assertThat(saved.getItems()).hasSize(20);
+    }
+
+    @Test
+    void saveOrder_ItemsBeyondBatchSize_SplitsIntoBatches() {
+        // Given
+        Order order = orderWithItems(120);
+
+        // When
+        transactionTemplate.executeWithoutResult(status -> orderRepository.save(order));
+
+        // Then - batch size is 50, so 120 items take at most three item statements
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(4);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(121);
+    }
+
+    private Order orderWithItems(int itemCount) {
+        Order order = Order.builder()
+                .orderNumber("ORD-" + UUID.randomUUID().toString().substring(0, 13))
+                .userId(UUID.randomUUID())
+                .totalAmount(BigDecimal.valueOf(itemCount * 10L))
+                .build();
+
+        for (int i = 0; i < itemCount; i++) {
+            OrderItem item = OrderItem.builder()
+                    .productId("PROD-" + i)
+                    .productName("Product " + i)
+                    .quantity(1)
+                    .unitPrice(BigDecimal.TEN)
+                    .build();
+            item.calculateSubtotal();
+            order.addItem(item);
+        }
+        return order;
+    }
+}
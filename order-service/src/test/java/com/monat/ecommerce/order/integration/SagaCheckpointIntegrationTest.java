@@ -0,0 +1,165 @@
+package com.monat.ecommerce.order.integration;
+
+import com.monat.ecommerce.grpc.inventory.CommitStockResponse;
+import com.monat.ecommerce.grpc.inventory.ReserveStockResponse;
+import com.monat.ecommerce.grpc.payment.ProcessPaymentResponse;
+import com.monat.ecommerce.grpc.user.ValidateUserResponse;
+import com.monat.ecommerce.order.OrderServiceApplication;
+import com.monat.ecommerce.order.domain.model.Order;
+import com.monat.ecommerce.order.domain.model.OrderItem;
+import com.monat.ecommerce.order.domain.model.OrderSagaState;
+import com.monat.ecommerce.order.domain.model.OrderStatus;
+import com.monat.ecommerce.order.domain.model.SagaStatus;
+import com.monat.ecommerce.order.domain.model.SagaStep;
+import com.monat.ecommerce.order.domain.repository.OrderRepository;
+import com.monat.ecommerce.order.domain.repository.OrderSagaStateRepository;
+import com.monat.ecommerce.order.domain.service.OrderSagaOrchestrator;
+import com.monat.ecommerce.order.infrastructure.grpc.InventoryServiceClient;
+import com.monat.ecommerce.order.infrastructure.grpc.PaymentServiceClient;
+import com.monat.ecommerce.order.infrastructure.grpc.UserServiceClient;
+import com.monat.ecommerce.order.infrastructure.messaging.OutboxEventPublisher;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Counts the statements a saga issues against the database from start to completion
+ */
+@SpringBootTest(classes = OrderServiceApplication.class, properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "application.outbox.notify.enabled=false"
+})
+@Testcontainers
+class SagaCheckpointIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(
+            DockerImageName.parse("postgres:16-alpine"))
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private OrderSagaOrchestrator sagaOrchestrator;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderSagaStateRepository sagaStateRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @MockBean
+    private UserServiceClient userClient;
+
+    @MockBean
+    private InventoryServiceClient inventoryClient;
+
+    @MockBean
+    private PaymentServiceClient paymentClient;
+
+    // Keeps the relay from polling the outbox while statements are counted
+    @MockBean
+    private OutboxEventPublisher outboxEventPublisher;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        when(userClient.validateUser(any())).thenReturn(CompletableFuture.completedFuture(
+                ValidateUserResponse.newBuilder().setIsValid(true).setIsActive(true).build()));
+        when(inventoryClient.reserveStock(any())).thenReturn(CompletableFuture.completedFuture(
+                ReserveStockResponse.newBuilder().setSuccess(true).setReservationId("RES-1").build()));
+        when(inventoryClient.commitStock(any())).thenReturn(CompletableFuture.completedFuture(
+                CommitStockResponse.newBuilder().setSuccess(true).build()));
+        when(paymentClient.processPayment(any())).thenReturn(CompletableFuture.completedFuture(
+                ProcessPaymentResponse.newBuilder()
+                        .setSuccess(true)
+                        .setPaymentId("PAY-1")
+                        .setPaymentReference("REF-1")
+                        .build()));
+    }
+
+    @Test
+    void executeOrderSaga_Completed_WritesOneStatementPerCheckpoint() throws Exception {
+        // Given
+        UUID orderId = createOrderWithSaga();
+        statistics.clear();
+
+        // When
+        sagaOrchestrator.executeOrderSaga(orderId).get(10, TimeUnit.SECONDS);
+
+        // Then - two reads to load the saga, checkpoints before payment, before the stock commit
+        // and on completion, and the outbox insert; no entity is merged
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(6);
+        assertThat(statistics.getEntityUpdateCount()).isZero();
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(1);
+
+        OrderSagaState sagaState = sagaStateRepository.findByOrderId(orderId).orElseThrow();
+        assertThat(sagaState.getStatus()).isEqualTo(SagaStatus.COMPLETED);
+        assertThat(sagaState.getCurrentStep()).isEqualTo(SagaStep.ORDER_COMPLETED);
+        assertThat(sagaState.getPaymentId()).isEqualTo("PAY-1");
+        assertThat(sagaState.getVersion()).isEqualTo(3L);
+
+        Order order = orderRepository.findById(orderId).orElseThrow();
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.COMPLETED);
+        assertThat(order.getPaymentReference()).isEqualTo("REF-1");
+    }
+
+    private UUID createOrderWithSaga() {
+        return transactionTemplate.execute(status -> {
+            Order order = Order.builder()
+                    .orderNumber("ORD-" + UUID.randomUUID().toString().substring(0, 13))
+                    .userId(UUID.randomUUID())
+                    .totalAmount(BigDecimal.TEN)
+                    .build();
+            OrderItem item = OrderItem.builder()
+                    .productId("PROD-1")
+                    .productName("Product 1")
+                    .quantity(1)
+                    .unitPrice(BigDecimal.TEN)
+                    .build();
+            item.calculateSubtotal();
+            order.addItem(item);
+
+            Order saved = orderRepository.save(order);
+            sagaOrchestrator.initiateSaga(saved);
+            return saved.getId();
+        });
+    }
+}
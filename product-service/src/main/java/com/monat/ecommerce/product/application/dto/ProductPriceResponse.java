@@ -0,0 +1,24 @@
+package com.monat.ecommerce.product.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Current price of a product, as used for pricing orders
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductPriceResponse {
+
+    private String productId;
+    private String name;
+    private BigDecimal price;
+    private String currency;
+    private boolean active;
+}
@@ -2,11 +2,13 @@ package com.monat.ecommerce.product.application.service;
 
 import com.monat.ecommerce.common.exception.ResourceNotFoundException;
 import com.monat.ecommerce.product.application.dto.CreateProductRequest;
+import com.monat.ecommerce.product.application.dto.ProductPriceResponse;
 import com.monat.ecommerce.product.application.dto.ProductResponse;
 import com.monat.ecommerce.product.domain.model.Product;
 import com.monat.ecommerce.product.domain.model.ProductSpecifications;
 import com.monat.ecommerce.product.domain.model.ProductStatus;
 import com.monat.ecommerce.product.domain.repository.ProductRepository;
+import com.monat.ecommerce.product.domain.service.ProductEventPublisher;
 import com.monat.ecommerce.product.domain.service.ProductSyncService;
 import com.monat.ecommerce.product.infrastructure.search.ProductSearchDocument;
 import com.monat.ecommerce.product.infrastructure.search.ProductSearchRepository;
@@ -18,7 +20,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 
 /**
  * Product application service
@@ -31,6 +35,7 @@ public class ProductApplicationService {
     private final ProductRepository productRepository;
     private final ProductSearchRepository searchRepository;
     private final ProductSyncService syncService;
+    private final ProductEventPublisher eventPublisher;
 
     @Transactional
     public ProductResponse createProduct(CreateProductRequest request) {
@@ -69,6 +74,7 @@ public class ProductApplicationService {
 
         // Index in Elasticsearch
         syncService.indexProduct(product);
+        eventPublisher.publishUpdated(product);
 
         log.info("Product created successfully: {}", product.getProductId());
 
@@ -106,6 +112,7 @@ public class ProductApplicationService {
 
         // Re-index in Elasticsearch
         syncService.indexProduct(product);
+        eventPublisher.publishUpdated(product);
 
         log.info("Product updated successfully: {}", productId);
 
@@ -119,6 +126,22 @@ public class ProductApplicationService {
         return mapToResponse(product);
     }
 
+    /**
+     * Current prices for a set of products; unknown product IDs are left out
+     */
+    @Transactional(readOnly = true)
+    public List<ProductPriceResponse> getPrices(Collection<String> productIds) {
+        return productRepository.findByProductIdIn(productIds).stream()
+                .map(product -> ProductPriceResponse.builder()
+                        .productId(product.getProductId())
+                        .name(product.getName())
+                        .price(product.getPrice())
+                        .currency(product.getCurrency())
+                        .active(product.isActive())
+                        .build())
+                .toList();
+    }
+
     @Transactional(readOnly = true)
     public Page<ProductResponse> getAllProducts(Pageable pageable) {
         return productRepository.findAll(pageable).map(this::mapToResponse);
@@ -143,6 +166,7 @@ public class ProductApplicationService {
 
         productRepository.delete(product);
         syncService.removeFromIndex(product.getId());
+        eventPublisher.publishDeleted(product);
 
         log.info("Product deleted: {}", productId);
     }
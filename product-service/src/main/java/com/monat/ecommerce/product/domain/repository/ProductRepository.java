@@ -9,6 +9,7 @@ import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -29,6 +30,8 @@ public interface ProductRepository extends MongoRepository<Product, String> {
     @Query("{ 'price': { $gte: ?0, $lte: ?1 } }")
     Page<Product> findByPriceBetween(BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable);
 
+    List<Product> findByProductIdIn(Collection<String> productIds);
+
     List<Product> findByBrand(String brand);
 
     @Query("{ 'tags': ?0 }")
@@ -0,0 +1,50 @@
+package com.monat.ecommerce.product.domain.service;
+
+import com.monat.ecommerce.events.product.ProductUpdatedEvent;
+import com.monat.ecommerce.product.domain.model.Product;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Publishes product changes so consumers can drop cached product data
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductEventPublisher {
+
+    public static final String PRODUCT_UPDATED_TOPIC = "product.updated";
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+
+    public void publishUpdated(Product product) {
+        publish(product, false);
+    }
+
+    public void publishDeleted(Product product) {
+        publish(product, true);
+    }
+
+    private void publish(Product product, boolean deleted) {
+        try {
+            ProductUpdatedEvent event = ProductUpdatedEvent.builder()
+                    .productId(product.getProductId())
+                    .name(product.getName())
+                    .price(product.getPrice())
+                    .currency(product.getCurrency())
+                    .status(product.getStatus() != null ? product.getStatus().name() : null)
+                    .deleted(deleted)
+                    .build();
+            event.setAggregateId(product.getProductId());
+            event.setAggregateType("Product");
+
+            kafkaTemplate.send(PRODUCT_UPDATED_TOPIC, product.getProductId(), event);
+            log.debug("Published ProductUpdatedEvent for product: {}", product.getProductId());
+        } catch (Exception e) {
+            // Consumers' caches expire on their own, so a lost event only delays the change
+            log.error("Failed to publish ProductUpdatedEvent for product: {}", product.getProductId(), e);
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.monat.ecommerce.product.infrastructure.controller;
 import com.monat.ecommerce.common.dto.ApiResponse;
 import com.monat.ecommerce.common.dto.PagedResponse;
 import com.monat.ecommerce.product.application.dto.CreateProductRequest;
+import com.monat.ecommerce.product.application.dto.ProductPriceResponse;
 import com.monat.ecommerce.product.application.dto.ProductResponse;
 import com.monat.ecommerce.product.application.service.ProductApplicationService;
 import com.monat.ecommerce.product.domain.model.ProductStatus;
@@ -21,6 +22,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Slf4j
 @RestController
@@ -63,6 +65,15 @@ public class ProductController {
                 .build());
     }
 
+    @GetMapping("/prices")
+    @Operation(summary = "Get current prices for several products",
+               description = "Unknown product IDs are omitted from the result")
+    public ResponseEntity<ApiResponse<List<ProductPriceResponse>>> getPrices(
+            @RequestParam List<String> productIds) {
+
+        return ResponseEntity.ok(ApiResponse.success(productService.getPrices(productIds)));
+    }
+
     @GetMapping("/{productId}")
     @Operation(summary = "Get product by ID")
     public ResponseEntity<ApiResponse<ProductResponse>> getProduct(@PathVariable String productId) {